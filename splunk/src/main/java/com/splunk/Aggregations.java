@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * The {@code Aggregations} class feeds search results to
+ * {@link EventAggregator}s in a single pass.
+ * <p>
+ * For example, to count events by host and estimate the number of distinct
+ * users while reading an export once:
+ * <pre>
+ * GroupByAggregator byHost = new GroupByAggregator("host");
+ * DistinctCount users = new DistinctCount("user");
+ * Aggregations.aggregate(new ResultsReaderXml(service.export(query)), byHost, users);
+ * </pre>
+ */
+public final class Aggregations {
+    private Aggregations() {
+    }
+
+    /**
+     * Reads every event from a results reader and adds it to each of the
+     * aggregators, then closes the reader.
+     *
+     * @param reader The results reader.
+     * @param aggregators The aggregators.
+     * @return The number of events read.
+     * @throws IOException If the results cannot be read.
+     */
+    public static long aggregate(ResultsReader reader, EventAggregator<?>... aggregators)
+            throws IOException {
+        long count = 0;
+        try {
+            Event event;
+            while ((event = reader.getNextEvent()) != null) {
+                for (EventAggregator<?> aggregator : aggregators) {
+                    aggregator.add(event);
+                }
+                count++;
+            }
+        } finally {
+            reader.close();
+        }
+        return count;
+    }
+
+    /**
+     * Aggregates several results readers at once, one partial aggregator
+     * per reader, and merges the partial results. This suits results that
+     * were split up front, such as exports of disjoint time ranges.
+     * <p>
+     * Partial aggregators that are {@link Closeable} are closed once merged.
+     *
+     * @param readers The results readers, each of which is closed when read.
+     * @param factory Creates an empty aggregator.
+     * @param parallelism The number of readers to read at the same time.
+     * @param <A> The type of the aggregator.
+     * @return The merged aggregator.
+     * @throws IOException If any of the results cannot be read.
+     */
+    public static <A extends EventAggregator<A>> A aggregateInParallel(
+            List<? extends ResultsReader> readers, final Supplier<A> factory, int parallelism)
+            throws IOException {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("The parallelism must be positive.");
+        A result = factory.get();
+        if (readers.isEmpty()) {
+            return result;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(parallelism, readers.size()),
+                Util.daemonThreadFactory("splunk-aggregation"));
+        try {
+            List<Future<A>> partials = new ArrayList<Future<A>>();
+            for (final ResultsReader reader : readers) {
+                partials.add(executor.submit(new Callable<A>() {
+                    public A call() throws IOException {
+                        A partial = factory.get();
+                        aggregate(reader, partial);
+                        return partial;
+                    }
+                }));
+            }
+            for (Future<A> partial : partials) {
+                A value = get(partial);
+                result.merge(value);
+                if (value instanceof Closeable) {
+                    ((Closeable)value).close();
+                }
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <A> A get(Future<A> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException)cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+            if (cause instanceof Error) throw (Error)cause;
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.splunk;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
@@ -33,6 +34,12 @@ public class AtomEntry extends AtomObject {
     /** The value of the Atom entry's {@code <content>} element. */
     public Record content;
 
+    /**
+     * The content keys to keep when parsing, or {@code null} to keep every
+     * key. Names ending with {@code *} match any key with that prefix.
+     */
+    private Set<String> fields = null;
+
     /**
      * Creates a new {@code AtomEntry} instance.
      *
@@ -73,11 +80,43 @@ public class AtomEntry extends AtomObject {
      * @return An {@code AtomEntry} instance representing the parsed XML.
      */
     static AtomEntry parse(XMLStreamReader reader) {
+        return parse(reader, null);
+    }
+
+    /**
+     * Creates a new {@code AtomEntry} instance based on a given XML reader,
+     * keeping only the given top-level content keys. The values of any other
+     * keys are skipped without being parsed.
+     *
+     * @param reader The XML reader.
+     * @param fields The content keys to keep, or {@code null} to keep all.
+     * @return An {@code AtomEntry} instance representing the parsed XML.
+     */
+    static AtomEntry parse(XMLStreamReader reader, Set<String> fields) {
         AtomEntry entry = AtomEntry.create();
+        entry.fields = fields;
         entry.load(reader, "entry");
+        entry.fields = null;
         return entry;
     }
 
+    /**
+     * Determines whether a content key is selected by a field list.
+     *
+     * @param fields The field list, or {@code null} to select every key.
+     * @param key The content key.
+     * @return {@code true} if the key is selected.
+     */
+    static boolean isSelected(Set<String> fields, String key) {
+        if (fields == null || fields.contains(key)) return true;
+        for (String field : fields) {
+            if (field.endsWith("*")
+                    && key.startsWith(field.substring(0, field.length() - 1)))
+                return true;
+        }
+        return false;
+    }
+
     /**
      * Initializes the current instance using the given XML reader.
      *
@@ -115,7 +154,7 @@ public class AtomEntry extends AtomObject {
         if (!isStartElement(reader, "dict"))
             syntaxError(reader);
 
-        content = parseDict(reader);
+        content = parseDict(reader, fields);
 
         if (!isEndElement(reader, "content"))
             syntaxError(reader);
@@ -133,6 +172,18 @@ public class AtomEntry extends AtomObject {
      * @return A {@code Record} object containing the parsed values.
      */
     private Record parseDict(XMLStreamReader reader) {
+        return parseDict(reader, null);
+    }
+
+    /**
+     * Parses a {@code <dict>} content element, keeping only the selected
+     * keys.
+     *
+     * @param reader The {@code <dict>} element to parse.
+     * @param fields The keys to keep, or {@code null} to keep all.
+     * @return A {@code Record} object containing the parsed values.
+     */
+    private Record parseDict(XMLStreamReader reader, Set<String> fields) {
         assert isStartElement(reader, "dict");
 
         Record result = new Record();
@@ -140,6 +191,10 @@ public class AtomEntry extends AtomObject {
         scan(reader);
         while (isStartElement(reader, "key")) {
             String key = reader.getAttributeValue(null, "name");
+            if (!isSelected(fields, key)) {
+                parseEnd(reader); // Skip the value unparsed
+                continue;
+            }
             Object value = parseValue(reader);
             // Null values, the result of empty elements, are parsed as though
             // they don't exist, making it easier for the client framework to
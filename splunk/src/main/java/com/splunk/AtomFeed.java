@@ -38,6 +38,9 @@ public class AtomFeed extends AtomObject {
     /** The value of the Atom feed's {@code <totalResults>} element. */
     public String totalResults = null;
 
+    /** The content keys to keep in each entry, or {@code null} for all. */
+    private Set<String> fields = null;
+
     /**
      * Creates a new {@code AtomFeed} instance.
      *
@@ -54,9 +57,24 @@ public class AtomFeed extends AtomObject {
      * @return An {@code AtomFeed} instance representing the parsed stream.
      */
     public static AtomFeed parseStream(InputStream input) {
+        return parseStream(input, null);
+    }
+
+    /**
+     * Creates a new {@code AtomFeed} instance based on the given stream,
+     * keeping only the given content keys of each entry.
+     *
+     * @param input The input stream.
+     * @param fields The content keys to keep, or {@code null} to keep all.
+     * Names ending with {@code *} match any key with that prefix.
+     * @return An {@code AtomFeed} instance representing the parsed stream.
+     */
+    static AtomFeed parseStream(InputStream input, Set<String> fields) {
         XMLStreamReader reader = createReader(input);
 
-        AtomFeed result = AtomFeed.parse(reader);
+        AtomFeed result = AtomFeed.create();
+        result.fields = fields;
+        result.load(reader, "feed");
 
         try {
             reader.close();
@@ -92,7 +110,7 @@ public class AtomFeed extends AtomObject {
         String name = reader.getLocalName();
 
         if (name.equals("entry")) {
-            AtomEntry entry = AtomEntry.parse(reader);
+            AtomEntry entry = AtomEntry.parse(reader, fields);
             this.entries.add(entry);
         }
         else if (name.equals("messages")) {
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+/**
+ * The {@code BatchResult} class holds the outcome of one item of a batch
+ * operation on an {@link EntityCollection}, such as
+ * {@link EntityCollection#createAll}.
+ *
+ * @param <T> The type of the collection's members.
+ */
+public final class BatchResult<T extends Entity> {
+    private final String name;
+    private final T entity;
+    private final Exception error;
+
+    BatchResult(String name, T entity, Exception error) {
+        this.name = name;
+        this.entity = entity;
+        this.error = error;
+    }
+
+    /**
+     * Returns the name of the entity this outcome is for.
+     *
+     * @return The entity name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the entity as it is after the operation. For a removal, this
+     * is the entity as it was before it was removed.
+     *
+     * @return The entity, or {@code null} if the operation failed.
+     */
+    public T getEntity() {
+        return entity;
+    }
+
+    /**
+     * Returns the reason the operation failed, such as an
+     * {@link HttpException} from the server.
+     *
+     * @return The error, or {@code null} if the operation succeeded.
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    /**
+     * Indicates whether the operation succeeded.
+     *
+     * @return {@code true} if the operation succeeded.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override public String toString() {
+        return name + (error == null ? ": ok" : ": " + error.getMessage());
+    }
+}
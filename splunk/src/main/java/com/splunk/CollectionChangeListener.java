@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.util.List;
+
+/**
+ * The {@code CollectionChangeListener} interface receives the entries that
+ * appear in or disappear from a collection watched by a
+ * {@link CollectionWatcher}. Callbacks for one watcher are made from a
+ * single thread, one at a time.
+ *
+ * @param <T> The type of the collection's members.
+ */
+public interface CollectionChangeListener<T extends Entity> {
+    /**
+     * Called when entries were added to or removed from the collection
+     * since the previous poll.
+     *
+     * @param added The new entries, newest first where the watcher knows
+     * their order.
+     * @param removed The names of the entries that are gone.
+     */
+    void onChanges(List<T> added, List<String> removed);
+
+    /**
+     * Called when the watcher stops because of an error. No further
+     * callbacks follow.
+     *
+     * @param e The error.
+     */
+    void onError(Exception e);
+}
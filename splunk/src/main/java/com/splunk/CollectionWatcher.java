@@ -0,0 +1,304 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code CollectionWatcher} class polls a collection, such as fired
+ * alerts or system messages, and tells a {@link CollectionChangeListener}
+ * only which entries are new and which are gone.
+ * <p>
+ * When the collection has a content field that grows with each new entry,
+ * such as a creation time, the watcher asks the server for the entries
+ * sorted newest first, one page at a time, and stops at the first entry
+ * older than the newest one it has already seen. It then compares the server's total count with the
+ * number of entries it knows of, and lists the names of all entries only
+ * when the two disagree, which means something was removed. A poll that
+ * finds nothing new costs one request for one page.
+ * <p>
+ * Without such a field, each poll lists only the names of the entries, and
+ * new entries are returned unloaded; they are read from the server when
+ * first used.
+ * <p>
+ * The first poll records what is already in the collection without
+ * reporting it. Create a running watcher with
+ * {@link MessageCollection#watch}, {@link FiredAlertGroupCollection#watch},
+ * or {@link EntityCollection#watch}, or construct one, configure it, and
+ * call {@link #start}.
+ *
+ * @param <T> The type of the collection's members.
+ */
+public class CollectionWatcher<T extends Entity> implements Closeable {
+    /** The default interval between polls, in milliseconds. */
+    public static final long DEFAULT_POLL_INTERVAL = 5000;
+
+    /** The default number of entries requested per page. */
+    public static final int DEFAULT_PAGE_SIZE = 30;
+
+    private final EntityCollection<T> collection;
+    private final String sortKey;
+    private final CollectionChangeListener<T> listener;
+    private final ScheduledExecutorService executor;
+
+    private volatile long pollIntervalMillis = DEFAULT_POLL_INTERVAL;
+    private volatile int pageSize = DEFAULT_PAGE_SIZE;
+
+    // Touched only by the polling thread.
+    private Set<String> known = null;
+    private String highWater = null;
+
+    private volatile boolean started = false;
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a watcher. Polling does not begin until {@link #start} is
+     * called.
+     *
+     * @param collection The collection to watch.
+     * @param sortKey The content field whose value is largest for the
+     * newest entries, such as {@code timeCreated_epochSecs}, or
+     * {@code null} if there is none.
+     * @param listener The listener to notify of changes.
+     */
+    public CollectionWatcher(EntityCollection<T> collection, String sortKey,
+                             CollectionChangeListener<T> listener) {
+        this.collection = collection;
+        this.sortKey = sortKey;
+        this.listener = listener;
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+                Util.daemonThreadFactory("splunk-collection-watcher"));
+    }
+
+    /**
+     * Sets the interval between polls. The default is 5 seconds.
+     *
+     * @param millis The interval, in milliseconds.
+     */
+    public void setPollInterval(long millis) {
+        if (millis <= 0)
+            throw new IllegalArgumentException("The polling interval must be positive.");
+        this.pollIntervalMillis = millis;
+    }
+
+    /**
+     * Sets the number of entries requested per page when reading new
+     * entries. The default is 30.
+     *
+     * @param entries The page size.
+     */
+    public void setPageSize(int entries) {
+        if (entries < 1)
+            throw new IllegalArgumentException("The page size must be positive.");
+        this.pageSize = entries;
+    }
+
+    /**
+     * Starts polling.
+     *
+     * @return This watcher.
+     */
+    public synchronized CollectionWatcher<T> start() {
+        if (closed)
+            throw new IllegalStateException("The watcher is closed.");
+        if (!started) {
+            started = true;
+            executor.execute(new Runnable() {
+                public void run() {
+                    poll();
+                }
+            });
+        }
+        return this;
+    }
+
+    /**
+     * Indicates whether the watcher has stopped, either because it was
+     * closed or because an error occurred.
+     *
+     * @return {@code true} if no further callbacks will be made.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Stops the watcher.
+     */
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+    }
+
+    private void poll() {
+        if (closed) return;
+        try {
+            check();
+        } catch (Exception e) {
+            if (closed) return; // Interrupted by close()
+            closed = true;
+            executor.shutdown();
+            listener.onError(e);
+            return;
+        }
+        if (!closed) {
+            executor.schedule(new Runnable() {
+                public void run() {
+                    poll();
+                }
+            }, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Polls the collection once and notifies the listener of any changes.
+     */
+    void check() {
+        if (known == null) {
+            // The first poll only records where the collection stands.
+            known = new HashSet<String>();
+            for (EntityView view : listNames()) {
+                known.add(view.getName());
+                if (sortKey != null) {
+                    highWater = newer(highWater, sortValue(view.get(sortKey)));
+                }
+            }
+            return;
+        }
+
+        List<T> added = new ArrayList<T>();
+        Set<String> addedNames = new HashSet<String>();
+        long total = -1;
+        if (sortKey != null) {
+            total = readNewEntries(added, addedNames);
+        }
+
+        List<String> removed = new ArrayList<String>();
+        if (total != known.size() + added.size()) {
+            Set<String> names = new LinkedHashSet<String>();
+            for (EntityView view : listNames()) {
+                names.add(view.getName());
+                if (!known.contains(view.getName()) && addedNames.add(view.getName())) {
+                    added.add(collection.createItem(collection.itemClass, view.getPath(), null));
+                }
+            }
+            for (String name : known) {
+                if (!names.contains(name)) removed.add(name);
+            }
+            known.removeAll(removed);
+        }
+        known.addAll(addedNames);
+
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            listener.onChanges(added, removed);
+        }
+    }
+
+    /**
+     * Reads the entries newer than the high-water mark, newest first.
+     *
+     * @return The number of entries the server reports in the collection,
+     * or -1 if it does not say.
+     */
+    private long readNewEntries(List<T> added, Set<String> addedNames) {
+        long total = -1;
+        String newest = highWater;
+        int offset = 0;
+        while (true) {
+            Args args = Args.create(collection.refreshArgs);
+            args.put("sort_key", sortKey);
+            args.put("sort_dir", "desc");
+            args.put("count", pageSize);
+            args.put("offset", offset);
+            AtomFeed feed = readFeed(args);
+            if (offset == 0 && feed.totalResults != null) {
+                try {
+                    total = Long.parseLong(feed.totalResults.trim());
+                } catch (NumberFormatException e) {
+                    total = -1;
+                }
+            }
+            boolean older = false;
+            for (AtomEntry entry : feed.entries) {
+                String value = entry.content == null ? null : sortValue(entry.content.get(sortKey));
+                if (highWater != null && (value == null || compare(value, highWater) < 0)) {
+                    older = true;
+                    break;
+                }
+                newest = newer(newest, value);
+                String name = collection.itemKey(entry);
+                if (!known.contains(name) && addedNames.add(name)) {
+                    T item = collection.createItem(entry);
+                    item.load(entry);
+                    added.add(item);
+                }
+            }
+            if (older || feed.entries.size() < pageSize) break;
+            offset += pageSize;
+        }
+        highWater = newest;
+        return total;
+    }
+
+    private AtomFeed readFeed(Args args) {
+        ResponseMessage response = collection.service.get(collection.path, args);
+        try {
+            return AtomFeed.parseStream(response.getContent());
+        } finally {
+            try {
+                response.getContent().close();
+            } catch (IOException e) {
+                // Nothing more to read
+            }
+        }
+    }
+
+    private List<EntityView> listNames() {
+        Args args = new Args("count", 0);
+        return sortKey == null
+                ? collection.listProjected(args)
+                : collection.listProjected(args, sortKey);
+    }
+
+    private static String sortValue(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    private static String newer(String current, String candidate) {
+        if (candidate == null) return current;
+        if (current == null) return candidate;
+        return compare(candidate, current) > 0 ? candidate : current;
+    }
+
+    // Compares numerically when both values are numbers, as epoch times are.
+    private static int compare(String a, String b) {
+        try {
+            return Double.compare(Double.parseDouble(a), Double.parseDouble(b));
+        } catch (NumberFormatException e) {
+            return a.compareTo(b);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@code ColumnarResultsReader} class reads results stored by
+ * {@link ColumnarResultsWriter}. Each row group is memory-mapped as it is
+ * reached and decoded column by column; there is no text to parse.
+ * <p>
+ * Like other results readers, it returns {@link Event}s, so it can be used
+ * wherever a {@link ResultsReader} is expected. To read only some fields,
+ * call {@link #selectFields} before reading; the columns of the other
+ * fields are skipped without being decoded.
+ */
+public class ColumnarResultsReader extends ResultsReader {
+    private final FileChannel channel;
+    private final List<String> fields;
+    private final long[] groupOffsets;
+    private final long footerOffset;
+    private final long rowCount;
+    private boolean[] selected = null;
+
+    // The row group being read.
+    private int group = -1;
+    private int row = 0;
+    private int rows = 0;
+    private List<Column> columns = Collections.emptyList();
+
+    /**
+     * Opens a file written by {@link ColumnarResultsWriter}.
+     *
+     * @param file The file.
+     * @throws IOException If the file cannot be read or is not in the
+     * columnar format.
+     */
+    public ColumnarResultsReader(File file) throws IOException {
+        this(new RandomAccessFile(file, "r").getChannel());
+    }
+
+    private ColumnarResultsReader(FileChannel channel) throws IOException {
+        super(Channels.newInputStream(channel), false);
+        this.channel = channel;
+        try {
+            byte[] magic = ColumnarResultsWriter.MAGIC;
+            long size = channel.size();
+            if (size < 2 * magic.length + 8 || !hasMagic(map(0, magic.length))
+                    || !hasMagic(map(size - magic.length, magic.length))) {
+                throw new IOException("Not a columnar results file.");
+            }
+            footerOffset = map(size - magic.length - 8, 8).getLong();
+            ByteBuffer footer = map(footerOffset, size - magic.length - 8 - footerOffset);
+            int fieldCount = (int)readVarint(footer);
+            List<String> names = new ArrayList<String>(fieldCount);
+            for (int i = 0; i < fieldCount; i++) {
+                names.add(readString(footer));
+            }
+            fields = Collections.unmodifiableList(names);
+            int groupCount = (int)readVarint(footer);
+            groupOffsets = new long[groupCount];
+            for (int i = 0; i < groupCount; i++) {
+                groupOffsets[i] = footer.getLong();
+                readVarint(footer); // The row count, which the group repeats
+            }
+            rowCount = footer.getLong();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        } catch (RuntimeException e) {
+            channel.close();
+            throw new IOException("Not a columnar results file.", e);
+        }
+    }
+
+    /**
+     * Reads only the given fields from now on. Fields that are not in the
+     * file are ignored.
+     *
+     * @param names The fields to read.
+     */
+    public void selectFields(String... names) {
+        Set<String> wanted = new HashSet<String>(Arrays.asList(names));
+        boolean[] mask = new boolean[fields.size()];
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] = wanted.contains(fields.get(i));
+        }
+        this.selected = mask;
+    }
+
+    /**
+     * Returns the number of events in the file.
+     *
+     * @return The number of events.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of row groups in the file.
+     *
+     * @return The number of row groups.
+     */
+    public int getRowGroupCount() {
+        return groupOffsets.length;
+    }
+
+    /**
+     * Stored results are always final results.
+     *
+     * @return {@code false}.
+     */
+    public boolean isPreview() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    public Collection<String> getFields() {
+        return fields;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override Event getNextEventInCurrentSet() throws IOException {
+        while (row >= rows) {
+            if (group + 1 >= groupOffsets.length) return null;
+            loadGroup(++group);
+        }
+        Event event = new Event();
+        for (Column column : columns) {
+            column.put(event, row);
+        }
+        row++;
+        return event;
+    }
+
+    private void loadGroup(int index) throws IOException {
+        long start = groupOffsets[index];
+        long end = index + 1 < groupOffsets.length ? groupOffsets[index + 1] : footerOffset;
+        ByteBuffer buffer = map(start, end - start);
+        rows = (int)readVarint(buffer);
+        int columnCount = (int)readVarint(buffer);
+        List<Column> decoded = new ArrayList<Column>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            int field = (int)readVarint(buffer);
+            int length = (int)readVarint(buffer);
+            if (selected != null && !selected[field]) {
+                buffer.position(buffer.position() + length);
+                continue;
+            }
+            ByteBuffer chunk = buffer.slice();
+            chunk.limit(length);
+            buffer.position(buffer.position() + length);
+            decoded.add(new Column(fields.get(field), chunk, rows));
+        }
+        columns = decoded;
+        row = 0;
+    }
+
+    private ByteBuffer map(long position, long size) throws IOException {
+        if (size > Integer.MAX_VALUE)
+            throw new IOException("Row group too large to map.");
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+
+    private static boolean hasMagic(ByteBuffer buffer) {
+        byte[] bytes = new byte[ColumnarResultsWriter.MAGIC.length];
+        buffer.get(bytes);
+        return Arrays.equals(bytes, ColumnarResultsWriter.MAGIC);
+    }
+
+    static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buffer.get();
+            value |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+            shift += 7;
+        }
+    }
+
+    static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[(int)readVarint(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * One decoded column of a row group.
+     */
+    private static final class Column {
+        private final String field;
+        private final int type;
+        private final byte[] present;
+        private final long[] longs;
+        private final String[][] strings;
+
+        Column(String field, ByteBuffer chunk, int rows) {
+            this.field = field;
+            this.type = chunk.get();
+            this.present = new byte[(rows + 7) / 8];
+            chunk.get(present);
+            if (type == ColumnarResultsWriter.TYPE_LONG || type == ColumnarResultsWriter.TYPE_DOUBLE) {
+                longs = new long[rows];
+                strings = null;
+                for (int i = 0; i < rows; i++) {
+                    if (!isPresent(i)) continue;
+                    if (type == ColumnarResultsWriter.TYPE_LONG) {
+                        long zigzag = readVarint(chunk);
+                        longs[i] = (zigzag >>> 1) ^ -(zigzag & 1);
+                    } else {
+                        longs[i] = chunk.getLong();
+                    }
+                }
+            } else {
+                longs = null;
+                strings = new String[rows][];
+                String[] dictionary = null;
+                if (type == ColumnarResultsWriter.TYPE_DICTIONARY) {
+                    dictionary = new String[(int)readVarint(chunk)];
+                    for (int i = 0; i < dictionary.length; i++) {
+                        dictionary[i] = readString(chunk);
+                    }
+                }
+                for (int i = 0; i < rows; i++) {
+                    if (!isPresent(i)) continue;
+                    String[] values = new String[(int)readVarint(chunk)];
+                    for (int v = 0; v < values.length; v++) {
+                        values[v] = dictionary != null
+                                ? dictionary[(int)readVarint(chunk)]
+                                : readString(chunk);
+                    }
+                    strings[i] = values;
+                }
+            }
+        }
+
+        private boolean isPresent(int row) {
+            return (present[row >> 3] & (1 << (row & 7))) != 0;
+        }
+
+        void put(Event event, int row) {
+            if (!isPresent(row)) return;
+            switch (type) {
+                case ColumnarResultsWriter.TYPE_LONG:
+                    event.putSingleOrDelimited(field, Long.toString(longs[row]));
+                    break;
+                case ColumnarResultsWriter.TYPE_DOUBLE:
+                    event.putSingleOrDelimited(field, Double.toString(Double.longBitsToDouble(longs[row])));
+                    break;
+                default:
+                    String[] values = strings[row];
+                    if (values.length == 1) {
+                        event.putSingleOrDelimited(field, values[0]);
+                    } else {
+                        event.putArray(field, values);
+                    }
+            }
+        }
+    }
+}
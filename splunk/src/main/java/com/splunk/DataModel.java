@@ -17,7 +17,11 @@
 package com.splunk;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -40,7 +44,12 @@ public class DataModel extends Entity {
     // Human readable description, as opposed to the raw JSON, which is also called 'description'
     private String description;
 
-    private Map<String, DataModelObject> objects;
+    // The raw JSON that the description fields were read from. Objects are
+    // materialized from it on first access, and only again once it changes.
+    private String parsedJson;
+    private String modelName;
+    private String displayName;
+    private volatile Map<String, DataModelObject> objects;
     private boolean accelerationEnabled;
     private String earliestAcceleratedTime;
     private String accelerationCronSchedule;
@@ -60,7 +69,7 @@ public class DataModel extends Entity {
      * @return true if there is an object with that name; false otherwise.
      */
     public boolean containsObject(String name) {
-        return this.objects.containsKey(name);
+        return objects().containsKey(name);
     }
 
     /**
@@ -70,14 +79,14 @@ public class DataModel extends Entity {
      * @return a DataModelObject if there is such an object; null otherwise.
      */
     public DataModelObject getObject(String name) {
-        return this.objects.get(name);
+        return objects().get(name);
     }
 
     /**
      * @return a collection of all objects in this data model.
      */
     public Collection<DataModelObject> getObjects() {
-        return Collections.unmodifiableCollection(objects.values());
+        return Collections.unmodifiableCollection(objects().values());
     }
 
     /**
@@ -121,46 +130,126 @@ public class DataModel extends Entity {
         return getString(DISPLAY_NAME_LABEL);
     }
 
+    /**
+     * @return a value that changes whenever the definition or acceleration
+     * settings of this data model change, as last loaded from splunkd.
+     */
+    String getVersion() {
+        validate();
+        String definition = getString(RAW_JSON_LABEL) + "|" + getString(ACCELERATION_LABEL, "");
+        return (updated == null ? "" : String.valueOf(updated.getTime()))
+                + ":" + Integer.toHexString(definition.hashCode());
+    }
+
     @Override
     Entity load(AtomObject value) {
         Entity result = super.load(value);
         // After loading the Atom entity as we would for any other Splunk entity,
         // we have to parse the JSON description of the data model and its acceleration
-        // status.
-        parseDescription(getString(RAW_JSON_LABEL));
+        // status. An unchanged description keeps the objects already built from it.
+        String json = getString(RAW_JSON_LABEL);
+        if (!json.equals(parsedJson)) {
+            parseDescription(json);
+        }
+        if (modelName != null) content.put(MODEL_NAME_LABEL, modelName);
+        if (displayName != null) content.put(DISPLAY_NAME_LABEL, displayName);
         parseAcceleration(getString(ACCELERATION_LABEL));
         return result;
     }
 
     /**
-     * Parse the JSON returned from splunkd describing this data model.
+     * Parse the top-level fields of the JSON returned from splunkd describing
+     * this data model, skipping over its objects.
      *
      * This method writes the results into fields of this object.
      *
      * @param input a String containing JSON.
      */
     private void parseDescription(String input) {
-        objects = new HashMap<String, DataModelObject>();
+        String newModelName = null;
+        String newDisplayName = null;
+        String newDescription = null;
+        try {
+            JsonReader reader = new JsonReader(new StringReader(input));
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                if (key.equals(MODEL_NAME_LABEL)) {
+                    newModelName = nextString(reader);
+                } else if (key.equals(DISPLAY_NAME_LABEL)) {
+                    newDisplayName = nextString(reader);
+                } else if (key.equals(DESCRIPTION_LABEL)) {
+                    newDescription = nextString(reader);
+                } else {
+                    // Objects are read on first access; allow new keys without complaining
+                    reader.skipValue();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+        synchronized (this) {
+            modelName = newModelName;
+            displayName = newDisplayName;
+            description = newDescription;
+            parsedJson = input;
+            objects = null;
+        }
+    }
 
-        JsonElement rootElement = jsonParser.parse(input);
+    private static String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
 
-        for (Entry<String, JsonElement> entry : rootElement.getAsJsonObject().entrySet()) {
-            if (entry.getKey().equals(MODEL_NAME_LABEL)) {
-                content.put(MODEL_NAME_LABEL, entry.getValue().getAsString());
-            } else if (entry.getKey().equals(DISPLAY_NAME_LABEL)) {
-                content.put(DISPLAY_NAME_LABEL, entry.getValue().getAsString());
-            } else if (entry.getKey().equals(DESCRIPTION_LABEL)) {
-                description = entry.getValue().getAsString();
-            } else if (entry.getKey().equals("objects")) {
-                JsonArray objectArray = entry.getValue().getAsJsonArray();
-                for (JsonElement object : objectArray) {
-                    DataModelObject dmo = DataModelObject.parse(this, object);
-                    objects.put(dmo.getName(), dmo);
+    /**
+     * Returns the objects of this data model, building them from the JSON
+     * description the first time they are needed.
+     */
+    private Map<String, DataModelObject> objects() {
+        Map<String, DataModelObject> result = objects;
+        if (result != null) {
+            return result;
+        }
+        synchronized (this) {
+            if (objects == null) {
+                objects = parseObjects(parsedJson);
+            }
+            return objects;
+        }
+    }
+
+    /**
+     * Parse the objects in the JSON description of this data model, reading
+     * one object at a time.
+     *
+     * @param input a String containing JSON.
+     * @return a map of object names to objects.
+     */
+    private Map<String, DataModelObject> parseObjects(String input) {
+        Map<String, DataModelObject> result = new HashMap<String, DataModelObject>();
+        try {
+            JsonReader reader = new JsonReader(new StringReader(input));
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!reader.nextName().equals("objects")) {
+                    reader.skipValue();
+                    continue;
                 }
-            } else {
-                // Allow new keys without complaining
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    DataModelObject dmo = DataModelObject.parse(this, jsonParser.parse(reader));
+                    result.put(dmo.getName(), dmo);
+                }
+                reader.endArray();
             }
+        } catch (IOException e) {
+            throw new RuntimeException(e.getMessage(), e);
         }
+        return result;
     }
 
     /**
@@ -299,4 +388,17 @@ public class DataModel extends Entity {
         // Now update like we would any other entity.
         super.update();
     }
+
+    @Override
+    public void update(Map<String, Object> args) {
+        super.update(args);
+        // Pivots compiled against the old definition no longer apply.
+        service.getPivotCache().invalidate(getName());
+    }
+
+    @Override
+    public void remove() {
+        super.remove();
+        service.getPivotCache().invalidate(getName());
+    }
 }
@@ -15,6 +15,8 @@
  */
 package com.splunk;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 public class DataModelCollection extends EntityCollection<DataModel> {
@@ -51,4 +53,37 @@ public class DataModelCollection extends EntityCollection<DataModel> {
         }
         return super.create(name, revisedArgs);
     }
+
+    @Override
+    Args createArgs(String name, Map args) {
+        Args revisedArgs = super.createArgs(name, args);
+        if (!revisedArgs.containsKey("concise")) {
+            revisedArgs.add("concise", "0");
+        }
+        return revisedArgs;
+    }
+
+    @Override
+    public List<BatchResult<DataModel>> updateAll(Map<String, ? extends Map> updates, int concurrency) {
+        List<BatchResult<DataModel>> results = super.updateAll(updates, concurrency);
+        invalidatePivots(results);
+        return results;
+    }
+
+    @Override
+    public List<BatchResult<DataModel>> removeAll(Collection<String> names, int concurrency) {
+        List<BatchResult<DataModel>> results = super.removeAll(names, concurrency);
+        invalidatePivots(results);
+        return results;
+    }
+
+    // Pivots compiled against a changed or removed data model no longer
+    // apply, as in DataModel#update(Map) and DataModel#remove().
+    private void invalidatePivots(List<BatchResult<DataModel>> results) {
+        for (BatchResult<DataModel> result : results) {
+            if (result.isSuccess()) {
+                service.getPivotCache().invalidate(result.getName());
+            }
+        }
+    }
 }
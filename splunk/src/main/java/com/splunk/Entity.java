@@ -426,6 +426,7 @@ public class Entity extends Resource implements Map<String, Object> {
      * @param args The arguments to update.
      */
     public void update(Map<String, Object> args) {
+        args = updateArgs(args);
         if (!toUpdate.isEmpty() || !args.isEmpty()) {
             // Merge cached setters and live args together before updating.
             Map<String, Object> mergedArgs = 
@@ -443,6 +444,19 @@ public class Entity extends Resource implements Map<String, Object> {
         }
     }
 
+    /**
+     * Returns the arguments to update this entity with, as given to
+     * {@link #update(Map)} or {@link EntityCollection#updateAll}. Entities
+     * that check the arguments, or that must send some with every update,
+     * override this.
+     *
+     * @param args The arguments given.
+     * @return The arguments to post.
+     */
+    Map<String, Object> updateArgs(Map<String, Object> args) {
+        return args;
+    }
+
     /**
      * Updates the entity with the accumulated arguments, established by the
      * individual setter methods for each specific entity class.
@@ -16,8 +16,17 @@
 
 package com.splunk;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * The {@code EntityCollection} class represents a collection of Splunk 
@@ -26,6 +35,8 @@ import java.util.Map;
  * @param <T> The type of members in the collection.
  */
 public class EntityCollection<T extends Entity> extends ResourceCollection<T> {
+    /** The default number of requests a batch operation sends at once. */
+    public static final int DEFAULT_BATCH_CONCURRENCY = 8;
 
     /**
      * Class constructor.
@@ -97,6 +108,314 @@ public class EntityCollection<T extends Entity> extends ResourceCollection<T> {
         return get(name);
     }
 
+    /**
+     * Creates many entities in this collection, sending up to
+     * {@link #DEFAULT_BATCH_CONCURRENCY} requests at once.
+     *
+     * @param entities The arguments for creating each entity, by name.
+     * @return The outcome for each entity, in the order of the map.
+     * @see #createAll(Map, int)
+     */
+    public List<BatchResult<T>> createAll(Map<String, ? extends Map> entities) {
+        return createAll(entities, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    /**
+     * Creates many entities in this collection. Unlike calling
+     * {@link #create(String, Map)} for each entity, this does not make the
+     * collection reload itself after every entity: each new entity is read
+     * from the response to its own request and added to the collection
+     * directly. A failure to create one entity does not stop the others.
+     *
+     * @param entities The arguments for creating each entity, by name.
+     * @param concurrency The largest number of requests to send at once.
+     * @return The outcome for each entity, in the order of the map.
+     */
+    public List<BatchResult<T>> createAll(Map<String, ? extends Map> entities, int concurrency) {
+        return createAll(path, itemClass, entities, concurrency);
+    }
+
+    /**
+     * Creates many entities by posting to the given endpoint, for
+     * collections whose entities are created at more than one path.
+     *
+     * @param createPath The endpoint to post to.
+     * @param entityClass The class of the entities created there.
+     * @param entities The arguments for creating each entity, by name.
+     * @param concurrency The largest number of requests to send at once.
+     * @return The outcome for each entity, in the order of the map.
+     */
+    List<BatchResult<T>> createAll(final String createPath, Class entityClass,
+            Map<String, ? extends Map> entities, int concurrency) {
+        boolean wasValid = isMaybeValid();
+        List<String> names = new ArrayList<String>(entities.keySet());
+        List<Callable<AtomEntry>> tasks = new ArrayList<Callable<AtomEntry>>();
+        for (final String name : names) {
+            final Map args = entities.get(name);
+            tasks.add(new Callable<AtomEntry>() {
+                public AtomEntry call() {
+                    return entryOf(service.post(createPath, createArgs(name, args)));
+                }
+            });
+        }
+        List<Object> outcomes = runAll(tasks, concurrency);
+
+        List<BatchResult<T>> results = new ArrayList<BatchResult<T>>(names.size());
+        boolean stale = false;
+        for (int i = 0; i < names.size(); i++) {
+            Object outcome = outcomes.get(i);
+            if (outcome instanceof Exception) {
+                results.add(new BatchResult<T>(names.get(i), null, (Exception)outcome));
+                continue;
+            }
+            T entity;
+            if (outcome == null) {
+                // No entry in the response; the entity loads on first use.
+                entity = createItem(entityClass, createPath + "/" + Args.encode(names.get(i)), null);
+                stale = true;
+            } else {
+                AtomEntry entry = (AtomEntry)outcome;
+                entity = createItem(entry);
+                entity.load(entry);
+                if (wasValid) addItem(itemKey(entry), entity);
+            }
+            results.add(new BatchResult<T>(names.get(i), entity, null));
+        }
+        if (stale) invalidate();
+        return results;
+    }
+
+    /**
+     * Updates many entities of this collection, sending up to
+     * {@link #DEFAULT_BATCH_CONCURRENCY} requests at once.
+     *
+     * @param updates The arguments to update on each entity, by name.
+     * @return The outcome for each entity, in the order of the map.
+     * @see #updateAll(Map, int)
+     */
+    public List<BatchResult<T>> updateAll(Map<String, ? extends Map> updates) {
+        return updateAll(updates, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    /**
+     * Updates many entities of this collection. Each entity is reloaded from
+     * the response to its own request, so neither the entities nor the
+     * collection need to be read again. Values set with an entity's setter
+     * methods are not included; use {@link Entity#update()} for those.
+     *
+     * @param updates The arguments to update on each entity, by name.
+     * @param concurrency The largest number of requests to send at once.
+     * @return The outcome for each entity, in the order of the map.
+     */
+    public List<BatchResult<T>> updateAll(Map<String, ? extends Map> updates, int concurrency) {
+        validate();
+        List<String> names = new ArrayList<String>(updates.keySet());
+        List<T> entities = new ArrayList<T>(names.size());
+        List<Callable<AtomEntry>> tasks = new ArrayList<Callable<AtomEntry>>();
+        for (String name : names) {
+            final Map args = updates.get(name);
+            final T entity = lookUp(name);
+            entities.add(entity);
+            if (entity == null) {
+                tasks.add(notFound(name));
+                continue;
+            }
+            tasks.add(new Callable<AtomEntry>() {
+                public AtomEntry call() {
+                    Map<String, Object> edit = entity.updateArgs(args);
+                    if (edit.containsKey("name") && !entity.isNameChangeAllowed())
+                        throw new IllegalStateException("Cannot set 'name' on an existing entity.");
+                    return entryOf(service.post(entity.actionPath("edit"), edit));
+                }
+            });
+        }
+        List<Object> outcomes = runAll(tasks, concurrency);
+
+        List<BatchResult<T>> results = new ArrayList<BatchResult<T>>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            Object outcome = outcomes.get(i);
+            T entity = entities.get(i);
+            if (outcome instanceof Exception) {
+                results.add(new BatchResult<T>(names.get(i), null, (Exception)outcome));
+                continue;
+            }
+            if (outcome == null) {
+                entity.invalidate();
+            } else {
+                entity.load((AtomEntry)outcome);
+            }
+            results.add(new BatchResult<T>(names.get(i), entity, null));
+        }
+        return results;
+    }
+
+    /**
+     * Removes many entities from this collection, sending up to
+     * {@link #DEFAULT_BATCH_CONCURRENCY} requests at once.
+     *
+     * @param names The names of the entities to remove.
+     * @return The outcome for each entity, in the order given.
+     * @see #removeAll(Collection, int)
+     */
+    public List<BatchResult<T>> removeAll(Collection<String> names) {
+        return removeAll(names, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    /**
+     * Removes many entities from this collection. Removed entities are
+     * dropped from the collection directly, so it does not need to be read
+     * again.
+     *
+     * @param names The names of the entities to remove.
+     * @param concurrency The largest number of requests to send at once.
+     * @return The outcome for each entity, in the order given.
+     */
+    public List<BatchResult<T>> removeAll(Collection<String> names, int concurrency) {
+        validate();
+        List<String> ordered = new ArrayList<String>(names);
+        List<T> entities = new ArrayList<T>(ordered.size());
+        List<Callable<AtomEntry>> tasks = new ArrayList<Callable<AtomEntry>>();
+        for (String name : ordered) {
+            final T entity = lookUp(name);
+            entities.add(entity);
+            if (entity == null) {
+                tasks.add(notFound(name));
+                continue;
+            }
+            tasks.add(new Callable<AtomEntry>() {
+                public AtomEntry call() {
+                    closeQuietly(service.delete(entity.actionPath("remove")));
+                    return null;
+                }
+            });
+        }
+        List<Object> outcomes = runAll(tasks, concurrency);
+
+        List<BatchResult<T>> results = new ArrayList<BatchResult<T>>(ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            Object outcome = outcomes.get(i);
+            if (outcome instanceof Exception) {
+                results.add(new BatchResult<T>(ordered.get(i), null, (Exception)outcome));
+                continue;
+            }
+            T entity = entities.get(i);
+            LinkedList<T> list = items.get(ordered.get(i));
+            if (list != null) {
+                list.remove(entity);
+                if (list.isEmpty()) items.remove(ordered.get(i));
+            }
+            results.add(new BatchResult<T>(ordered.get(i), entity, null));
+        }
+        return results;
+    }
+
+    /**
+     * Returns the only entity with the given name, or {@code null} if there
+     * is none or more than one.
+     */
+    /**
+     * Returns the arguments posted to create an entity. Collections whose
+     * {@code create} adds arguments of its own override this to add the
+     * same ones to {@link #createAll}.
+     *
+     * @param name The name of the entity.
+     * @param args The arguments given for the entity.
+     * @return The arguments to post.
+     */
+    Args createArgs(String name, Map args) {
+        return Args.create(args).add("name", name);
+    }
+
+    private T lookUp(String name) {
+        LinkedList<T> entities = items.get(name);
+        return entities == null || entities.size() != 1 ? null : entities.get(0);
+    }
+
+    /**
+     * Returns a batch task that fails because no single entity has the
+     * given name.
+     */
+    private Callable<AtomEntry> notFound(String name) {
+        final RuntimeException error = items.containsKey(name)
+                ? new SplunkException(SplunkException.AMBIGUOUS,
+                        "Key has multiple values, specify a namespace")
+                : new IllegalArgumentException("No entity named " + name + ".");
+        return new Callable<AtomEntry>() {
+            public AtomEntry call() {
+                throw error;
+            }
+        };
+    }
+
+    private void addItem(String key, T entity) {
+        LinkedList<T> list = items.get(key);
+        if (list == null) {
+            list = new LinkedList<T>();
+            items.put(key, list);
+        }
+        list.add(entity);
+    }
+
+    /**
+     * Reads the single entry of a response, or returns {@code null} if the
+     * response holds none.
+     */
+    private static AtomEntry entryOf(ResponseMessage response) {
+        try {
+            AtomFeed feed = AtomFeed.parseStream(response.getContent());
+            return feed.entries.size() == 1 ? feed.entries.get(0) : null;
+        } catch (RuntimeException e) {
+            return null;
+        } finally {
+            closeQuietly(response);
+        }
+    }
+
+    private static void closeQuietly(ResponseMessage response) {
+        try {
+            if (response.getContent() != null) response.getContent().close();
+        } catch (IOException e) {
+            // Nothing more to read
+        }
+    }
+
+    /**
+     * Runs tasks, at most {@code concurrency} at a time, and returns the
+     * result of each task, or the exception it threw, in order.
+     */
+    private List<Object> runAll(List<Callable<AtomEntry>> tasks, int concurrency) {
+        if (concurrency < 1)
+            throw new IllegalArgumentException("The concurrency must be positive.");
+        List<Object> outcomes = new ArrayList<Object>(tasks.size());
+        if (tasks.isEmpty()) return outcomes;
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(concurrency, tasks.size()), Util.daemonThreadFactory("splunk-batch"));
+        try {
+            List<Future<AtomEntry>> futures = new ArrayList<Future<AtomEntry>>(tasks.size());
+            for (Callable<AtomEntry> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<AtomEntry> future : futures) {
+                try {
+                    outcomes.add(future.get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof Error) throw (Error)cause;
+                    outcomes.add(cause);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            SplunkException interrupted = new SplunkException(SplunkException.INTERRUPTED,
+                    "Interrupted while waiting for a batch operation.");
+            interrupted.initCause(e);
+            throw interrupted;
+        } finally {
+            executor.shutdownNow();
+        }
+        return outcomes;
+    }
+
     /**
      * Removes an entity from this collection.
      *
@@ -149,4 +468,19 @@ public class EntityCollection<T extends Entity> extends ResourceCollection<T> {
         }
         return null;
     }
+
+    /**
+     * Watches this collection for new and removed entries. The listener is
+     * notified from a background thread after each poll that finds a
+     * change.
+     *
+     * @param sortKey The content field whose value is largest for the
+     * newest entries, or {@code null} if there is none.
+     * @param listener The listener to notify of changes.
+     * @return The running watcher; close it to stop polling.
+     * @see CollectionWatcher
+     */
+    public CollectionWatcher<T> watch(String sortKey, CollectionChangeListener<T> listener) {
+        return new CollectionWatcher<T>(this, sortKey, listener).start();
+    }
 }
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@code EntityView} class is a compact, read-only view of one member of
+ * a collection, holding only the fields that were requested when the
+ * collection was listed with {@link ResourceCollection#listProjected}.
+ * <p>
+ * Unlike an {@link Entity}, a view never issues a request to the server: it
+ * cannot be refreshed, updated, or removed, and asking for a field that was
+ * not requested returns {@code null} (or the given default value).
+ */
+public final class EntityView {
+    private final String name;
+    private final String title;
+    private final String path;
+    private final String[] keys;
+    private final Object[] values;
+
+    /**
+     * Class constructor.
+     *
+     * @param name The key of the member within its collection.
+     * @param title The title of the member.
+     * @param path The path of the member resource.
+     * @param content The projected content of the member.
+     */
+    EntityView(String name, String title, String path, Map<String, Object> content) {
+        this.name = name;
+        this.title = title;
+        this.path = path;
+        int size = content == null ? 0 : content.size();
+        this.keys = new String[size];
+        this.values = new Object[size];
+        if (size > 0) {
+            int i = 0;
+            for (String key : content.keySet()) {
+                keys[i++] = key;
+            }
+            Arrays.sort(keys);
+            for (i = 0; i < size; i++) {
+                values[i] = readOnly(content.get(keys[i]));
+            }
+        }
+    }
+
+    private static Object readOnly(Object value) {
+        if (value instanceof Map)
+            return Collections.unmodifiableMap((Map<?, ?>)value);
+        if (value instanceof List)
+            return Collections.unmodifiableList((List<?>)value);
+        return value;
+    }
+
+    /**
+     * Returns the key of this member within its collection. For most
+     * collections this is the title; for jobs it is the search ID.
+     *
+     * @return The member name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the title of this member.
+     *
+     * @return The member title.
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Returns the path to this member resource, which can be used to open
+     * the full entity when more than the projected fields are needed.
+     *
+     * @return The resource path.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the names of the fields held by this view.
+     *
+     * @return An unmodifiable set of field names.
+     */
+    public Set<String> keySet() {
+        return Collections.unmodifiableSet(new LinkedHashSet<String>(Arrays.asList(keys)));
+    }
+
+    /**
+     * Indicates whether this view holds a value for the given field.
+     *
+     * @param key The field name.
+     * @return {@code true} if the field is present, {@code false} if not.
+     */
+    public boolean containsKey(String key) {
+        return Arrays.binarySearch(keys, key) >= 0;
+    }
+
+    /**
+     * Returns the raw value of a field: a {@code String}, a {@code Map} for
+     * nested dictionaries such as {@code eai:acl}, or a {@code List}.
+     *
+     * @param key The field name.
+     * @return The value, or {@code null} if the field is not present.
+     */
+    public Object get(String key) {
+        int i = Arrays.binarySearch(keys, key);
+        return i < 0 ? null : values[i];
+    }
+
+    /**
+     * Returns the value of a field as a string.
+     *
+     * @param key The field name.
+     * @return The value, or {@code null} if the field is not present.
+     */
+    public String getString(String key) {
+        Object value = get(key);
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Returns the value of a field as a string, or a default value if the
+     * field is not present.
+     *
+     * @param key The field name.
+     * @param defaultValue The value to return if the field is not present.
+     * @return The value, or {@code defaultValue}.
+     */
+    public String getString(String key, String defaultValue) {
+        String value = getString(key);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Returns the value of a field as a boolean, or a default value if the
+     * field is not present.
+     *
+     * @param key The field name.
+     * @param defaultValue The value to return if the field is not present.
+     * @return The value, or {@code defaultValue}.
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key);
+        return value == null ? defaultValue : Value.toBoolean(value);
+    }
+
+    /**
+     * Returns the value of a field as an integer, or a default value if the
+     * field is not present.
+     *
+     * @param key The field name.
+     * @param defaultValue The value to return if the field is not present.
+     * @return The value, or {@code defaultValue}.
+     */
+    public int getInteger(String key, int defaultValue) {
+        String value = getString(key);
+        return value == null ? defaultValue : Value.toInteger(value);
+    }
+
+    /**
+     * Returns the value of a field as a long, or a default value if the field
+     * is not present.
+     *
+     * @param key The field name.
+     * @param defaultValue The value to return if the field is not present.
+     * @return The value, or {@code defaultValue}.
+     */
+    public long getLong(String key, long defaultValue) {
+        String value = getString(key);
+        return value == null ? defaultValue : Value.toLong(value);
+    }
+
+    /**
+     * Returns the value of a field as a float, or a default value if the
+     * field is not present.
+     *
+     * @param key The field name.
+     * @param defaultValue The value to return if the field is not present.
+     * @return The value, or {@code defaultValue}.
+     */
+    public float getFloat(String key, float defaultValue) {
+        String value = getString(key);
+        return value == null ? defaultValue : Value.toFloat(value);
+    }
+
+    /**
+     * Returns the value of a field as a date, or {@code null} if the field is
+     * not present.
+     *
+     * @param key The field name.
+     * @return The value, or {@code null}.
+     */
+    public Date getDate(String key) {
+        String value = getString(key);
+        return value == null ? null : Value.toDate(value);
+    }
+
+    @Override public String toString() {
+        StringBuilder builder = new StringBuilder(name == null ? "" : name);
+        builder.append('{');
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) builder.append(", ");
+            builder.append(keys[i]).append('=').append(values[i]);
+        }
+        return builder.append('}').toString();
+    }
+}
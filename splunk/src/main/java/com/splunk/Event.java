@@ -67,8 +67,9 @@ public class Event extends HashMap<String, String> {
     void putArray(String key, String[] values) {
         arrayValues.put(key, values);
         
-        // For backward compatibility with the Map interface
-        super.put(key, Util.join(",", values));
+        // For backward compatibility with the Map interface. A single value
+        // is its own join, so share it rather than copy it.
+        super.put(key, values.length == 1 ? values[0] : Util.join(",", values));
     }
 
     /**
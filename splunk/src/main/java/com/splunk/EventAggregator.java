@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+/**
+ * The {@code EventAggregator} interface is implemented by the streaming
+ * aggregations that consume events one at a time, in bounded memory, such as
+ * {@link GroupByAggregator}, {@link HeavyHitters}, {@link DistinctCount},
+ * and {@link QuantileSketch}.
+ * <p>
+ * Aggregators of the same kind and configuration can be merged, so that
+ * partial aggregations computed in parallel (see
+ * {@link Aggregations#aggregateInParallel}) combine into one result.
+ * Aggregators are not thread-safe; each thread uses its own.
+ *
+ * @param <A> The type of the aggregator.
+ */
+public interface EventAggregator<A extends EventAggregator<A>> {
+    /**
+     * Adds an event to the aggregation.
+     *
+     * @param event The event.
+     */
+    void add(Event event);
+
+    /**
+     * Adds everything another aggregator has seen to this one.
+     *
+     * @param other An aggregator with the same configuration.
+     * @throws IllegalArgumentException If the configurations differ.
+     */
+    void merge(A other);
+}
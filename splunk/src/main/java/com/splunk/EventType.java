@@ -119,12 +119,12 @@ public class EventType extends Entity {
     /**
      * {@inheritDoc}
      */
-    @Override public void update(Map<String, Object> args) {
+    @Override Map<String, Object> updateArgs(Map<String, Object> args) {
         // Add required arguments if not already present
         if (!args.containsKey("search")) {
             args = Args.create(args).add("search", getSearch());
         }
-        super.update(args);
+        return args;
     }
 
     /**
@@ -41,4 +41,17 @@ public class FiredAlertGroupCollection
     FiredAlertGroupCollection(Service service, Args args) {
         super(service, "alerts/fired_alerts", FiredAlertGroup.class, args);
     }
+
+    /**
+     * Watches for alert groups that appear or disappear, which happens when
+     * a saved search fires for the first time or its fired alerts expire.
+     * To follow the individual alerts of a group, watch its
+     * {@link FiredAlertGroup#getAlerts alerts} by {@code trigger_time}.
+     *
+     * @param listener The listener to notify of changes.
+     * @return The running watcher; close it to stop polling.
+     */
+    public CollectionWatcher<FiredAlertGroup> watch(CollectionChangeListener<FiredAlertGroup> listener) {
+        return watch(null, listener);
+    }
 }
@@ -0,0 +1,394 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * The {@code GroupByAggregator} class counts events, and optionally sums
+ * numeric fields, per distinct combination of values of the group-by
+ * fields, like {@code stats count sum(x) by a b}.
+ * <p>
+ * At most {@link #setMaxGroupsInMemory a fixed number} of groups are held in
+ * memory. Beyond that, the groups are written to a sorted run on disk and
+ * aggregation starts over in memory; {@link #groups} merges the runs back
+ * together. Call {@link #close} to delete the runs.
+ * <p>
+ * Events without a group-by field are grouped under an empty value for it.
+ */
+public class GroupByAggregator implements EventAggregator<GroupByAggregator>, Closeable {
+    /** The default number of groups held in memory before spilling to disk. */
+    public static final int DEFAULT_MAX_GROUPS_IN_MEMORY = 100000;
+
+    private static final char SEPARATOR = '\u0000';
+
+    private final String[] groupBy;
+    private String[] sumFields = new String[0];
+    private int maxGroupsInMemory = DEFAULT_MAX_GROUPS_IN_MEMORY;
+    private File spillDirectory = null;
+
+    private Map<String, Group> groups = new HashMap<String, Group>();
+    private final List<File> runs = new ArrayList<File>();
+    private boolean started = false;
+
+    /**
+     * Creates an aggregator that groups by the given fields.
+     *
+     * @param groupBy The group-by fields. With none, all events form one
+     * group.
+     */
+    public GroupByAggregator(String... groupBy) {
+        this.groupBy = groupBy.clone();
+    }
+
+    /**
+     * Also sums the given numeric field per group. Values that are not
+     * numbers are ignored.
+     *
+     * @param field The field to sum.
+     * @return This aggregator.
+     */
+    public GroupByAggregator sum(String field) {
+        if (started)
+            throw new IllegalStateException("Fields must be added before aggregating.");
+        String[] fields = Arrays.copyOf(sumFields, sumFields.length + 1);
+        fields[sumFields.length] = field;
+        sumFields = fields;
+        return this;
+    }
+
+    /**
+     * Sets how many groups are held in memory before they are written to
+     * disk. The default is {@value #DEFAULT_MAX_GROUPS_IN_MEMORY}.
+     *
+     * @param maxGroups The number of groups.
+     */
+    public void setMaxGroupsInMemory(int maxGroups) {
+        if (maxGroups <= 0)
+            throw new IllegalArgumentException("The number of groups must be positive.");
+        this.maxGroupsInMemory = maxGroups;
+    }
+
+    /**
+     * Sets the directory for runs spilled to disk. The default is the
+     * system's temporary directory.
+     *
+     * @param directory The directory.
+     */
+    public void setSpillDirectory(File directory) {
+        this.spillDirectory = directory;
+    }
+
+    /**
+     * Returns how many runs have been spilled to disk.
+     *
+     * @return The number of runs.
+     */
+    public int getSpillCount() {
+        return runs.size();
+    }
+
+    /** {@inheritDoc} */
+    public void add(Event event) {
+        started = true;
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < groupBy.length; i++) {
+            if (i > 0) key.append(SEPARATOR);
+            String value = event.get(groupBy[i]);
+            if (value != null) key.append(value);
+        }
+        Group group = group(key.toString());
+        group.count++;
+        for (int i = 0; i < sumFields.length; i++) {
+            String value = event.get(sumFields[i]);
+            if (value == null) continue;
+            try {
+                group.sums[i] += Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                // Not a number; like stats, ignore it.
+            }
+        }
+        spillIfFull();
+    }
+
+    /** {@inheritDoc} */
+    public void merge(GroupByAggregator other) {
+        if (!Arrays.equals(groupBy, other.groupBy) || !Arrays.equals(sumFields, other.sumFields))
+            throw new IllegalArgumentException("Cannot merge aggregators with different fields.");
+        started = true;
+        Iterator<Group> it = other.groups();
+        while (it.hasNext()) {
+            Group theirs = it.next();
+            group(theirs.key).add(theirs);
+            spillIfFull();
+        }
+    }
+
+    /**
+     * Returns the groups seen so far, ordered by their values.
+     *
+     * @return An iterator over the groups.
+     */
+    public Iterator<Group> groups() {
+        List<Group> sorted = new ArrayList<Group>(groups.values());
+        Collections.sort(sorted, BY_KEY);
+        if (runs.isEmpty()) {
+            return Collections.unmodifiableList(sorted).iterator();
+        }
+        List<Iterator<Group>> sources = new ArrayList<Iterator<Group>>();
+        sources.add(sorted.iterator());
+        for (File run : runs) {
+            sources.add(new RunReader(run));
+        }
+        return new MergingIterator(sources);
+    }
+
+    /**
+     * Deletes the runs spilled to disk and forgets all groups.
+     */
+    public void close() {
+        for (File run : runs) {
+            run.delete();
+        }
+        runs.clear();
+        groups = new HashMap<String, Group>();
+    }
+
+    private Group group(String key) {
+        Group group = groups.get(key);
+        if (group == null) {
+            group = new Group(key, groupBy.length, new double[sumFields.length]);
+            groups.put(key, group);
+        }
+        return group;
+    }
+
+    private void spillIfFull() {
+        if (groups.size() < maxGroupsInMemory) return;
+        List<Group> sorted = new ArrayList<Group>(groups.values());
+        Collections.sort(sorted, BY_KEY);
+        try {
+            File run = File.createTempFile("splunk-groupby-", ".run", spillDirectory);
+            run.deleteOnExit();
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(run)));
+            try {
+                for (Group group : sorted) {
+                    byte[] key = group.key.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(key.length);
+                    out.write(key);
+                    out.writeLong(group.count);
+                    for (double sum : group.sums) {
+                        out.writeDouble(sum);
+                    }
+                }
+            } finally {
+                out.close();
+            }
+            runs.add(run);
+        } catch (IOException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+        groups = new HashMap<String, Group>();
+    }
+
+    private static final Comparator<Group> BY_KEY = new Comparator<Group>() {
+        public int compare(Group a, Group b) {
+            return a.key.compareTo(b.key);
+        }
+    };
+
+    /**
+     * The aggregate of one distinct combination of group-by values.
+     */
+    public final class Group {
+        private final String key;
+        private final int width;
+        private long count = 0;
+        private final double[] sums;
+
+        private Group(String key, int width, double[] sums) {
+            this.key = key;
+            this.width = width;
+            this.sums = sums;
+        }
+
+        /**
+         * Returns the values of the group-by fields, in the order the fields
+         * were given.
+         *
+         * @return The values.
+         */
+        public List<String> getValues() {
+            if (width == 0) return Collections.emptyList();
+            return Arrays.asList(key.split(String.valueOf(SEPARATOR), -1));
+        }
+
+        /**
+         * Returns the number of events in this group.
+         *
+         * @return The count.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the sum of a field over the events in this group.
+         *
+         * @param field A field passed to {@link GroupByAggregator#sum}.
+         * @return The sum.
+         */
+        public double getSum(String field) {
+            for (int i = 0; i < sumFields.length; i++) {
+                if (sumFields[i].equals(field)) return sums[i];
+            }
+            throw new IllegalArgumentException("Not a summed field: " + field);
+        }
+
+        private void add(Group other) {
+            count += other.count;
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] += other.sums[i];
+            }
+        }
+    }
+
+    /**
+     * Reads a run back from disk, deleting nothing.
+     */
+    private final class RunReader implements Iterator<Group> {
+        private DataInputStream in;
+        private Group next;
+
+        RunReader(File run) {
+            try {
+                in = new DataInputStream(new BufferedInputStream(new FileInputStream(run)));
+            } catch (IOException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+            advance();
+        }
+
+        private void advance() {
+            try {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    next = null;
+                    in.close();
+                    return;
+                }
+                byte[] key = new byte[length];
+                in.readFully(key);
+                Group group = new Group(new String(key, StandardCharsets.UTF_8),
+                        groupBy.length, new double[sumFields.length]);
+                group.count = in.readLong();
+                for (int i = 0; i < group.sums.length; i++) {
+                    group.sums[i] = in.readDouble();
+                }
+                next = group;
+            } catch (IOException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public Group next() {
+            if (next == null) throw new NoSuchElementException();
+            Group result = next;
+            advance();
+            return result;
+        }
+    }
+
+    /**
+     * Merges sorted sources, combining the groups with equal values.
+     */
+    private final class MergingIterator implements Iterator<Group> {
+        private final PriorityQueue<Head> heads = new PriorityQueue<Head>();
+
+        MergingIterator(List<Iterator<Group>> sources) {
+            for (Iterator<Group> source : sources) {
+                if (source.hasNext()) heads.add(new Head(source));
+            }
+        }
+
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        public Group next() {
+            if (heads.isEmpty()) throw new NoSuchElementException();
+            Head head = heads.poll();
+            Group result = new Group(head.group.key, groupBy.length, new double[sumFields.length]);
+            result.add(head.group);
+            advance(head);
+            while (!heads.isEmpty() && heads.peek().group.key.equals(result.key)) {
+                Head same = heads.poll();
+                result.add(same.group);
+                advance(same);
+            }
+            return result;
+        }
+
+        private void advance(Head head) {
+            if (head.source.hasNext()) {
+                head.group = head.source.next();
+                heads.add(head);
+            }
+        }
+    }
+
+    private static final class Head implements Comparable<Head> {
+        final Iterator<Group> source;
+        Group group;
+
+        Head(Iterator<Group> source) {
+            this.source = source;
+            this.group = source.next();
+        }
+
+        public int compareTo(Head other) {
+            return group.key.compareTo(other.group.key);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The {@code HeavyHitters} class finds the most frequent values of a field,
+ * like {@code top}, while tracking only a fixed number of distinct values.
+ * <p>
+ * It uses the Space-Saving algorithm: when a new value arrives and no slot
+ * is free, it takes over the slot of the least frequent value and inherits
+ * its count as a possible overcount. Every value that occurs more often than
+ * {@code total / capacity} times is guaranteed to be tracked, and each
+ * reported count exceeds the true count by at most its
+ * {@link Item#getError error}. Values of multivalued fields are counted
+ * separately.
+ */
+public class HeavyHitters implements EventAggregator<HeavyHitters> {
+    private final String field;
+    private final int capacity;
+
+    private final Map<String, Item> items = new HashMap<String, Item>();
+    // Tracked values by count, to find the least frequent one quickly.
+    private final TreeMap<Long, Set<Item>> byCount = new TreeMap<Long, Set<Item>>();
+    private long total = 0;
+
+    /**
+     * Creates a tracker for the most frequent values of a field.
+     *
+     * @param field The field.
+     * @param capacity The number of distinct values to track; several times
+     * the number of top values wanted gives accurate counts.
+     */
+    public HeavyHitters(String field, int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("The capacity must be positive.");
+        this.field = field;
+        this.capacity = capacity;
+    }
+
+    /** {@inheritDoc} */
+    public void add(Event event) {
+        String[] values = event.getArray(field);
+        if (values == null) return;
+        for (String value : values) {
+            add(value);
+        }
+    }
+
+    /**
+     * Counts one occurrence of a value.
+     *
+     * @param value The value.
+     */
+    public void add(String value) {
+        total++;
+        Item item = items.get(value);
+        if (item != null) {
+            move(item, item.count + 1);
+        } else if (items.size() < capacity) {
+            track(new Item(value, 1, 0));
+        } else {
+            Item smallest = byCount.firstEntry().getValue().iterator().next();
+            untrack(smallest);
+            track(new Item(value, smallest.count + 1, smallest.count));
+        }
+    }
+
+    /** {@inheritDoc} */
+    public void merge(HeavyHitters other) {
+        if (!field.equals(other.field) || capacity != other.capacity)
+            throw new IllegalArgumentException("Cannot merge trackers with different settings.");
+        // A value missing from a full tracker may have occurred up to that
+        // tracker's smallest count times.
+        long ourFloor = items.size() < capacity ? 0 : byCount.firstKey();
+        long theirFloor = other.items.size() < other.capacity ? 0 : other.byCount.firstKey();
+
+        Map<String, Item> combined = new HashMap<String, Item>();
+        for (Item ours : items.values()) {
+            Item theirs = other.items.get(ours.value);
+            combined.put(ours.value, theirs == null
+                    ? new Item(ours.value, ours.count + theirFloor, ours.error + theirFloor)
+                    : new Item(ours.value, ours.count + theirs.count, ours.error + theirs.error));
+        }
+        for (Item theirs : other.items.values()) {
+            if (!combined.containsKey(theirs.value)) {
+                combined.put(theirs.value,
+                        new Item(theirs.value, theirs.count + ourFloor, theirs.error + ourFloor));
+            }
+        }
+
+        List<Item> ranked = new ArrayList<Item>(combined.values());
+        Collections.sort(ranked, BY_COUNT);
+        items.clear();
+        byCount.clear();
+        for (Item item : ranked.subList(0, Math.min(capacity, ranked.size()))) {
+            track(item);
+        }
+        total += other.total;
+    }
+
+    /**
+     * Returns the most frequent values, most frequent first.
+     *
+     * @param k The number of values.
+     * @return Up to {@code k} values with their estimated counts.
+     */
+    public List<Item> getTop(int k) {
+        List<Item> ranked = new ArrayList<Item>(items.values());
+        Collections.sort(ranked, BY_COUNT);
+        List<Item> top = new ArrayList<Item>();
+        for (Item item : ranked.subList(0, Math.min(k, ranked.size()))) {
+            top.add(new Item(item.value, item.count, item.error));
+        }
+        return top;
+    }
+
+    /**
+     * Returns the number of values counted.
+     *
+     * @return The total count.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    private void track(Item item) {
+        items.put(item.value, item);
+        Set<Item> bucket = byCount.get(item.count);
+        if (bucket == null) {
+            bucket = new LinkedHashSet<Item>();
+            byCount.put(item.count, bucket);
+        }
+        bucket.add(item);
+    }
+
+    private void untrack(Item item) {
+        items.remove(item.value);
+        Set<Item> bucket = byCount.get(item.count);
+        bucket.remove(item);
+        if (bucket.isEmpty()) byCount.remove(item.count);
+    }
+
+    private void move(Item item, long count) {
+        untrack(item);
+        item.count = count;
+        track(item);
+    }
+
+    private static final Comparator<Item> BY_COUNT = new Comparator<Item>() {
+        public int compare(Item a, Item b) {
+            int c = Long.compare(b.count, a.count);
+            return c != 0 ? c : a.value.compareTo(b.value);
+        }
+    };
+
+    /**
+     * A frequent value and its estimated count.
+     */
+    public static final class Item {
+        private final String value;
+        private long count;
+        private final long error;
+
+        private Item(String value, long count, long error) {
+            this.value = value;
+            this.count = count;
+            this.error = error;
+        }
+
+        /**
+         * Returns the value.
+         *
+         * @return The value.
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * Returns the estimated number of occurrences, which is never less
+         * than the true number.
+         *
+         * @return The estimated count.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns by how much the count may exceed the true number of
+         * occurrences.
+         *
+         * @return The maximum overcount.
+         */
+        public long getError() {
+            return error;
+        }
+
+        @Override public String toString() {
+            return value + "=" + count;
+        }
+    }
+}
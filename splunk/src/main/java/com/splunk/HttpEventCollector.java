@@ -0,0 +1,588 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The {@code HttpEventCollector} class sends events to the HTTP Event
+ * Collector (HEC) of one or more Splunk instances.
+ * <p>
+ * Events are collected into batches, which are sent when they reach
+ * {@link #setBatchSize a number of events} or
+ * {@link #setMaxBatchBytes a size}, or when {@link #flush} is called.
+ * Batches are gzip-compressed unless {@link #setCompression compression} is
+ * turned off.
+ * <p>
+ * Batches go to the collector endpoints in turn. An endpoint that cannot be
+ * reached, or that answers that it is busy, is skipped for a while, and the
+ * batch goes to the next one.
+ * <p>
+ * With {@link #setAcknowledgement indexer acknowledgement} on, each endpoint
+ * is sent batches on a channel of its own, and every batch is kept until the
+ * endpoint acknowledges that it was indexed. Batches that are not
+ * acknowledged in time are sent again, up to a limit, after which they are
+ * dropped. {@link #flush} returns only when every batch has been
+ * acknowledged, and fails if any batch was dropped.
+ * <pre>
+ * HttpEventCollector collector = new HttpEventCollector(token,
+ *         "https://hec1.example.com:8088", "https://hec2.example.com:8088");
+ * collector.send("user logged in", new Args("sourcetype", "auth"));
+ * collector.close();
+ * </pre>
+ * The collector can be used by several threads; batches are sent by the
+ * thread that fills them, one at a time. While one thread waits for
+ * acknowledgements, the others can keep filling batches.
+ */
+public class HttpEventCollector implements Closeable {
+    /** The default number of events in a batch. */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    /** The default size of a batch before compression, in bytes. */
+    public static final int DEFAULT_MAX_BATCH_BYTES = 1024 * 1024;
+
+    /** The default time to wait for a batch to be acknowledged, in milliseconds. */
+    public static final long DEFAULT_ACK_TIMEOUT = 60000;
+
+    /** The default interval between acknowledgement checks, in milliseconds. */
+    public static final long DEFAULT_ACK_POLL_INTERVAL = 1000;
+
+    /** The default number of times a batch is sent again. */
+    public static final int DEFAULT_MAX_RESENDS = 3;
+
+    static final String EVENT_PATH = "/services/collector/event";
+    static final String RAW_PATH = "/services/collector/raw";
+    static final String ACK_PATH = "/services/collector/ack";
+
+    // How long an endpoint that failed is skipped.
+    static final long ENDPOINT_DOWN_TIME = 10000;
+
+    // How many batches may wait for acknowledgement before sending blocks.
+    private static final int MAX_UNACKNOWLEDGED = 100;
+
+    private final String authorization;
+    private final List<Endpoint> endpoints;
+    private final Gson gson = new Gson();
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int maxBatchBytes = DEFAULT_MAX_BATCH_BYTES;
+    private boolean compression = true;
+    private boolean acknowledgement = false;
+    private long ackTimeout = DEFAULT_ACK_TIMEOUT;
+    private long ackPollInterval = DEFAULT_ACK_POLL_INTERVAL;
+    private int maxResends = DEFAULT_MAX_RESENDS;
+
+    // The batch being filled.
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private int pendingEvents = 0;
+    private String pendingPath = null;
+
+    private final List<Batch> unacknowledged = new ArrayList<Batch>();
+    private int nextEndpoint = 0;
+    private boolean closed = false;
+
+    private long eventsSent = 0;
+    private long batchesSent = 0;
+    private long resends = 0;
+    private long batchesLost = 0;
+    // Batches given up on since the last flush, which reports them.
+    private int unreportedLosses = 0;
+
+    /**
+     * Creates a collector client.
+     *
+     * @param token The HEC token.
+     * @param urls The base URL of each collector endpoint, such as
+     * {@code https://localhost:8088}.
+     */
+    public HttpEventCollector(String token, String... urls) {
+        this(token, Arrays.asList(urls));
+    }
+
+    /**
+     * Creates a collector client.
+     *
+     * @param token The HEC token.
+     * @param urls The base URL of each collector endpoint, such as
+     * {@code https://localhost:8088}.
+     */
+    public HttpEventCollector(String token, List<String> urls) {
+        if (token == null)
+            throw new IllegalArgumentException("A token is required.");
+        if (urls.isEmpty())
+            throw new IllegalArgumentException("At least one endpoint is required.");
+        this.authorization = "Splunk " + token;
+        this.endpoints = new ArrayList<Endpoint>();
+        for (String url : urls) {
+            endpoints.add(new Endpoint(url));
+        }
+    }
+
+    /**
+     * Sets the number of events after which a batch is sent.
+     *
+     * @param events The number of events, at least 1.
+     */
+    public synchronized void setBatchSize(int events) {
+        if (events < 1)
+            throw new IllegalArgumentException("The batch size must be positive.");
+        this.batchSize = events;
+    }
+
+    /**
+     * Sets the size, before compression, after which a batch is sent.
+     *
+     * @param bytes The size in bytes.
+     */
+    public synchronized void setMaxBatchBytes(int bytes) {
+        if (bytes < 1)
+            throw new IllegalArgumentException("The batch size must be positive.");
+        this.maxBatchBytes = bytes;
+    }
+
+    /**
+     * Sets whether batches are gzip-compressed. The default is {@code true}.
+     *
+     * @param compression {@code true} to compress batches.
+     */
+    public synchronized void setCompression(boolean compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Sets whether batches are kept until the indexers acknowledge them.
+     * The token must have indexer acknowledgement enabled. The default is
+     * {@code false}.
+     *
+     * @param acknowledgement {@code true} to wait for acknowledgements.
+     */
+    public synchronized void setAcknowledgement(boolean acknowledgement) {
+        this.acknowledgement = acknowledgement;
+    }
+
+    /**
+     * Sets how acknowledgements are awaited.
+     *
+     * @param timeout The time after which a batch that has not been
+     * acknowledged is sent again, in milliseconds.
+     * @param pollInterval The interval between acknowledgement checks, in
+     * milliseconds.
+     * @param maxResends The number of times a batch is sent again before
+     * {@link #flush} gives up.
+     */
+    public synchronized void setAckTimeout(long timeout, long pollInterval, int maxResends) {
+        if (timeout <= 0 || pollInterval <= 0 || maxResends < 0)
+            throw new IllegalArgumentException("Invalid acknowledgement settings.");
+        this.ackTimeout = timeout;
+        this.ackPollInterval = pollInterval;
+        this.maxResends = maxResends;
+    }
+
+    /**
+     * Sends an event to the event endpoint.
+     *
+     * @param event The event, which is a string or any object that can be
+     * converted to JSON, such as a map.
+     */
+    public void send(Object event) {
+        send(event, null);
+    }
+
+    /**
+     * Sends an event to the event endpoint.
+     *
+     * @param event The event, which is a string or any object that can be
+     * converted to JSON, such as a map.
+     * @param metadata The event's metadata ("time", "host", "source",
+     * "sourcetype", "index", and "fields"), or {@code null}.
+     */
+    public void send(Object event, Map<String, Object> metadata) {
+        JsonObject envelope = new JsonObject();
+        if (metadata != null) {
+            for (Map.Entry<String, Object> entry : metadata.entrySet()) {
+                envelope.add(entry.getKey(), gson.toJsonTree(entry.getValue()));
+            }
+        }
+        envelope.add("event", gson.toJsonTree(event));
+        add(EVENT_PATH, gson.toJson(envelope) + "\n");
+    }
+
+    /**
+     * Sends data to the raw endpoint, which breaks it into events the way
+     * a file input would.
+     *
+     * @param data The data.
+     * @param args The metadata of the data ("host", "source", "sourcetype",
+     * and "index"), or {@code null}.
+     */
+    public void sendRaw(String data, Map<String, Object> args) {
+        String path = args == null || args.isEmpty()
+                ? RAW_PATH
+                : RAW_PATH + "?" + Args.encode(args);
+        add(path, data.endsWith("\n") ? data : data + "\n");
+    }
+
+    /**
+     * Sends the batch being filled and, with acknowledgement on, waits until
+     * every batch sent so far has been acknowledged.
+     *
+     * @throws RuntimeException If a batch could not be sent to any
+     * endpoint, or was not acknowledged after the last resend.
+     */
+    public synchronized void flush() {
+        sendPending();
+        // Batches other threads send meanwhile are left to their own flush.
+        List<Batch> sent = new ArrayList<Batch>(unacknowledged);
+        while (!Collections.disjoint(unacknowledged, sent)) {
+            await(ackPollInterval);
+            checkAcknowledgements();
+        }
+        if (unreportedLosses > 0) {
+            int lost = unreportedLosses;
+            unreportedLosses = 0;
+            throw new RuntimeException(lost + " batches were not acknowledged after "
+                    + maxResends + " resends.");
+        }
+    }
+
+    /**
+     * Returns the number of events sent, not counting resends.
+     *
+     * @return The number of events.
+     */
+    public synchronized long getEventsSent() {
+        return eventsSent;
+    }
+
+    /**
+     * Returns the number of batches sent, not counting resends.
+     *
+     * @return The number of batches.
+     */
+    public synchronized long getBatchesSent() {
+        return batchesSent;
+    }
+
+    /**
+     * Returns the number of times a batch was sent again because it was not
+     * acknowledged in time.
+     *
+     * @return The number of resends.
+     */
+    public synchronized long getResends() {
+        return resends;
+    }
+
+    /**
+     * Returns the number of batches given up on because they were not
+     * acknowledged after the last resend.
+     *
+     * @return The number of batches.
+     */
+    public synchronized long getBatchesLost() {
+        return batchesLost;
+    }
+
+    /**
+     * Returns the number of batches waiting for acknowledgement.
+     *
+     * @return The number of batches.
+     */
+    public synchronized int getUnacknowledgedCount() {
+        return unacknowledged.size();
+    }
+
+    /**
+     * Flushes the collector. Events sent afterwards are rejected.
+     */
+    public synchronized void close() {
+        if (closed) return;
+        // Rejects events other threads send while the flush waits.
+        closed = true;
+        flush();
+    }
+
+    private synchronized void add(String path, String data) {
+        if (closed)
+            throw new IllegalStateException("The collector is closed.");
+        if (pendingPath != null && !pendingPath.equals(path)) {
+            sendPending();
+        }
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        pending.write(bytes, 0, bytes.length);
+        pendingEvents++;
+        pendingPath = path;
+        if (pendingEvents >= batchSize || pending.size() >= maxBatchBytes) {
+            sendPending();
+        }
+    }
+
+    private void sendPending() {
+        if (pendingEvents == 0) return;
+        Batch batch = new Batch(pendingPath, encode(pending.toByteArray()), compression);
+        int events = pendingEvents;
+        pending.reset();
+        pendingEvents = 0;
+        pendingPath = null;
+
+        post(batch);
+        eventsSent += events;
+        batchesSent++;
+        if (acknowledgement) {
+            unacknowledged.add(batch);
+            // Waits for the indexers rather than letting batches pile up.
+            while (unacknowledged.size() >= MAX_UNACKNOWLEDGED) {
+                await(ackPollInterval);
+                checkAcknowledgements();
+            }
+        }
+    }
+
+    private byte[] encode(byte[] body) {
+        if (!compression) return body;
+        try {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+            GZIPOutputStream gzip = new GZIPOutputStream(compressed);
+            gzip.write(body);
+            gzip.close();
+            return compressed.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends a batch to the next endpoint that accepts it.
+     */
+    private void post(Batch batch) {
+        long now = System.currentTimeMillis();
+        RuntimeException failure = null;
+        int size = endpoints.size();
+        boolean[] tried = new boolean[size];
+        // First the endpoints that are up, then, if all failed, the rest.
+        // Each endpoint is tried at most once.
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < size; i++) {
+                int index = (nextEndpoint + i) % size;
+                Endpoint endpoint = endpoints.get(index);
+                if (tried[index]) continue;
+                if (pass == 0 && endpoint.downUntil > now) continue;
+                tried[index] = true;
+                try {
+                    JsonObject response = request(endpoint, batch.path, batch.body, batch.compressed);
+                    nextEndpoint = (nextEndpoint + i + 1) % size;
+                    endpoint.downUntil = 0;
+                    batch.endpoint = endpoint;
+                    batch.sentAt = System.currentTimeMillis();
+                    if (acknowledgement) {
+                        if (response == null || !response.has("ackId"))
+                            throw new RuntimeException(
+                                    "Indexer acknowledgement is not enabled for the token.");
+                        batch.ackId = response.get("ackId").getAsLong();
+                    }
+                    return;
+                } catch (HttpException e) {
+                    if (!retryable(e.getStatus())) throw e;
+                    failure = e;
+                } catch (RuntimeException e) {
+                    if (e.getCause() instanceof IOException) {
+                        failure = e;
+                    } else {
+                        throw e;
+                    }
+                }
+                endpoint.downUntil = System.currentTimeMillis() + ENDPOINT_DOWN_TIME;
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * Asks each endpoint which of its batches have been indexed, and sends
+     * again the batches that have waited too long. A batch that has used up
+     * its resends is dropped, and reported by the next {@link #flush}.
+     */
+    private void checkAcknowledgements() {
+        Map<Endpoint, List<Batch>> byEndpoint = new LinkedHashMap<Endpoint, List<Batch>>();
+        for (Batch batch : unacknowledged) {
+            List<Batch> batches = byEndpoint.get(batch.endpoint);
+            if (batches == null) {
+                batches = new ArrayList<Batch>();
+                byEndpoint.put(batch.endpoint, batches);
+            }
+            batches.add(batch);
+        }
+        for (Map.Entry<Endpoint, List<Batch>> entry : byEndpoint.entrySet()) {
+            JsonArray ids = new JsonArray();
+            for (Batch batch : entry.getValue()) {
+                ids.add(batch.ackId);
+            }
+            JsonObject query = new JsonObject();
+            query.add("acks", ids);
+            JsonObject acks;
+            try {
+                JsonObject response = request(entry.getKey(), ACK_PATH,
+                        gson.toJson(query).getBytes(StandardCharsets.UTF_8), false);
+                acks = response == null ? null : response.getAsJsonObject("acks");
+            } catch (RuntimeException e) {
+                // Unreachable for now; its batches are resent when they time out.
+                continue;
+            }
+            if (acks == null) continue;
+            for (Batch batch : entry.getValue()) {
+                JsonElement acked = acks.get(String.valueOf(batch.ackId));
+                if (acked != null && acked.getAsBoolean()) {
+                    unacknowledged.remove(batch);
+                }
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        for (Iterator<Batch> it = new ArrayList<Batch>(unacknowledged).iterator(); it.hasNext(); ) {
+            Batch batch = it.next();
+            if (now - batch.sentAt < ackTimeout) continue;
+            if (batch.resends >= maxResends) {
+                unacknowledged.remove(batch);
+                batchesLost++;
+                unreportedLosses++;
+                continue;
+            }
+            batch.resends++;
+            resends++;
+            post(batch);
+        }
+    }
+
+    private JsonObject request(Endpoint endpoint, String path, byte[] body, boolean compressed) {
+        RequestMessage request = new RequestMessage("POST");
+        request.getHeader().put("Authorization", authorization);
+        request.getHeader().put("Content-Type", "application/json");
+        request.getHeader().put("X-Splunk-Request-Channel", endpoint.channel);
+        if (compressed) {
+            request.getHeader().put("Content-Encoding", "gzip");
+        }
+        request.setContent(body);
+        ResponseMessage response = endpoint.service.send(path, request);
+        InputStream content = response.getContent();
+        if (content == null) return null;
+        try {
+            String text = new String(readAll(content), StandardCharsets.UTF_8);
+            JsonElement parsed = JsonParser.parseString(text);
+            return parsed.isJsonObject() ? parsed.getAsJsonObject() : null;
+        } catch (IOException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        } catch (RuntimeException e) {
+            // Not JSON; nothing more to learn from it.
+            return null;
+        } finally {
+            try {
+                content.close();
+            } catch (IOException e) {
+                // Already read.
+            }
+        }
+    }
+
+    private static byte[] readAll(InputStream input) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        int n;
+        while ((n = input.read(chunk)) != -1) {
+            buffer.write(chunk, 0, n);
+        }
+        return buffer.toByteArray();
+    }
+
+    // Busy, throttled, or failing servers may accept the batch elsewhere.
+    private static boolean retryable(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    // Waits on the collector's monitor, so other threads can use the
+    // collector in the meantime.
+    private void await(long millis) {
+        try {
+            wait(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            SplunkException interrupted = new SplunkException(SplunkException.INTERRUPTED,
+                    "Interrupted while waiting for acknowledgements.");
+            interrupted.initCause(e);
+            throw interrupted;
+        }
+    }
+
+    /**
+     * One collector endpoint and the channel used to send to it.
+     */
+    private static final class Endpoint {
+        final HttpService service;
+        final String channel = UUID.randomUUID().toString();
+        long downUntil = 0;
+
+        Endpoint(String url) {
+            URL parsed;
+            try {
+                parsed = new URL(url);
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException("Invalid collector URL: " + url, e);
+            }
+            int port = parsed.getPort() == -1 ? 8088 : parsed.getPort();
+            this.service = new HttpService(parsed.getHost(), port, parsed.getProtocol());
+        }
+    }
+
+    /**
+     * A batch that has been sent, kept until it is acknowledged.
+     */
+    private static final class Batch {
+        final String path;
+        final byte[] body;
+        final boolean compressed;
+        Endpoint endpoint = null;
+        long ackId = -1;
+        long sentAt = 0;
+        int resends = 0;
+
+        Batch(String path, byte[] body, boolean compressed) {
+            this.path = path;
+            this.body = body;
+            this.compressed = compressed;
+        }
+    }
+}
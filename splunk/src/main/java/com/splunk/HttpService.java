@@ -25,11 +25,17 @@ import java.net.*;
 import java.security.cert.X509Certificate;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * The {@code HttpService} class represents a generic HTTP service at a given
  * address ({@code host:port}), accessed using a given protocol scheme
  * ({@code http} or {@code https}).
+ * <p>
+ * An {@code HttpService} instance may be shared by many threads. Each request
+ * opens its own connection, and the shared cookie and custom header state is
+ * kept in concurrent structures.
  */
 public class HttpService {
     // For debugging purposes
@@ -44,10 +50,10 @@ public class HttpService {
      */
     protected static boolean validateCertificates = true;
 
-    private static SSLSocketFactory sslSocketFactory = createSSLFactory();
+    private static volatile SSLSocketFactory sslSocketFactory = createSSLFactory();
     private static String HTTPS_SCHEME = "https";
     private static String HTTP_SCHEME = "http";
-    private static List<String> VALID_HOSTS = new ArrayList<String>(Arrays.asList("localhost", "127.0.0.1", "::1"));
+    private static List<String> VALID_HOSTS = new CopyOnWriteArrayList<String>(Arrays.asList("localhost", "127.0.0.1", "::1"));
 
     private static final HostnameVerifier HOSTNAME_VERIFIER = new HostnameVerifier() {
         public boolean verify(String s, SSLSession sslSession) {
@@ -83,14 +89,14 @@ public class HttpService {
     protected Integer connectTimeout = null;
     protected Integer readTimeout = null;
 
-    private String prefix = null;
+    private volatile String prefix = null;
 
     static Map<String, String> defaultHeader = new HashMap<String, String>() {{
         put("User-Agent", "splunk-sdk-java/1.9.5");
         put("Accept", "*/*");
     }};
     
-    protected Map<String, String> customHeaders = new HashMap<>();
+    protected volatile Map<String, String> customHeaders = new ConcurrentHashMap<>();
     
     protected SimpleCookieStore cookieStore = new SimpleCookieStore();
 
@@ -203,13 +209,20 @@ public class HttpService {
     }
     
     /**
-     * Sets Custom Headers of this service
+     * Sets Custom Headers of this service. The headers are copied, so later
+     * changes to the given map are not seen by this service.
      * 
      * @param headers The custom headers.
      */
     public void setCustomHeaders(Map<String, String> headers) {
     	if (Objects.nonNull(headers)) {
-    		customHeaders = headers;
+    		Map<String, String> copy = new ConcurrentHashMap<>();
+    		for (Entry<String, String> entry : headers.entrySet()) {
+    			if (entry.getKey() != null && entry.getValue() != null) {
+    				copy.put(entry.getKey(), entry.getValue());
+    			}
+    		}
+    		customHeaders = copy;
     	}
     }
 
@@ -493,9 +506,14 @@ public class HttpService {
             if (content != null) {
                 cn.setDoOutput(true);
                 OutputStream stream = cn.getOutputStream();
-                OutputStreamWriter writer = new OutputStreamWriter(stream, "UTF-8");
-                writer.write((String) content);
-                writer.close();
+                if (content instanceof byte[]) {
+                    stream.write((byte[]) content);
+                    stream.close();
+                } else {
+                    OutputStreamWriter writer = new OutputStreamWriter(stream, "UTF-8");
+                    writer.write((String) content);
+                    writer.close();
+                }
             }
         } catch (IOException e) {
             throw new RuntimeException(e.getMessage(), e);
@@ -528,10 +546,11 @@ public class HttpService {
             assert (false);
         }
         
-        // Add cookies to cookie Store
-        Map<String, List<String>> headers = cn.getHeaderFields();        
-        if (headers.containsKey("Set-Cookie")) {
-            for (String cookieHeader : headers.get("Set-Cookie")) {
+        // Add cookies to cookie Store (header names are case-insensitive)
+        Map<String, List<String>> headers = cn.getHeaderFields();
+        for (Entry<String, List<String>> headerEntry : headers.entrySet()) {
+            if (!"Set-Cookie".equalsIgnoreCase(headerEntry.getKey())) continue;
+            for (String cookieHeader : headerEntry.getValue()) {
                if (cookieHeader != null && cookieHeader.length() > 0)
                     cookieStore.add(cookieHeader);
             }
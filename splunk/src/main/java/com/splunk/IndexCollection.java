@@ -40,6 +40,16 @@ public class IndexCollection extends EntityCollection<Index> {
         super(service, "data/indexes", Index.class, args);
     }
 
+    /**
+     * Returns the arguments for a summary listing, which leaves out index
+     * details that are expensive for the server to compute.
+     *
+     * @return The summary arguments.
+     */
+    @Override Args summaryArgs() {
+        return new Args("summarize", true);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.Closeable;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code IndexMetricsSampler} class records the event count and size of
+ * every index at regular intervals, and derives ingest rates from them.
+ * <p>
+ * Each sample is a single request for the summary listing of all indexes,
+ * projected to the two fields it needs, so sampling hundreds of indexes
+ * every few seconds costs the server and the client little. The samples of
+ * each index are kept in a fixed-size ring of primitive arrays; once the
+ * ring is full, each new sample replaces the oldest.
+ * <p>
+ * Rates are the net change between two samples, so they drop, and can turn
+ * negative, when buckets roll to frozen.
+ * <pre>
+ * IndexMetricsSampler sampler = service.sampleIndexMetrics(5000);
+ * ...
+ * double rate = sampler.getSeries("main").getEventsPerSecond(60000);
+ * </pre>
+ */
+public class IndexMetricsSampler implements Closeable {
+    /** The default number of samples kept for each index. */
+    public static final int DEFAULT_CAPACITY = 720;
+
+    private static final String EVENT_COUNT = "totalEventCount";
+    private static final String SIZE_MB = "currentDBSizeMB";
+
+    private final Service service;
+    private final ScheduledExecutorService executor;
+    private final Map<String, Ring> rings = new ConcurrentHashMap<String, Ring>();
+
+    private volatile int capacity = DEFAULT_CAPACITY;
+    private volatile Exception lastError = null;
+    private boolean started = false;
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a sampler. Sampling on a schedule does not begin until
+     * {@link #start} is called.
+     *
+     * @param service The service whose indexes to sample.
+     */
+    public IndexMetricsSampler(Service service) {
+        this.service = service;
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+                Util.daemonThreadFactory("splunk-index-sampler"));
+    }
+
+    /**
+     * Sets the number of samples kept for each index. It applies to
+     * indexes first seen after the call.
+     *
+     * @param samples The number of samples, at least 2.
+     */
+    public void setCapacity(int samples) {
+        if (samples < 2)
+            throw new IllegalArgumentException("At least two samples are needed for a rate.");
+        this.capacity = samples;
+    }
+
+    /**
+     * Starts sampling on a schedule. A sample that fails is skipped and
+     * reported by {@link #getLastError}; sampling goes on.
+     *
+     * @param intervalMillis The interval between samples, in milliseconds.
+     * @return This sampler.
+     */
+    public synchronized IndexMetricsSampler start(long intervalMillis) {
+        if (intervalMillis <= 0)
+            throw new IllegalArgumentException("The interval must be positive.");
+        if (closed)
+            throw new IllegalStateException("The sampler is closed.");
+        if (!started) {
+            started = true;
+            executor.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    try {
+                        sample();
+                        lastError = null;
+                    } catch (Exception e) {
+                        lastError = e;
+                    }
+                }
+            }, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    /**
+     * Takes one sample of every index now.
+     */
+    public void sample() {
+        IndexCollection collection = service.getIndexes();
+        Args args = Args.create(collection.summaryArgs());
+        args.put("count", 0);
+        args.put("datatype", "all");
+        List<EntityView> indexes = collection.listProjected(args, EVENT_COUNT, SIZE_MB);
+        long now = System.currentTimeMillis();
+
+        Set<String> seen = new HashSet<String>();
+        for (EntityView index : indexes) {
+            String name = index.getName();
+            seen.add(name);
+            Ring ring = rings.get(name);
+            if (ring == null) {
+                ring = new Ring(capacity);
+                rings.put(name, ring);
+            }
+            ring.add(now, number(index.getString(EVENT_COUNT)), number(index.getString(SIZE_MB)));
+        }
+        // Indexes that were removed stop being tracked.
+        rings.keySet().retainAll(seen);
+    }
+
+    /**
+     * Returns the names of the sampled indexes.
+     *
+     * @return The index names, sorted.
+     */
+    public Set<String> getIndexNames() {
+        return new TreeSet<String>(rings.keySet());
+    }
+
+    /**
+     * Returns a copy of the samples of an index.
+     *
+     * @param index The index name.
+     * @return The samples, or {@code null} if the index has not been
+     * sampled.
+     */
+    public Series getSeries(String index) {
+        Ring ring = rings.get(index);
+        return ring == null ? null : ring.snapshot();
+    }
+
+    /**
+     * Returns the error of the last sample taken on the schedule.
+     *
+     * @return The error, or {@code null} if the last sample succeeded.
+     */
+    public Exception getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Stops sampling. The samples taken so far remain readable.
+     */
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+    }
+
+    // Counts are integers, but tolerate a decimal rendering.
+    private static long number(String value) {
+        if (value == null || value.isEmpty()) return 0;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            try {
+                return (long)Double.parseDouble(value);
+            } catch (NumberFormatException f) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * The samples of one index, oldest first.
+     */
+    public static final class Series {
+        private final long[] times;
+        private final long[] eventCounts;
+        private final long[] sizesMB;
+
+        Series(long[] times, long[] eventCounts, long[] sizesMB) {
+            this.times = times;
+            this.eventCounts = eventCounts;
+            this.sizesMB = sizesMB;
+        }
+
+        /**
+         * Returns the number of samples.
+         *
+         * @return The number of samples.
+         */
+        public int size() {
+            return times.length;
+        }
+
+        /**
+         * Returns the time a sample was taken.
+         *
+         * @param i The sample, from 0 for the oldest.
+         * @return The time, in milliseconds since the epoch.
+         */
+        public long getTime(int i) {
+            return times[i];
+        }
+
+        /**
+         * Returns the total event count of the index at a sample.
+         *
+         * @param i The sample, from 0 for the oldest.
+         * @return The event count.
+         */
+        public long getEventCount(int i) {
+            return eventCounts[i];
+        }
+
+        /**
+         * Returns the size of the index at a sample.
+         *
+         * @param i The sample, from 0 for the oldest.
+         * @return The size, in megabytes.
+         */
+        public long getSizeMB(int i) {
+            return sizesMB[i];
+        }
+
+        /**
+         * Returns the rate at which events were added over all samples.
+         *
+         * @return Events per second, or 0 if there are fewer than two
+         * samples.
+         */
+        public double getEventsPerSecond() {
+            return getEventsPerSecond(Long.MAX_VALUE);
+        }
+
+        /**
+         * Returns the rate at which events were added over the most recent
+         * samples.
+         *
+         * @param windowMillis How far back from the latest sample to look,
+         * in milliseconds.
+         * @return Events per second, or 0 if the window holds fewer than two
+         * samples.
+         */
+        public double getEventsPerSecond(long windowMillis) {
+            return rate(eventCounts, windowMillis) * 1000;
+        }
+
+        /**
+         * Returns the rate at which the index grew over all samples.
+         *
+         * @return Megabytes per hour, or 0 if there are fewer than two
+         * samples.
+         */
+        public double getMegabytesPerHour() {
+            return getMegabytesPerHour(Long.MAX_VALUE);
+        }
+
+        /**
+         * Returns the rate at which the index grew over the most recent
+         * samples.
+         *
+         * @param windowMillis How far back from the latest sample to look,
+         * in milliseconds.
+         * @return Megabytes per hour, or 0 if the window holds fewer than two
+         * samples.
+         */
+        public double getMegabytesPerHour(long windowMillis) {
+            return rate(sizesMB, windowMillis) * 3600 * 1000;
+        }
+
+        // The change per millisecond between the latest sample and the
+        // oldest one within the window.
+        private double rate(long[] values, long windowMillis) {
+            int last = times.length - 1;
+            if (last < 1) return 0;
+            int first = last;
+            while (first > 0 && times[last] - times[first - 1] <= windowMillis) {
+                first--;
+            }
+            long elapsed = times[last] - times[first];
+            if (first == last || elapsed <= 0) return 0;
+            return (double)(values[last] - values[first]) / elapsed;
+        }
+
+        @Override public String toString() {
+            return size() + " samples, " + getEventsPerSecond() + " events/s, "
+                    + getMegabytesPerHour() + " MB/h";
+        }
+    }
+
+    /**
+     * A fixed-size ring of samples of one index.
+     */
+    private static final class Ring {
+        private final long[] times;
+        private final long[] eventCounts;
+        private final long[] sizesMB;
+        private int next = 0;
+        private int count = 0;
+
+        Ring(int capacity) {
+            this.times = new long[capacity];
+            this.eventCounts = new long[capacity];
+            this.sizesMB = new long[capacity];
+        }
+
+        synchronized void add(long time, long eventCount, long sizeMB) {
+            times[next] = time;
+            eventCounts[next] = eventCount;
+            sizesMB[next] = sizeMB;
+            next = (next + 1) % times.length;
+            if (count < times.length) count++;
+        }
+
+        synchronized Series snapshot() {
+            return new Series(ordered(times), ordered(eventCounts), ordered(sizesMB));
+        }
+
+        private long[] ordered(long[] values) {
+            long[] copy = new long[count];
+            int start = (next - count + values.length) % values.length;
+            int head = Math.min(count, values.length - start);
+            System.arraycopy(values, start, copy, 0, head);
+            System.arraycopy(values, 0, copy, head, count - head);
+            return copy;
+        }
+    }
+}
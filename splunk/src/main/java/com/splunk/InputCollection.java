@@ -146,6 +146,48 @@ public class InputCollection extends EntityCollection<Input> {
         return (T)get(name);
     }
     
+    /**
+     * Not supported: inputs are created at the endpoint of their kind, so
+     * use {@link #createAll(Map, InputKind)} instead.
+     *
+     * @param entities The arguments for creating each input, by name.
+     * @param concurrency The largest number of requests to send at once.
+     * @return No return value.
+     * @throws UnsupportedOperationException The UnsupportedOperationException instance
+     */
+    @Override public List<BatchResult<Input>> createAll(Map<String, ? extends Map> entities, int concurrency) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates many data inputs of one kind, sending up to
+     * {@link #DEFAULT_BATCH_CONCURRENCY} requests at once.
+     *
+     * @param entities The arguments for creating each input, by name.
+     * @param kind A member of {@code InputKind}, indicating the type of the
+     * inputs.
+     * @return The outcome for each input, in the order of the map.
+     * @see EntityCollection#createAll(Map, int)
+     */
+    public List<BatchResult<Input>> createAll(Map<String, ? extends Map> entities, InputKind kind) {
+        return createAll(entities, kind, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    /**
+     * Creates many data inputs of one kind, as
+     * {@link EntityCollection#createAll(Map, int)} does for other entities.
+     *
+     * @param entities The arguments for creating each input, by name.
+     * @param kind A member of {@code InputKind}, indicating the type of the
+     * inputs.
+     * @param concurrency The largest number of requests to send at once.
+     * @return The outcome for each input, in the order of the map.
+     */
+    public List<BatchResult<Input>> createAll(Map<String, ? extends Map> entities, InputKind kind,
+            int concurrency) {
+        return createAll(this.path + "/" + kind.getRelativePath(), kind.getInputClass(), entities, concurrency);
+    }
+
     /**
      * Creates a new data input based on an Atom entry.
      *
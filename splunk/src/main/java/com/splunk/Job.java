@@ -16,19 +16,28 @@
 
 package com.splunk;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * The {@code Job} class represents a job, which is an individual 
  * instance of a running or completed search or report, along with its related
  * output.
  */
-public class Job extends Entity {
+public class Job extends Entity implements AutoCloseable {
+
+    // The number of results the results endpoint returns without a count.
+    private static final int DEFAULT_RESULTS_COUNT = 100;
 
     private boolean isReady = false;
+    private String published = null;
 
     /**
      * Class constructor.
@@ -81,6 +90,20 @@ public class Job extends Entity {
         return this;
     }
 
+    /**
+     * Cancels this job, so that it can be used in a try-with-resources
+     * statement. If a {@link JobLifecycleManager} tracks the job, it stops
+     * tracking it. To leave a job on the server, do not close it; release
+     * it from its manager instead.
+     */
+    @Override public void close() {
+        JobLifecycleManager manager = service.getJobLifecycleManager();
+        if (manager != null) {
+            manager.release(this);
+        }
+        cancel();
+    }
+
     /**
      * Stops the current search and deletes the result cache.
      *
@@ -357,6 +380,10 @@ public class Job extends Entity {
     }
 
     private InputStream getEventsMethod(String methodPath, Map args) {
+        return service.readAhead(openEventsMethod(methodPath, args));
+    }
+
+    private InputStream openEventsMethod(String methodPath, Map args) {
         checkReady();
 
         if (args == null) {
@@ -548,8 +575,104 @@ public class Job extends Entity {
      * @return The results {@code InputStream} IO handle.
      */
     public InputStream getResults(Map args) {
+        JobResultsCache cache = service.getResultsCache();
+        if (cache != null && isReady() && getBoolean("isDone", false)) {
+            return cache.open(this, args);
+        }
+        return fetchResults(args);
+    }
+
+    /**
+     * Downloads the results of this job from the server, bypassing any
+     * results cache.
+     *
+     * @param args Optional arguments.
+     * @return The results {@code InputStream} IO handle.
+     */
+    InputStream fetchResults(Map args) {
         return getEventsMethod("/results", args);
     }
+
+    /**
+     * Writes the raw results of this job to a channel, without parsing
+     * them. The channel is left open.
+     *
+     * @param target The channel to write to.
+     * @param args Optional arguments (see {@link JobResultsArgs}).
+     * @return The number of bytes written.
+     * @throws IOException If writing to the channel fails.
+     */
+    public long transferResultsTo(WritableByteChannel target, Map args) throws IOException {
+        return transferResultsTo(target, args, null);
+    }
+
+    /**
+     * Writes the raw results of this job to a channel, without parsing
+     * them. Results held by the {@link JobResultsCache} are written straight
+     * from its memory-mapped file. Results read from the server still pass
+     * through the HTTP stream's small heap buffer before they are gathered
+     * into one direct buffer of the configured size, so the buffer size
+     * sets how often the channel is written rather than how often the
+     * bytes are copied. The channel is left open.
+     *
+     * @param target The channel to write to.
+     * @param args Optional arguments (see {@link JobResultsArgs}).
+     * @param options The buffer size, compression, and progress listener,
+     * or {@code null} for the defaults.
+     * @return The number of bytes written.
+     * @throws IOException If writing to the channel fails.
+     */
+    public long transferResultsTo(WritableByteChannel target, Map args, TransferOptions options)
+            throws IOException {
+        return RawTransfer.transfer(openRawResults(args), target, options);
+    }
+
+    /**
+     * Writes the raw results of this job to a file, replacing its contents.
+     *
+     * @param target The file to write to.
+     * @param args Optional arguments (see {@link JobResultsArgs}).
+     * @return The number of bytes written.
+     * @throws IOException If writing to the file fails.
+     */
+    public long transferResultsTo(Path target, Map args) throws IOException {
+        return transferResultsTo(target, args, null);
+    }
+
+    /**
+     * Writes the raw results of this job to a file, replacing its contents.
+     * If the transfer fails, the file is deleted.
+     *
+     * @param target The file to write to.
+     * @param args Optional arguments (see {@link JobResultsArgs}).
+     * @param options The buffer size, compression, and progress listener,
+     * or {@code null} for the defaults.
+     * @return The number of bytes written.
+     * @throws IOException If writing to the file fails.
+     */
+    public long transferResultsTo(Path target, Map args, TransferOptions options) throws IOException {
+        return RawTransfer.transfer(openRawResults(args), target, options);
+    }
+
+    // Results for a transfer skip reading ahead, which would only add a
+    // copy, but are still served from the results cache when possible.
+    private InputStream openRawResults(Map args) {
+        JobResultsCache cache = service.getResultsCache();
+        if (cache != null && isReady() && getBoolean("isDone", false)) {
+            return cache.open(this, args);
+        }
+        return openEventsMethod("/results", args);
+    }
+
+    /**
+     * Returns a value that changes whenever this job's results may have
+     * changed, such as when a job is re-run under the same SID.
+     *
+     * @return The results fingerprint.
+     */
+    String getResultsFingerprint() {
+        return published + "|" + getString("resultCount", "");
+    }
     
     /**
      * Returns the {@code InputStream} IO handle for the results from this job.
@@ -951,6 +1074,7 @@ public class Job extends Entity {
             throw new RuntimeException(e);
         }
         load(entry);
+        published = entry.published;
 
         if (getString("dispatchState").equals("QUEUED") || getString("dispatchState").equals("PARSING")) {
             isReady = false;
@@ -962,6 +1086,195 @@ public class Job extends Entity {
         return this;
     }
 
+    /**
+     * Subscribes to the results of this real-time search. The listener is
+     * notified from a background thread with the rows that were added,
+     * changed, or removed each time the job produces a new preview.
+     *
+     * @param listener The listener to notify of changes.
+     * @return The running subscription; close it to stop polling.
+     */
+    public RealtimeSubscription subscribe(ResultsDeltaListener listener) {
+        return new RealtimeSubscription(this, listener).start();
+    }
+
+    /**
+     * Refreshes this job and returns an immutable snapshot of its status.
+     * Reading the snapshot's properties costs no further requests.
+     *
+     * @return The status snapshot.
+     */
+    public JobStatus getStatus() {
+        refresh();
+        return new JobStatus(content == null ? new Record() : content, published);
+    }
+
+    /**
+     * Returns a reader for this job's results. Unless {@code args} sets an
+     * {@code output_mode}, the results are requested in the compact
+     * {@code json_rows} mode and read with {@link ResultsReaderJsonRows}.
+     *
+     * @param args Optional arguments, as for {@link #getResults(Map)}.
+     * @return The reader.
+     * @throws IOException The IOException instance
+     */
+    public ResultsReader getResultsReader(Map args) throws IOException {
+        args = compactOutputMode(args);
+        return ResultsReader.forOutputMode(getResults(args), (String)args.get("output_mode"));
+    }
+
+    /**
+     * Returns a stream of this job's results, read as by
+     * {@link #getResultsReader(Map)}. When the job is done, its result count
+     * is used as the stream's size estimate, which helps parallel streams
+     * split the work. Call {@code parallel()} on the stream to process
+     * results on every core. Close the stream when done.
+     *
+     * @param args Optional arguments, as for {@link #getResults(Map)}.
+     * @return The stream.
+     * @throws IOException The IOException instance
+     */
+    public Stream<Event> streamResults(Map args) throws IOException {
+        long expected = Long.MAX_VALUE;
+        if (isReady() && getBoolean("isDone", false)) {
+            // The arguments go to the server as given; a value that is not
+            // a number only makes the estimate less precise. Without a
+            // count, the endpoint returns its default page; 0 means all.
+            long offset = Math.max(0, argument(args, "offset", 0, 0));
+            long count = argument(args, "count", DEFAULT_RESULTS_COUNT, 0);
+            expected = Math.max(0, getLong("resultCount", 0) - offset);
+            if (count > 0) {
+                expected = Math.min(expected, count);
+            }
+        }
+        return getResultsReader(args).stream(expected, false);
+    }
+
+    private static long argument(Map args, String key, long absent, long malformed) {
+        Object value = args == null ? null : args.get(key);
+        if (value == null) return absent;
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return malformed;
+        }
+    }
+
+    /**
+     * Returns a reader for this job's events. Unless {@code args} sets an
+     * {@code output_mode}, the events are requested in the compact
+     * {@code json_rows} mode and read with {@link ResultsReaderJsonRows}.
+     *
+     * @param args Optional arguments, as for {@link #getEvents(Map)}.
+     * @return The reader.
+     * @throws IOException The IOException instance
+     */
+    public ResultsReader getEventsReader(Map args) throws IOException {
+        args = compactOutputMode(args);
+        return ResultsReader.forOutputMode(getEvents(args), (String)args.get("output_mode"));
+    }
+
+    /**
+     * Returns a copy of a set of arguments with {@code output_mode} set to
+     * {@code json_rows} unless it is already set.
+     */
+    static Map<String, Object> compactOutputMode(Map args) {
+        Map<String, Object> copy = new HashMap<String, Object>();
+        if (args != null) {
+            copy.putAll(args);
+        }
+        Object mode = copy.get("output_mode");
+        copy.put("output_mode", mode == null ? "json_rows" : mode.toString());
+        return copy;
+    }
+
+    /**
+     * Returns an iterator over this job's events that follows the job while
+     * it runs, fetching only events that became available since the last
+     * fetch. The job must have been created with {@code status_buckets}
+     * greater than zero.
+     *
+     * @return The follower; close it to stop following.
+     */
+    public JobFollower followEvents() {
+        return followEvents(null);
+    }
+
+    /**
+     * Returns an iterator over this job's events that follows the job while
+     * it runs.
+     *
+     * @param args Optional arguments, as for {@link #getEvents(Map)}. The
+     * {@code offset}, {@code count}, and {@code output_mode} arguments are
+     * set by the follower.
+     * @return The follower; close it to stop following.
+     */
+    public JobFollower followEvents(Map args) {
+        return new JobFollower(this, true, args);
+    }
+
+    /**
+     * Returns an iterator over this job's results that follows the job while
+     * it runs, fetching only results that became available since the last
+     * fetch.
+     *
+     * @return The follower; close it to stop following.
+     */
+    public JobFollower followResults() {
+        return followResults(null);
+    }
+
+    /**
+     * Returns an iterator over this job's results that follows the job while
+     * it runs.
+     *
+     * @param args Optional arguments, as for {@link #getResults(Map)}. The
+     * {@code offset}, {@code count}, and {@code output_mode} arguments are
+     * set by the follower.
+     * @return The follower; close it to stop following.
+     */
+    public JobFollower followResults(Map args) {
+        return new JobFollower(this, false, args);
+    }
+
+    /**
+     * Returns a publisher of this job's results. Each subscriber gets its
+     * own request for the results, which is parsed on the given executor as
+     * the subscriber requests events.
+     *
+     * @param args Optional arguments, as for {@link #getResults(Map)}. The
+     * {@code output_mode} may be {@code xml} (the default), {@code json},
+     * {@code json_rows}, {@code json_cols}, or {@code csv}.
+     * @param executor The executor that reads and parses the results.
+     * @return The publisher.
+     */
+    public ResultsPublisher getResultsPublisher(final Map args, Executor executor) {
+        return new ResultsPublisher(new ResultsPublisher.Source() {
+            public InputStream open() {
+                return getResults(args);
+            }
+        }, ResultsPublisher.outputMode(args), executor);
+    }
+
+    /**
+     * Returns a publisher of this job's events. Each subscriber gets its
+     * own request for the events, which is parsed on the given executor as
+     * the subscriber requests events.
+     *
+     * @param args Optional arguments, as for {@link #getEvents(Map)}. The
+     * {@code output_mode} may be {@code xml} (the default), {@code json},
+     * {@code json_rows}, {@code json_cols}, or {@code csv}.
+     * @param executor The executor that reads and parses the events.
+     * @return The publisher.
+     */
+    public ResultsPublisher getEventsPublisher(final Map args, Executor executor) {
+        return new ResultsPublisher(new ResultsPublisher.Source() {
+            public InputStream open() {
+                return getEvents(args);
+            }
+        }, ResultsPublisher.outputMode(args), executor);
+    }
+
     /**
      * Unsupported. Removes this job. This method is unsupported and will throw
      * an exception.
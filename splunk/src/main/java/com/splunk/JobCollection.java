@@ -74,10 +74,27 @@ public class JobCollection extends EntityCollection<Job> {
      * @return The unique search identifier (SID).
      */
     public Job create(String query, Map args) {
+        Job job = dispatch(query, args);
+        job.refresh();
+
+        return service.trackJob(job);
+    }
+
+    /**
+     * Starts a search and returns its job without loading it. A failure
+     * thrown from here after the search request was sent may still have
+     * left the search running.
+     *
+     * @param query The search query.
+     * @param args Additional arguments for this job (see {@link JobArgs}).
+     * @return The job, not yet loaded.
+     */
+    Job dispatch(String query, Map args) {
         if (args != null && args.containsKey("exec_mode")) {
             if (args.get("exec_mode").equals("oneshot"))
                 throw new RuntimeException(oneShotNotAllowed);
         }
+        String jobsPath = service.enableV2SearchApi() ? REST_PATH_V2 : REST_PATH;
         args = Args.create(args).add("search", query);
         ResponseMessage response = service.post(path, args);
         assert(response.getStatus() == 201);
@@ -87,11 +104,7 @@ public class JobCollection extends EntityCollection<Job> {
             .item(0)
             .getTextContent();
 
-        String path = service.enableV2SearchApi() ? REST_PATH_V2 : REST_PATH;
-        Job job = new Job(service, path + "/" + sid);
-        job.refresh();
-
-        return job;
+        return new Job(service, jobsPath + "/" + sid);
     }
     
     /**
@@ -129,4 +142,8 @@ public class JobCollection extends EntityCollection<Job> {
     @Override protected String itemKey(AtomEntry entry) {
         return (String)entry.content.get("sid");
     }
+
+    @Override String[] keyFields() {
+        return new String[] { "sid" };
+    }
 }
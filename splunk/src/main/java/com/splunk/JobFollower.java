@@ -0,0 +1,234 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The {@code JobFollower} class iterates over the events or results of a
+ * search job while the job is still running, fetching only the rows that
+ * became available since the last fetch.
+ * <p>
+ * Each time it runs out of rows, the follower refreshes the job and compares
+ * the number of available rows ({@code eventAvailableCount} for events,
+ * {@code resultCount} for results) with the number it has read. New rows are
+ * fetched with {@code offset} and {@code count}, so no row is downloaded
+ * twice. While nothing new is available the follower waits, backing off
+ * towards the maximum poll interval, and it waits the full maximum interval
+ * while the job is paused. Iteration ends once the job is done and every
+ * row has been read.
+ * <p>
+ * Following events requires a job with {@code status_buckets} greater than
+ * zero; following results works for searches whose results grow as they run,
+ * such as searches without transforming commands.
+ * <p>
+ * For example:
+ * <pre>
+ * JobFollower follower = job.followEvents();
+ * try {
+ *     while (follower.hasNext()) {
+ *         process(follower.next());
+ *     }
+ * } finally {
+ *     follower.close();
+ * }
+ * </pre>
+ */
+public class JobFollower implements Iterator<Event>, Iterable<Event>, Closeable {
+    private final Job job;
+    private final boolean events;
+    private final Map<String, Object> args;
+
+    private int batchSize = 1000;
+    private long minIntervalMillis = 250;
+    private long maxIntervalMillis = 5000;
+
+    private final ArrayDeque<Event> pending = new ArrayDeque<Event>();
+    private long offset = 0;
+    private long intervalMillis = -1;
+    private boolean finished = false;
+
+    /**
+     * Creates a follower of a job's events or results.
+     *
+     * @param job The job.
+     * @param events {@code true} to follow events, {@code false} to follow
+     * results.
+     * @param args Optional arguments for the events or results endpoint,
+     * such as {@code field_list}. The {@code offset}, {@code count}, and
+     * {@code output_mode} arguments are set by the follower.
+     */
+    JobFollower(Job job, boolean events, Map args) {
+        this.job = job;
+        this.events = events;
+        this.args = new HashMap<String, Object>();
+        if (args != null) {
+            this.args.putAll(args);
+        }
+        this.args.put("output_mode", "json");
+    }
+
+    /**
+     * Sets the largest number of rows to fetch in one request. The default
+     * is 1000.
+     *
+     * @param rows The number of rows.
+     */
+    public void setBatchSize(int rows) {
+        if (rows <= 0)
+            throw new IllegalArgumentException("The batch size must be positive.");
+        this.batchSize = rows;
+    }
+
+    /**
+     * Sets the range of intervals between polls of the job while no new rows
+     * are available. The defaults are 250 and 5000 milliseconds.
+     *
+     * @param minMillis The interval after new rows were seen, in
+     * milliseconds.
+     * @param maxMillis The longest interval, used while the job is paused,
+     * in milliseconds.
+     */
+    public void setPollInterval(long minMillis, long maxMillis) {
+        if (minMillis <= 0 || maxMillis < minMillis)
+            throw new IllegalArgumentException("Invalid poll interval.");
+        this.minIntervalMillis = minMillis;
+        this.maxIntervalMillis = maxMillis;
+    }
+
+    /**
+     * Returns the number of rows read from the job so far.
+     *
+     * @return The offset of the next row to fetch.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns this follower, so it can be used in a for-each loop.
+     *
+     * @return This follower.
+     */
+    public Iterator<Event> iterator() {
+        return this;
+    }
+
+    /**
+     * Returns {@code true} once another row is available, waiting for the
+     * job if needed, or {@code false} once the job is done and every row has
+     * been read.
+     *
+     * @return Whether there is another row.
+     */
+    public boolean hasNext() {
+        while (pending.isEmpty() && !finished) {
+            poll();
+        }
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Returns the next row, waiting for the job if needed.
+     *
+     * @return The next row.
+     */
+    public Event next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        return pending.poll();
+    }
+
+    /**
+     * Unsupported.
+     */
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Stops following the job. The job itself is not affected.
+     */
+    public void close() {
+        finished = true;
+        pending.clear();
+    }
+
+    private void poll() {
+        job.refresh();
+        boolean done = job.isReady() && job.getBoolean("isDone", false);
+        long available = job.isReady()
+                ? job.getLong(events ? "eventAvailableCount" : "resultCount", 0)
+                : 0;
+        if (available > offset && fetch((int)Math.min(batchSize, available - offset)) > 0) {
+            intervalMillis = -1;
+            return;
+        }
+        // Done, and either nothing is left or the server returned nothing more.
+        if (done) {
+            finished = true;
+            return;
+        }
+        boolean paused = job.isReady() && job.getBoolean("isPaused", false);
+        if (paused) {
+            intervalMillis = maxIntervalMillis;
+        } else if (intervalMillis < 0) {
+            intervalMillis = minIntervalMillis;
+        } else {
+            intervalMillis = Math.min(maxIntervalMillis, intervalMillis * 2);
+        }
+        try {
+            Thread.sleep(intervalMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            SplunkException f = new SplunkException(
+                    SplunkException.INTERRUPTED,
+                    "Following the job was interrupted.");
+            f.initCause(e);
+            throw f;
+        }
+    }
+
+    private int fetch(int count) {
+        Map<String, Object> request = new HashMap<String, Object>(args);
+        request.put("offset", offset);
+        request.put("count", count);
+        InputStream stream = events ? job.getEvents(request) : job.fetchResults(request);
+        try {
+            ResultsReaderJson reader = new ResultsReaderJson(stream);
+            try {
+                Event event;
+                while ((event = reader.getNextEvent()) != null) {
+                    pending.add(event);
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+        offset += pending.size();
+        return pending.size();
+    }
+}
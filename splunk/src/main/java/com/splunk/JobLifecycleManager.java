@@ -0,0 +1,280 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code JobLifecycleManager} class keeps the search jobs a program
+ * creates alive while it needs them, and cancels them when it is done.
+ * <p>
+ * Once installed with {@link Service#setJobLifecycleManager}, the manager
+ * tracks every job created through {@link JobCollection#create},
+ * {@link Service#search}, or {@link SavedSearch#dispatch}. On a schedule, it
+ * touches the tracked jobs whose time to live runs out before the next
+ * round, several at a time, so that jobs with a long time to live cost no
+ * requests at all in most rounds.
+ * <p>
+ * A job stays tracked until it is {@link #release released}, which leaves
+ * it on the server to expire normally, or cancelled, for example by closing
+ * it with {@link Job#close}. When the manager is closed, or the JVM shuts
+ * down, every job still tracked is considered abandoned and is cancelled,
+ * so that its artifacts do not use up disk and quota until its time to live
+ * runs out.
+ * <pre>
+ * JobLifecycleManager manager = new JobLifecycleManager(service).start();
+ * service.setJobLifecycleManager(manager);
+ * try (Job job = service.search("search index=main | head 10")) {
+ *     ...
+ * }
+ * </pre>
+ */
+public class JobLifecycleManager implements Closeable {
+    /** The default interval between rounds of touches, in milliseconds. */
+    public static final long DEFAULT_TOUCH_INTERVAL = 60000;
+
+    /** The default number of touches sent at once. */
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    // The server's default time to live of a search job, in seconds.
+    private static final int DEFAULT_TTL = 600;
+
+    private final Service service;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, Tracked> jobs = new LinkedHashMap<String, Tracked>();
+
+    private volatile long touchIntervalMillis = DEFAULT_TOUCH_INTERVAL;
+    private volatile int concurrency = DEFAULT_CONCURRENCY;
+    private Thread shutdownHook = null;
+    private boolean started = false;
+    private boolean closed = false;
+
+    /**
+     * Creates a manager. Touching does not begin until {@link #start} is
+     * called.
+     *
+     * @param service The service the jobs belong to.
+     */
+    public JobLifecycleManager(Service service) {
+        this.service = service;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Util.daemonThreadFactory("splunk-job-lifecycle"));
+    }
+
+    /**
+     * Sets how often the manager checks which jobs need a touch. The
+     * default is one minute.
+     *
+     * @param millis The interval, in milliseconds.
+     */
+    public void setTouchInterval(long millis) {
+        if (millis <= 0)
+            throw new IllegalArgumentException("The interval must be positive.");
+        this.touchIntervalMillis = millis;
+    }
+
+    /**
+     * Sets the number of touches sent at once. The default is 4.
+     *
+     * @param requests The number of requests.
+     */
+    public void setConcurrency(int requests) {
+        if (requests < 1)
+            throw new IllegalArgumentException("The concurrency must be positive.");
+        this.concurrency = requests;
+    }
+
+    /**
+     * Starts touching jobs on a schedule, and registers a JVM shutdown hook
+     * that cancels the jobs still tracked.
+     *
+     * @return This manager.
+     */
+    public synchronized JobLifecycleManager start() {
+        if (closed)
+            throw new IllegalStateException("The manager is closed.");
+        if (!started) {
+            started = true;
+            long interval = touchIntervalMillis;
+            scheduler.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    touchDue();
+                }
+            }, interval, interval, TimeUnit.MILLISECONDS);
+            shutdownHook = new Thread(new Runnable() {
+                public void run() {
+                    cancelAll();
+                }
+            }, "splunk-job-lifecycle-shutdown");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+        return this;
+    }
+
+    /**
+     * Starts tracking a job. Jobs created through the SDK are tracked
+     * automatically once this manager is installed on their service.
+     *
+     * @param job The job.
+     * @return The job.
+     */
+    public Job track(Job job) {
+        int ttl = DEFAULT_TTL;
+        if (job.isMaybeValid()) {
+            // A shorter time to live than the default needs earlier touches.
+            ttl = Math.min(ttl, Math.max(1, job.getInteger("ttl", DEFAULT_TTL)));
+        }
+        synchronized (this) {
+            if (closed)
+                throw new IllegalStateException("The manager is closed.");
+            jobs.put(job.getPath(), new Tracked(job, ttl));
+        }
+        return job;
+    }
+
+    /**
+     * Stops tracking a job without cancelling it. The job is no longer
+     * touched and expires when its time to live runs out.
+     *
+     * @param job The job.
+     */
+    public synchronized void release(Job job) {
+        jobs.remove(job.getPath());
+    }
+
+    /**
+     * Returns the number of jobs being tracked.
+     *
+     * @return The number of jobs.
+     */
+    public synchronized int getTrackedCount() {
+        return jobs.size();
+    }
+
+    /**
+     * Stops touching jobs and cancels every job still tracked.
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+        }
+        scheduler.shutdownNow();
+        if (shutdownHook != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // Already shutting down; the hook is running.
+            }
+        }
+        cancelAll();
+        if (service.getJobLifecycleManager() == this) {
+            service.setJobLifecycleManager(null);
+        }
+    }
+
+    /**
+     * Touches, several at a time, the jobs whose time to live would run out
+     * before the next round.
+     */
+    void touchDue() {
+        long now = System.currentTimeMillis();
+        long horizon = now + 2 * touchIntervalMillis;
+        final List<Tracked> due = new ArrayList<Tracked>();
+        synchronized (this) {
+            for (Tracked tracked : jobs.values()) {
+                if (tracked.expiresAt() <= horizon) due.add(tracked);
+            }
+        }
+        if (due.isEmpty()) return;
+
+        List<Callable<Void>> touches = new ArrayList<Callable<Void>>(due.size());
+        for (final Tracked tracked : due) {
+            touches.add(new Callable<Void>() {
+                public Void call() {
+                    touch(tracked);
+                    return null;
+                }
+            });
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(
+                Math.min(concurrency, due.size()), Util.daemonThreadFactory("splunk-job-touch"));
+        try {
+            pool.invokeAll(touches);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void touch(Tracked tracked) {
+        try {
+            tracked.job.control("touch");
+            tracked.touchedAt = System.currentTimeMillis();
+        } catch (HttpException e) {
+            if (e.getStatus() == 404) {
+                // Cancelled or expired elsewhere; nothing left to keep alive.
+                release(tracked.job);
+            }
+        } catch (RuntimeException e) {
+            // Unreachable for now; tried again next round.
+        }
+    }
+
+    private void cancelAll() {
+        List<Tracked> abandoned;
+        synchronized (this) {
+            abandoned = new ArrayList<Tracked>(jobs.values());
+            jobs.clear();
+        }
+        for (Tracked tracked : abandoned) {
+            try {
+                tracked.job.cancel();
+            } catch (RuntimeException e) {
+                // Best effort; the job expires with its time to live anyway.
+            }
+        }
+    }
+
+    /**
+     * A tracked job and when it was last known to be touched.
+     */
+    private static final class Tracked {
+        final Job job;
+        final long ttlMillis;
+        volatile long touchedAt = System.currentTimeMillis();
+
+        Tracked(Job job, int ttlSeconds) {
+            this.job = job;
+            this.ttlMillis = ttlSeconds * 1000L;
+        }
+
+        long expiresAt() {
+            return touchedAt + ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,520 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code JobResultsCache} class keeps the results of finished search jobs
+ * on local disk, so that reading the same results again does not download
+ * them from the server again.
+ * <p>
+ * The cache is opt-in: install it with {@link Service#setResultsCache}, after
+ * which {@link Job#getResults(Map)} on a job that is done tees the first
+ * download of each distinct set of arguments to a file in the cache
+ * directory. Later reads with the same SID and arguments (including
+ * {@code output_mode}) are served by memory-mapping the stored file.
+ * <p>
+ * Entries expire with the job's {@code ttl}, are evicted least recently used
+ * first once the cache grows past its size limit, and are dropped when the
+ * job they came from is re-run under the same SID. Result readers close the
+ * stream after the last event, before the short trailer that follows it, so
+ * on close up to {@link #DRAIN_LIMIT} more bytes are read to complete the
+ * download. A download closed further from its end, such as by a consumer
+ * that stops early, is discarded rather than read to the end.
+ * <p>
+ * The cache is safe for use by multiple threads. Its contents do not survive
+ * the process: cache files left in the directory by an earlier instance are
+ * removed when a new instance is created. Cache files are named with a
+ * prefix of their own, and no other files in the directory are touched.
+ */
+public class JobResultsCache {
+    private static final String PREFIX = "splunk-job-results-";
+    private static final String SUFFIX = ".results";
+    private static final String PARTIAL_SUFFIX = ".partial";
+
+    /** The most bytes read on close to complete a download. */
+    static final int DRAIN_LIMIT = 64 * 1024;
+
+    private final File directory;
+    private final long maxBytes;
+    private volatile long defaultTtlMillis = 10 * 60 * 1000;
+
+    // Access-ordered, so iteration starts at the least recently used entry.
+    private final LinkedHashMap<String, CacheEntry> entries =
+            new LinkedHashMap<String, CacheEntry>(16, 0.75f, true);
+    private long totalBytes = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private static final class CacheEntry {
+        final String sid;
+        final String fingerprint;
+        final File file;
+        final long size;
+        final long expiresAt;
+
+        CacheEntry(String sid, String fingerprint, File file, long size, long expiresAt) {
+            this.sid = sid;
+            this.fingerprint = fingerprint;
+            this.file = file;
+            this.size = size;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Creates a results cache.
+     *
+     * @param directory The directory to store results in. It is created if it
+     * does not exist. It may be shared with other files.
+     * @param maxBytes The maximum number of bytes to keep on disk.
+     */
+    public JobResultsCache(File directory, long maxBytes) {
+        if (maxBytes <= 0)
+            throw new IllegalArgumentException("maxBytes must be positive.");
+        if (!directory.isDirectory() && !directory.mkdirs())
+            throw new IllegalArgumentException(
+                    "Cannot create cache directory " + directory);
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+
+        File[] leftovers = directory.listFiles();
+        if (leftovers != null) {
+            for (File file : leftovers) {
+                String name = file.getName();
+                if (name.startsWith(PREFIX)
+                        && (name.endsWith(SUFFIX) || name.endsWith(PARTIAL_SUFFIX)))
+                    file.delete();
+            }
+        }
+    }
+
+    /**
+     * Sets how long to keep results of jobs that do not report a {@code ttl}.
+     * The default is ten minutes.
+     *
+     * @param ttlMillis The time to keep results, in milliseconds.
+     */
+    public void setDefaultTtl(long ttlMillis) {
+        this.defaultTtlMillis = ttlMillis;
+    }
+
+    /**
+     * Returns the results of a job, from the cache if they are stored there,
+     * otherwise from the server while storing them.
+     *
+     * @param job The job, which must be done.
+     * @param args The arguments for the results request, or {@code null}.
+     * @return The results stream.
+     */
+    InputStream open(Job job, Map args) {
+        String sid = job.getSid();
+        String key = key(sid, args);
+        String fingerprint = job.getResultsFingerprint();
+
+        CacheEntry entry = lookup(key, sid, fingerprint);
+        if (entry != null) {
+            try {
+                InputStream stream = map(entry.file);
+                hits.incrementAndGet();
+                return stream;
+            } catch (IOException e) {
+                // The file went away underneath us; fetch it again.
+                remove(key);
+            }
+        }
+
+        misses.incrementAndGet();
+        InputStream source = job.fetchResults(args);
+        long ttlMillis = job.getInteger("ttl", -1) > 0
+                ? job.getInteger("ttl", -1) * 1000L
+                : defaultTtlMillis;
+        File partial = new File(directory, PREFIX + digest(key) + "-" + System.nanoTime() + PARTIAL_SUFFIX);
+        OutputStream sink;
+        try {
+            sink = new FileOutputStream(partial);
+        } catch (IOException e) {
+            // Caching is best effort; serve the download directly.
+            return source;
+        }
+        return new TeeInputStream(source, sink, partial, key, sid, fingerprint, ttlMillis);
+    }
+
+    /**
+     * Drops every stored result of a job.
+     *
+     * @param sid The search ID of the job.
+     */
+    public synchronized void invalidate(String sid) {
+        Iterator<Map.Entry<String, CacheEntry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            CacheEntry entry = it.next().getValue();
+            if (entry.sid.equals(sid)) {
+                it.remove();
+                discard(entry);
+            }
+        }
+    }
+
+    /**
+     * Drops every stored result.
+     */
+    public synchronized void clear() {
+        for (CacheEntry entry : entries.values()) {
+            discard(entry);
+        }
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of results stored in the cache.
+     *
+     * @return The number of entries.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of bytes stored in the cache.
+     *
+     * @return The number of bytes.
+     */
+    public synchronized long getSizeInBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Returns the number of reads served from the cache.
+     *
+     * @return The number of hits.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of reads that went to the server.
+     *
+     * @return The number of misses.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of entries evicted to stay under the size limit.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    private synchronized CacheEntry lookup(String key, String sid, String fingerprint) {
+        // A job re-run under the same SID makes all of its stored results stale.
+        for (CacheEntry entry : new ArrayList<CacheEntry>(entries.values())) {
+            if (entry.sid.equals(sid) && !entry.fingerprint.equals(fingerprint)) {
+                invalidate(sid);
+                return null;
+            }
+        }
+        CacheEntry entry = entries.get(key);
+        if (entry == null) return null;
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized void store(String key, CacheEntry entry) {
+        if (entry.size > maxBytes) {
+            entry.file.delete();
+            return;
+        }
+        CacheEntry previous = entries.remove(key);
+        if (previous != null) discard(previous);
+
+        entries.put(key, entry);
+        totalBytes += entry.size;
+
+        List<String> victims = new ArrayList<String>();
+        long bytes = totalBytes;
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, CacheEntry> e : entries.entrySet()) {
+            if (e.getValue().expiresAt <= now) {
+                victims.add(e.getKey());
+                bytes -= e.getValue().size;
+            }
+        }
+        for (Map.Entry<String, CacheEntry> e : entries.entrySet()) {
+            if (bytes <= maxBytes) break;
+            if (e.getValue().expiresAt > now && !e.getKey().equals(key)) {
+                victims.add(e.getKey());
+                bytes -= e.getValue().size;
+                evictions.incrementAndGet();
+            }
+        }
+        for (String victim : victims) {
+            remove(victim);
+        }
+    }
+
+    private synchronized void remove(String key) {
+        CacheEntry entry = entries.remove(key);
+        if (entry != null) discard(entry);
+    }
+
+    // Caller holds the lock and has already unlinked the entry from the map.
+    private void discard(CacheEntry entry) {
+        totalBytes -= entry.size;
+        entry.file.delete();
+    }
+
+    static String key(String sid, Map args) {
+        Map<String, Object> sorted = new TreeMap<String, Object>();
+        if (args != null) sorted.putAll(args);
+        // Fill in the defaults the request would use, so that omitting an
+        // argument and passing its default share an entry.
+        if (!sorted.containsKey("output_mode")) sorted.put("output_mode", "xml");
+        if (!sorted.containsKey("segmentation")) sorted.put("segmentation", "none");
+        return sid + "?" + Args.encode(sorted);
+    }
+
+    private static String digest(String key) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha.digest(key.getBytes("UTF-8"));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static InputStream map(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            long size = raf.length();
+            if (size > Integer.MAX_VALUE) {
+                // Too large for a single mapping; stream it instead.
+                return new FileInputStream(file);
+            }
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new ByteBufferInputStream(buffer);
+        } finally {
+            raf.close(); // The mapping stays valid after the channel closes.
+        }
+    }
+
+    /**
+     * Reads from a byte buffer, such as a memory-mapped file.
+     */
+    static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /** Returns the unread bytes, which reading from it consumes. */
+        ByteBuffer buffer() {
+            return buffer;
+        }
+
+        @Override public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, n);
+            return n;
+        }
+
+        @Override public long skip(long n) {
+            int skipped = (int)Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Copies everything read from the server to a partial file, and stores
+     * the file in the cache once the stream has been read to the end. A
+     * stream closed within {@link #DRAIN_LIMIT} bytes of its end is read to
+     * the end first; one closed earlier is discarded.
+     */
+    private final class TeeInputStream extends FilterInputStream {
+        private final OutputStream sink;
+        private final File partial;
+        private final String key;
+        private final String sid;
+        private final String fingerprint;
+        private final long ttlMillis;
+        private long size = 0;
+        private boolean failed = false;
+        private boolean finished = false;
+
+        TeeInputStream(InputStream source, OutputStream sink, File partial,
+                       String key, String sid, String fingerprint, long ttlMillis) {
+            super(source);
+            this.sink = sink;
+            this.partial = partial;
+            this.key = key;
+            this.sid = sid;
+            this.fingerprint = fingerprint;
+            this.ttlMillis = ttlMillis;
+        }
+
+        @Override public int read() throws IOException {
+            int b = super.read();
+            if (b == -1) {
+                finish();
+            } else {
+                write(new byte[] { (byte)b }, 0, 1);
+            }
+            return b;
+        }
+
+        @Override public int read(byte[] bytes, int offset, int length) throws IOException {
+            int n = super.read(bytes, offset, length);
+            if (n == -1) {
+                finish();
+            } else {
+                write(bytes, offset, n);
+            }
+            return n;
+        }
+
+        @Override public long skip(long n) throws IOException {
+            // Skipped bytes must still reach the file.
+            byte[] scratch = new byte[(int)Math.min(n, 8192)];
+            long skipped = 0;
+            while (skipped < n) {
+                int r = read(scratch, 0, (int)Math.min(scratch.length, n - skipped));
+                if (r == -1) break;
+                skipped += r;
+            }
+            return skipped;
+        }
+
+        @Override public boolean markSupported() {
+            return false;
+        }
+
+        @Override public void close() throws IOException {
+            try {
+                if (!finished && !failed) {
+                    // Readers stop after the last event without reading the
+                    // trailer; fetch that much so the download is complete,
+                    // but not the rest of a download abandoned midway.
+                    byte[] rest = new byte[8192];
+                    long drained = 0;
+                    int n;
+                    while (drained < DRAIN_LIMIT
+                            && (n = read(rest, 0, (int)Math.min(rest.length, DRAIN_LIMIT - drained))) != -1) {
+                        drained += n;
+                    }
+                }
+            } catch (IOException e) {
+                failed = true;
+            } finally {
+                try {
+                    super.close();
+                } finally {
+                    if (!finished) {
+                        finished = true;
+                        closeSink();
+                        partial.delete();
+                    }
+                }
+            }
+        }
+
+        private void write(byte[] bytes, int offset, int length) {
+            if (failed) return;
+            try {
+                sink.write(bytes, offset, length);
+                size += length;
+            } catch (IOException e) {
+                failed = true;
+            }
+        }
+
+        private void finish() {
+            if (finished) return;
+            finished = true;
+            closeSink();
+            if (failed) {
+                partial.delete();
+                return;
+            }
+            // Each download gets its own file, so a reader still mapping an
+            // older copy is unaffected when it is replaced.
+            File target = new File(directory, PREFIX + digest(key) + "-" + System.nanoTime() + SUFFIX);
+            if (!partial.renameTo(target)) {
+                partial.delete();
+                return;
+            }
+            store(key, new CacheEntry(sid, fingerprint, target, size,
+                    System.currentTimeMillis() + ttlMillis));
+        }
+
+        private void closeSink() {
+            try {
+                sink.close();
+            } catch (IOException e) {
+                failed = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,400 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The {@code JobStatus} class is an immutable snapshot of the status of a
+ * search job, taken from a single response of the server.
+ * <p>
+ * Every property is parsed once, when the snapshot is taken, so reading
+ * properties costs no requests and no conversions. Snapshots can be shared
+ * between threads, and {@link #changesSince} lists the properties that
+ * differ between two snapshots of the same job.
+ * <p>
+ * Take a snapshot of one job with {@link Job#getStatus}, or of many jobs at
+ * once with {@link Service#getJobStatuses}.
+ */
+public final class JobStatus {
+    private final String sid;
+    private final String published;
+    private final String dispatchState;
+    private final boolean done;
+    private final boolean failed;
+    private final boolean paused;
+    private final boolean finalized;
+    private final boolean zombie;
+    private final boolean realTimeSearch;
+    private final float doneProgress;
+    private final float runDuration;
+    private final long eventCount;
+    private final long eventAvailableCount;
+    private final long resultCount;
+    private final long scanCount;
+    private final long dropCount;
+    private final long diskUsage;
+    private final int priority;
+    private final int ttl;
+    private final long cursorTime;
+    private final long earliestTime;
+    private final long latestTime;
+
+    // Marks a time the server did not report.
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    JobStatus(Record content, String published) {
+        this.sid = string(content, "sid");
+        this.published = published;
+        String state = string(content, "dispatchState");
+        this.dispatchState = state == null ? "QUEUED" : state;
+        this.done = bool(content, "isDone");
+        this.failed = bool(content, "isFailed");
+        this.paused = bool(content, "isPaused");
+        this.finalized = bool(content, "isFinalized");
+        this.zombie = bool(content, "isZombie");
+        this.realTimeSearch = bool(content, "isRealTimeSearch");
+        this.doneProgress = number(content, "doneProgress");
+        this.runDuration = number(content, "runDuration");
+        this.eventCount = count(content, "eventCount");
+        this.eventAvailableCount = count(content, "eventAvailableCount");
+        this.resultCount = count(content, "resultCount");
+        this.scanCount = count(content, "scanCount");
+        this.dropCount = count(content, "dropCount");
+        this.diskUsage = count(content, "diskUsage");
+        this.priority = (int)count(content, "priority");
+        this.ttl = (int)count(content, "ttl");
+        this.cursorTime = time(content, "cursorTime");
+        this.earliestTime = time(content, "earliestTime");
+        this.latestTime = time(content, "latestTime");
+    }
+
+    /**
+     * Returns the job's search ID.
+     *
+     * @return The SID.
+     */
+    public String getSid() {
+        return sid;
+    }
+
+    /**
+     * Returns the job's publication time as reported by the server, which
+     * changes when the job is re-run under the same SID.
+     *
+     * @return The publication time, or {@code null} if not reported.
+     */
+    public String getPublished() {
+        return published;
+    }
+
+    /**
+     * Returns the dispatch state: QUEUED, PARSING, RUNNING, PAUSED,
+     * FINALIZING, FAILED, or DONE.
+     *
+     * @return The dispatch state.
+     */
+    public String getDispatchState() {
+        return dispatchState;
+    }
+
+    /**
+     * Indicates whether the job is done.
+     *
+     * @return {@code true} if the job is done.
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Indicates whether the job failed.
+     *
+     * @return {@code true} if the job failed.
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Indicates whether the job is paused.
+     *
+     * @return {@code true} if the job is paused.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Indicates whether the job was finalized (forced to finish).
+     *
+     * @return {@code true} if the job was finalized.
+     */
+    public boolean isFinalized() {
+        return finalized;
+    }
+
+    /**
+     * Indicates whether the job's process died without finishing it.
+     *
+     * @return {@code true} if the job is a zombie.
+     */
+    public boolean isZombie() {
+        return zombie;
+    }
+
+    /**
+     * Indicates whether the job is a real-time search.
+     *
+     * @return {@code true} if the job is a real-time search.
+     */
+    public boolean isRealTimeSearch() {
+        return realTimeSearch;
+    }
+
+    /**
+     * Returns the approximate progress of the job, from 0.0 to 1.0.
+     *
+     * @return The progress.
+     */
+    public float getDoneProgress() {
+        return doneProgress;
+    }
+
+    /**
+     * Returns the time the job has run.
+     *
+     * @return The run duration, in seconds.
+     */
+    public float getRunDuration() {
+        return runDuration;
+    }
+
+    /**
+     * Returns the number of events the job has returned.
+     *
+     * @return The event count.
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Returns the number of events available from the events endpoint.
+     *
+     * @return The available event count.
+     */
+    public long getEventAvailableCount() {
+        return eventAvailableCount;
+    }
+
+    /**
+     * Returns the number of results the job has produced.
+     *
+     * @return The result count.
+     */
+    public long getResultCount() {
+        return resultCount;
+    }
+
+    /**
+     * Returns the number of events the job has scanned.
+     *
+     * @return The scan count.
+     */
+    public long getScanCount() {
+        return scanCount;
+    }
+
+    /**
+     * Returns the number of events dropped by a real-time search.
+     *
+     * @return The drop count.
+     */
+    public long getDropCount() {
+        return dropCount;
+    }
+
+    /**
+     * Returns the disk space used by the job.
+     *
+     * @return The disk usage, in bytes.
+     */
+    public long getDiskUsage() {
+        return diskUsage;
+    }
+
+    /**
+     * Returns the job's priority, from 0 to 10.
+     *
+     * @return The priority.
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Returns the job's time to live.
+     *
+     * @return The time to live, in seconds.
+     */
+    public int getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Returns the earliest time from which no events are later scanned.
+     *
+     * @return The cursor time, or {@code null} if not reported.
+     */
+    public Date getCursorTime() {
+        return date(cursorTime);
+    }
+
+    /**
+     * Returns the earliest time in the job's time range.
+     *
+     * @return The earliest time, or {@code null} if not reported.
+     */
+    public Date getEarliestTime() {
+        return date(earliestTime);
+    }
+
+    /**
+     * Returns the latest time in the job's time range.
+     *
+     * @return The latest time, or {@code null} if not reported.
+     */
+    public Date getLatestTime() {
+        return date(latestTime);
+    }
+
+    /**
+     * Returns the names of the properties that differ from an earlier
+     * snapshot of the same job, such as {@code "dispatchState"} or
+     * {@code "resultCount"}. The names are those of the job's REST
+     * properties.
+     *
+     * @param previous The earlier snapshot, or {@code null}.
+     * @return The names of the changed properties; every property if
+     * {@code previous} is {@code null}.
+     */
+    public Set<String> changesSince(JobStatus previous) {
+        Set<String> changes = new LinkedHashSet<String>();
+        JobStatus p = previous;
+        if (p == null || !equal(sid, p.sid)) changes.add("sid");
+        if (p == null || !equal(published, p.published)) changes.add("published");
+        if (p == null || !dispatchState.equals(p.dispatchState)) changes.add("dispatchState");
+        if (p == null || done != p.done) changes.add("isDone");
+        if (p == null || failed != p.failed) changes.add("isFailed");
+        if (p == null || paused != p.paused) changes.add("isPaused");
+        if (p == null || finalized != p.finalized) changes.add("isFinalized");
+        if (p == null || zombie != p.zombie) changes.add("isZombie");
+        if (p == null || realTimeSearch != p.realTimeSearch) changes.add("isRealTimeSearch");
+        if (p == null || Float.compare(doneProgress, p.doneProgress) != 0) changes.add("doneProgress");
+        if (p == null || Float.compare(runDuration, p.runDuration) != 0) changes.add("runDuration");
+        if (p == null || eventCount != p.eventCount) changes.add("eventCount");
+        if (p == null || eventAvailableCount != p.eventAvailableCount) changes.add("eventAvailableCount");
+        if (p == null || resultCount != p.resultCount) changes.add("resultCount");
+        if (p == null || scanCount != p.scanCount) changes.add("scanCount");
+        if (p == null || dropCount != p.dropCount) changes.add("dropCount");
+        if (p == null || diskUsage != p.diskUsage) changes.add("diskUsage");
+        if (p == null || priority != p.priority) changes.add("priority");
+        if (p == null || ttl != p.ttl) changes.add("ttl");
+        if (p == null || cursorTime != p.cursorTime) changes.add("cursorTime");
+        if (p == null || earliestTime != p.earliestTime) changes.add("earliestTime");
+        if (p == null || latestTime != p.latestTime) changes.add("latestTime");
+        return changes;
+    }
+
+    @Override public boolean equals(Object other) {
+        return other instanceof JobStatus && changesSince((JobStatus)other).isEmpty();
+    }
+
+    @Override public int hashCode() {
+        int hash = sid == null ? 0 : sid.hashCode();
+        hash = 31 * hash + dispatchState.hashCode();
+        hash = 31 * hash + Float.floatToIntBits(doneProgress);
+        hash = 31 * hash + (int)(scanCount ^ (scanCount >>> 32));
+        hash = 31 * hash + (int)(resultCount ^ (resultCount >>> 32));
+        return hash;
+    }
+
+    @Override public String toString() {
+        return sid + " " + dispatchState + " " + Math.round(doneProgress * 100) + "% "
+                + resultCount + " results";
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static Date date(long millis) {
+        return millis == NO_TIME ? null : new Date(millis);
+    }
+
+    private static String string(Record content, String key) {
+        Object value = content.get(key);
+        return value == null ? null : value.toString();
+    }
+
+    private static boolean bool(Record content, String key) {
+        String value = string(content, key);
+        return value != null && Value.toBoolean(value);
+    }
+
+    private static float number(Record content, String key) {
+        String value = string(content, key);
+        if (value == null) return 0;
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static long count(Record content, String key) {
+        String value = string(content, key);
+        if (value == null) return 0;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            // Some counts are reported as decimals.
+            return (long)number(content, key);
+        }
+    }
+
+    private static long time(Record content, String key) {
+        String value = string(content, key);
+        if (value == null || value.isEmpty()) return NO_TIME;
+        try {
+            // Jobs report ISO 8601 times, which parse without the shared,
+            // synchronized formats of Value.toDate.
+            return OffsetDateTime.parse(value).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            try {
+                return Value.toDate(value).getTime();
+            } catch (RuntimeException f) {
+                return NO_TIME;
+            }
+        }
+    }
+}
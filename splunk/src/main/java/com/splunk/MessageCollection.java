@@ -54,4 +54,15 @@ public class MessageCollection extends EntityCollection<Message> {
         Args args = new Args("value", value);
         return create(name, args);
     }
+
+    /**
+     * Watches the system messages for new and removed messages. New
+     * messages are found by their creation time.
+     *
+     * @param listener The listener to notify of changes.
+     * @return The running watcher; close it to stop polling.
+     */
+    public CollectionWatcher<Message> watch(CollectionChangeListener<Message> listener) {
+        return watch("timeCreated_epochSecs", listener);
+    }
 }
@@ -297,12 +297,12 @@ public class OutputDefault extends Entity {
     /**
      * {@inheritDoc}
      */
-    @Override public void update(Map<String, Object> args) {
+    @Override Map<String, Object> updateArgs(Map<String, Object> args) {
         // Add required arguments if not already present
         if (!args.containsKey("name")) {
             args = Args.create(args).add("name", "tcpout");
         }
-        super.update(args);
+        return args;
     }
 
     /**
@@ -204,12 +204,12 @@ public class OutputGroup extends Entity {
     /**
      * {@inheritDoc}
      */
-    @Override public void update(Map<String, Object> args) {
+    @Override Map<String, Object> updateArgs(Map<String, Object> args) {
         // Add required arguments if not already present
         if (!args.containsKey("servers")) {
             args = Args.create(args).add("servers", getString("servers"));
         }
-        super.update(args);
+        return args;
     }
 
     /**
@@ -0,0 +1,465 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The {@code ParallelExport} class runs one export search as several
+ * concurrent exports over consecutive slices of its time range, and returns
+ * the events of all slices as one stream.
+ * <p>
+ * The search's {@code earliest_time} must be absolute, either in epoch
+ * seconds or in ISO 8601 format; {@code latest_time} may be absolute or
+ * omitted, which means now. The range is split into equal slices, and each
+ * slice is exported on its own connection. This only suits searches whose
+ * results can be split by time, such as searches without transforming
+ * commands.
+ * <p>
+ * Events are returned either as soon as any slice produces them, or, when
+ * {@link #setOrdered ordered}, through a merge of the slices by
+ * {@code _time}, newest first as the export endpoint returns them. Events
+ * waiting to be returned are limited by a memory budget: a slice whose
+ * events are not being consumed pauses its export once the budget is used,
+ * while every slice may always hold one event so that the merge can
+ * proceed.
+ * <p>
+ * A slice whose export fails is retried, skipping the events it already
+ * produced; this assumes the slice's events come back in the same order,
+ * which is the case for historical event searches.
+ * <p>
+ * For example:
+ * <pre>
+ * Map&lt;String, Object&gt; args = new HashMap&lt;String, Object&gt;();
+ * args.put("earliest_time", "2026-01-01T00:00:00Z");
+ * args.put("latest_time", "2026-02-01T00:00:00Z");
+ * ParallelExport export = service.exportInParallel("search index=main", args);
+ * export.setSlices(8);
+ * try {
+ *     for (Event event : export.start()) {
+ *         process(event);
+ *     }
+ * } finally {
+ *     export.close();
+ * }
+ * </pre>
+ */
+public class ParallelExport implements Iterator<Event>, Iterable<Event>, Closeable {
+    /** The default memory budget for events waiting to be returned. */
+    public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    private final Service service;
+    private final String search;
+    private final Map<String, Object> args;
+
+    private int sliceCount = 4;
+    private boolean ordered = false;
+    private int maxRetries = 2;
+    private long retryDelayMillis = 1000;
+    private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+
+    private final List<Slice> slices = new ArrayList<Slice>();
+    private ExecutorService executor = null;
+    // Guarded by this.
+    private long bufferedBytes = 0;
+    private int nextSlice = 0;
+    private boolean closed = false;
+
+    /**
+     * Creates a parallel export. Nothing runs until {@link #start} is called.
+     *
+     * @param service The service to export from.
+     * @param search The search query to run.
+     * @param args Additional search arguments, as for
+     * {@link Service#export(String, Map)}, including {@code earliest_time}.
+     */
+    public ParallelExport(Service service, String search, Map args) {
+        this.service = service;
+        this.search = search;
+        this.args = new HashMap<String, Object>();
+        if (args != null) {
+            this.args.putAll(args);
+        }
+    }
+
+    /**
+     * Sets the number of slices, which are exported concurrently. The
+     * default is 4.
+     *
+     * @param slices The number of slices.
+     */
+    public void setSlices(int slices) {
+        if (slices <= 0)
+            throw new IllegalArgumentException("The number of slices must be positive.");
+        this.sliceCount = slices;
+    }
+
+    /**
+     * Sets whether events are merged by {@code _time}, newest first, or
+     * returned as soon as any slice produces them. The default is
+     * unordered, which is faster.
+     *
+     * @param ordered {@code true} to merge by time.
+     */
+    public void setOrdered(boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    /**
+     * Sets how many times a failed slice is retried, and the delay before
+     * each retry. The defaults are 2 retries after 1 second.
+     *
+     * @param retries The number of retries.
+     * @param delayMillis The delay before a retry, in milliseconds.
+     */
+    public void setRetries(int retries, long delayMillis) {
+        if (retries < 0 || delayMillis < 0)
+            throw new IllegalArgumentException("Invalid retry settings.");
+        this.maxRetries = retries;
+        this.retryDelayMillis = delayMillis;
+    }
+
+    /**
+     * Sets the approximate memory, in bytes, that events waiting to be
+     * returned may use. The default is 64 MB.
+     *
+     * @param bytes The budget.
+     */
+    public void setMemoryBudget(long bytes) {
+        if (bytes <= 0)
+            throw new IllegalArgumentException("The memory budget must be positive.");
+        this.memoryBudget = bytes;
+    }
+
+    /**
+     * Splits the time range and starts exporting every slice.
+     *
+     * @return This export.
+     */
+    public synchronized ParallelExport start() {
+        if (closed)
+            throw new IllegalStateException("The export is closed.");
+        if (executor != null)
+            return this;
+        Object earliest = args.get("earliest_time");
+        if (earliest == null)
+            throw new IllegalArgumentException("A parallel export requires an earliest_time.");
+        Object latest = args.get("latest_time");
+        long start = toMillis(earliest.toString());
+        long end = latest == null ? System.currentTimeMillis() : toMillis(latest.toString());
+        if (end <= start)
+            throw new IllegalArgumentException("The latest_time must be after the earliest_time.");
+
+        // The newest slice first, the order in which events are exported.
+        long width = Math.max(1, (end - start + sliceCount - 1) / sliceCount);
+        for (long sliceEnd = end; sliceEnd > start; sliceEnd -= width) {
+            slices.add(new Slice(Math.max(start, sliceEnd - width), sliceEnd));
+        }
+        executor = Executors.newFixedThreadPool(slices.size(),
+                Util.daemonThreadFactory("splunk-parallel-export"));
+        for (final Slice slice : slices) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    slice.run();
+                }
+            });
+        }
+        return this;
+    }
+
+    /**
+     * Returns this export, so it can be used in a for-each loop. Starts the
+     * export if needed.
+     *
+     * @return This export.
+     */
+    public Iterator<Event> iterator() {
+        return start();
+    }
+
+    /**
+     * Returns whether another event is available, waiting for the slices if
+     * needed.
+     *
+     * @return {@code true} if there is another event.
+     * @throws RuntimeException If a slice failed after its retries.
+     */
+    public synchronized boolean hasNext() {
+        if (closed)
+            return false;
+        start();
+        try {
+            while (true) {
+                if (closed)
+                    return false;
+                boolean waiting = false;
+                for (Slice slice : slices) {
+                    if (slice.error != null)
+                        throw new RuntimeException("Exporting a slice failed: " + slice.error.getMessage(), slice.error);
+                    // An ordered merge needs the head of every unfinished slice.
+                    if (slice.queue.isEmpty() && !slice.finished && ordered)
+                        waiting = true;
+                }
+                if (!waiting && pick() != null)
+                    return true;
+                boolean finished = true;
+                for (Slice slice : slices) {
+                    finished &= slice.finished && slice.queue.isEmpty();
+                }
+                if (finished)
+                    return false;
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            SplunkException f = new SplunkException(
+                    SplunkException.INTERRUPTED, "The parallel export was interrupted.");
+            f.initCause(e);
+            throw f;
+        }
+    }
+
+    /**
+     * Returns the next event, waiting for the slices if needed.
+     *
+     * @return The next event.
+     */
+    public synchronized Event next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Slice slice = pick();
+        Buffered buffered = slice.queue.poll();
+        bufferedBytes -= buffered.bytes;
+        nextSlice = (slices.indexOf(slice) + 1) % slices.size();
+        notifyAll();
+        return buffered.event;
+    }
+
+    /**
+     * Unsupported.
+     */
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Stops every slice's export.
+     */
+    public void close() {
+        List<Slice> running;
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            running = new ArrayList<Slice>(slices);
+            notifyAll();
+        }
+        for (Slice slice : running) {
+            slice.closeStream();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    // The slice whose head is returned next, or null if no slice has one.
+    private Slice pick() {
+        Slice best = null;
+        for (int i = 0; i < slices.size(); i++) {
+            Slice slice = slices.get((nextSlice + i) % slices.size());
+            if (slice.queue.isEmpty()) continue;
+            if (!ordered) return slice;
+            if (best == null || slice.queue.peek().time > best.queue.peek().time) best = slice;
+        }
+        return best;
+    }
+
+    private synchronized boolean offer(Slice slice, Event event) throws InterruptedException {
+        long bytes = estimateSize(event);
+        // Every slice may hold one event, so that the merge never stalls.
+        while (!closed && !slice.queue.isEmpty() && bufferedBytes + bytes > memoryBudget) {
+            wait();
+        }
+        if (closed) return false;
+        slice.queue.add(new Buffered(event, eventTime(event), bytes));
+        bufferedBytes += bytes;
+        notifyAll();
+        return true;
+    }
+
+    private synchronized void finish(Slice slice, Exception error) {
+        slice.finished = true;
+        slice.error = error;
+        notifyAll();
+    }
+
+    static long estimateSize(Event event) {
+        long bytes = 64;
+        for (Map.Entry<String, String> field : event.entrySet()) {
+            bytes += 48 + 2L * (field.getKey().length() + field.getValue().length());
+        }
+        return bytes;
+    }
+
+    static long eventTime(Event event) {
+        String time = event.get("_time");
+        if (time == null) return Long.MIN_VALUE;
+        try {
+            return toMillis(time);
+        } catch (IllegalArgumentException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Converts an absolute time, in epoch seconds or ISO 8601 format, to
+     * epoch milliseconds.
+     */
+    static long toMillis(String time) {
+        try {
+            return new BigDecimal(time).movePointRight(3).longValue();
+        } catch (NumberFormatException e) {
+            // Not epoch seconds.
+        }
+        try {
+            return OffsetDateTime.parse(time).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(
+                    "A parallel export requires absolute times, not " + time, e);
+        }
+    }
+
+    private static String toSeconds(long millis) {
+        return BigDecimal.valueOf(millis).movePointLeft(3).toPlainString();
+    }
+
+    /**
+     * An event waiting to be returned.
+     */
+    private static final class Buffered {
+        final Event event;
+        final long time;
+        final long bytes;
+
+        Buffered(Event event, long time, long bytes) {
+            this.event = event;
+            this.time = time;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * One time slice and its export.
+     */
+    private final class Slice {
+        final long earliest;
+        final long latest;
+        // Guarded by ParallelExport.this.
+        final ArrayDeque<Buffered> queue = new ArrayDeque<Buffered>();
+        boolean finished = false;
+        Exception error = null;
+        private volatile InputStream stream = null;
+        // The events delivered by every attempt so far.
+        private long produced = 0;
+
+        Slice(long earliest, long latest) {
+            this.earliest = earliest;
+            this.latest = latest;
+        }
+
+        void run() {
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    export();
+                    finish(this, null);
+                    return;
+                } catch (InterruptedException e) {
+                    finish(this, null);
+                    return;
+                } catch (Exception e) {
+                    synchronized (ParallelExport.this) {
+                        if (closed) {
+                            finish(this, null);
+                            return;
+                        }
+                    }
+                    // Requests the server rejects fail the same way again.
+                    boolean rejected = e instanceof HttpException
+                            && ((HttpException)e).getStatus() < 500;
+                    if (rejected || attempt >= maxRetries) {
+                        finish(this, e);
+                        return;
+                    }
+                    try {
+                        Thread.sleep(retryDelayMillis);
+                    } catch (InterruptedException f) {
+                        finish(this, null);
+                        return;
+                    }
+                } finally {
+                    closeStream();
+                }
+            }
+        }
+
+        // Exports the slice, skipping the events earlier attempts produced.
+        private void export() throws IOException, InterruptedException {
+            Map<String, Object> sliceArgs = new HashMap<String, Object>(args);
+            sliceArgs.put("earliest_time", toSeconds(earliest));
+            sliceArgs.put("latest_time", toSeconds(latest));
+            sliceArgs.put("output_mode", "json");
+            stream = service.export(search, sliceArgs);
+            ResultsReaderJson reader = new ResultsReaderJson(stream);
+            long index = 0;
+            try {
+                Event event;
+                while ((event = reader.getNextEvent()) != null) {
+                    if (index++ < produced) continue;
+                    if (!offer(this, event)) return;
+                    produced++;
+                }
+            } catch (RuntimeException e) {
+                throw new IOException(e.getMessage(), e);
+            } finally {
+                reader.close();
+            }
+        }
+
+        void closeStream() {
+            InputStream current = stream;
+            if (current == null) return;
+            try {
+                current.close();
+            } catch (IOException e) {
+                // Nothing more to read either way.
+            }
+        }
+    }
+}
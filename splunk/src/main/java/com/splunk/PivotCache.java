@@ -0,0 +1,251 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code PivotCache} class keeps the compiled queries of pivot
+ * specifications, so that evaluating the same specification again does not
+ * ask splunkd to compile it again.
+ * <p>
+ * Entries are keyed by the name and version of the data model together with
+ * the canonical JSON of the specification, so two specifications built the
+ * same way share an entry regardless of the order of their JSON keys. When a
+ * {@link DataModel} is updated or removed through this SDK, the entries for
+ * it are dropped; a data model that is refreshed after being changed
+ * elsewhere has a new version, so it misses the old entries.
+ * <p>
+ * Get the cache for a service with {@link Service#getPivotCache()}. The
+ * cache holds at most {@link #DEFAULT_MAX_ENTRIES} entries unless configured
+ * otherwise, evicting the least recently used first, and is safe for use by
+ * multiple threads.
+ */
+public class PivotCache {
+    /** The default number of compiled pivots to keep. */
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+    private final LinkedHashMap<String, Entry> entries =
+            new LinkedHashMap<String, Entry>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private static final class Entry {
+        final String dataModel;
+        final Pivot pivot;
+
+        Entry(String dataModel, Pivot pivot) {
+            this.dataModel = dataModel;
+            this.pivot = pivot;
+        }
+    }
+
+    /**
+     * Class constructor.
+     */
+    PivotCache() {}
+
+    /**
+     * Sets the maximum number of compiled pivots to keep.
+     *
+     * @param maxEntries The maximum number of entries.
+     */
+    public synchronized void setMaxEntries(int maxEntries) {
+        if (maxEntries <= 0)
+            throw new IllegalArgumentException("maxEntries must be positive.");
+        this.maxEntries = maxEntries;
+        trim();
+    }
+
+    /**
+     * Returns the compiled pivot for a specification, compiling it on the
+     * server only if it is not already cached.
+     *
+     * @param specification The pivot specification.
+     * @return The compiled pivot.
+     */
+    public Pivot get(PivotSpecification specification) {
+        String key = key(specification);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits.incrementAndGet();
+                return entry.pivot;
+            }
+        }
+
+        misses.incrementAndGet();
+        Pivot pivot = specification.pivot();
+        synchronized (this) {
+            entries.put(key, new Entry(dataModelName(specification), pivot));
+            trim();
+        }
+        return pivot;
+    }
+
+    /**
+     * Runs a pivot specification, using its cached queries if it has already
+     * been compiled.
+     *
+     * @param specification The pivot specification.
+     * @param args Options for creating the job.
+     * @return The job running the pivot, accelerated if possible.
+     */
+    public Job run(PivotSpecification specification, JobArgs args) {
+        return get(specification).run(args);
+    }
+
+    /**
+     * Compiles a set of specifications ahead of time, so that the first
+     * evaluation of each one is served from the cache.
+     *
+     * @param specifications The pivot specifications.
+     * @return The number of specifications that had to be compiled.
+     */
+    public int warmUp(Collection<PivotSpecification> specifications) {
+        int compiled = 0;
+        for (PivotSpecification specification : specifications) {
+            if (!contains(specification)) {
+                get(specification);
+                compiled++;
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Indicates whether the compiled pivot for a specification is cached.
+     *
+     * @param specification The pivot specification.
+     * @return {@code true} if it is cached, {@code false} if not.
+     */
+    public synchronized boolean contains(PivotSpecification specification) {
+        return entries.containsKey(key(specification));
+    }
+
+    /**
+     * Drops every compiled pivot of a data model.
+     *
+     * @param dataModelName The name of the data model.
+     */
+    public synchronized void invalidate(String dataModelName) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().dataModel.equals(dataModelName)) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops every compiled pivot.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of compiled pivots in the cache.
+     *
+     * @return The number of entries.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of lookups served from the cache.
+     *
+     * @return The number of hits.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups that compiled a pivot on the server.
+     *
+     * @return The number of misses.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    // Caller holds the lock.
+    private void trim() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static String dataModelName(PivotSpecification specification) {
+        return specification.getDataModelObject().getDataModel().getName();
+    }
+
+    static String key(PivotSpecification specification) {
+        DataModel dataModel = specification.getDataModelObject().getDataModel();
+        StringBuilder key = new StringBuilder();
+        key.append(dataModel.getName()).append('\n');
+        key.append(dataModel.getVersion()).append('\n');
+        key.append(specification.getAccelerationNamespace()).append('\n');
+        key.append(canonical(specification.toJson()));
+        return key.toString();
+    }
+
+    /**
+     * Returns JSON text with the keys of every object in sorted order, so
+     * that equal specifications produce equal text.
+     */
+    static String canonical(JsonElement element) {
+        if (element.isJsonObject()) {
+            Map<String, JsonElement> sorted = new TreeMap<String, JsonElement>();
+            for (Map.Entry<String, JsonElement> member : ((JsonObject)element).entrySet()) {
+                sorted.put(member.getKey(), member.getValue());
+            }
+            StringBuilder builder = new StringBuilder("{");
+            for (Map.Entry<String, JsonElement> member : sorted.entrySet()) {
+                if (builder.length() > 1) builder.append(',');
+                builder.append(new JsonPrimitive(member.getKey()).toString());
+                builder.append(':').append(canonical(member.getValue()));
+            }
+            return builder.append('}').toString();
+        }
+        if (element.isJsonArray()) {
+            StringBuilder builder = new StringBuilder("[");
+            for (JsonElement item : (JsonArray)element) {
+                if (builder.length() > 1) builder.append(',');
+                builder.append(canonical(item));
+            }
+            return builder.append(']').toString();
+        }
+        return element.toString();
+    }
+}
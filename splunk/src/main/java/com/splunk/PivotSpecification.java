@@ -84,6 +84,13 @@ public class PivotSpecification {
         return this;
     }
 
+    /**
+     * @return the data model object this pivot is built on.
+     */
+    DataModelObject getDataModelObject() {
+        return this.dataModelObject;
+    }
+
     /**
      * @return the acceleration namespace to use in this pivot.
      */
@@ -50,17 +50,16 @@ abstract class PortInput extends Input {
     /**
      * {@inheritDoc}
      * 
-     * Overrides the {@code update} method to additionally update this input's 
-     * path if the {@code RestrictToHost} property is changed.
+     * Rejects changes to the {@code restrictToHost} property, which would
+     * move this input to another path.
      */
     @Override
-    public void update(Map<String, Object> args) {
+    Map<String, Object> updateArgs(Map<String, Object> args) {
         if (args.containsKey("restrictToHost")) {
             throw new UnsupportedOperationException(
                     "You cannot update the restrictToHost parameter " +
                     "on an existing input with the SDK.");
-        } else {
-            super.update(args);
         }
+        return args;
     }
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The {@code QuantileSketch} class estimates quantiles of a numeric field,
+ * like {@code perc95} or {@code median}, without keeping the values.
+ * <p>
+ * Values are counted in logarithmic buckets, so that every estimate is
+ * within a fixed relative error of a value that actually occurs at that rank
+ * (1% by default). Memory grows with the logarithm of the range of values,
+ * not with their number: about a thousand buckets cover six orders of
+ * magnitude at 1%. Values that are not numbers are ignored.
+ */
+public class QuantileSketch implements EventAggregator<QuantileSketch> {
+    /** The default relative accuracy of the estimates. */
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    // Magnitudes below this are counted as zero.
+    private static final double MIN_MAGNITUDE = 1e-300;
+
+    private final String field;
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    private final TreeMap<Integer, Long> positive = new TreeMap<Integer, Long>();
+    private final TreeMap<Integer, Long> negative = new TreeMap<Integer, Long>();
+    private long zeros = 0;
+    private long count = 0;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Creates a sketch of a numeric field with the default accuracy.
+     *
+     * @param field The field.
+     */
+    public QuantileSketch(String field) {
+        this(field, DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Creates a sketch of a numeric field.
+     *
+     * @param field The field.
+     * @param relativeAccuracy The relative error allowed, between 0 and 1.
+     */
+    public QuantileSketch(String field, double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1))
+            throw new IllegalArgumentException("The relative accuracy must be between 0 and 1.");
+        this.field = field;
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    /** {@inheritDoc} */
+    public void add(Event event) {
+        String value = event.get(field);
+        if (value == null) return;
+        try {
+            add(Double.parseDouble(value));
+        } catch (NumberFormatException e) {
+            // Not a number; ignore it.
+        }
+    }
+
+    /**
+     * Adds a value to the sketch.
+     *
+     * @param value The value.
+     */
+    public void add(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) return;
+        if (value >= MIN_MAGNITUDE) {
+            increment(positive, index(value), 1);
+        } else if (value <= -MIN_MAGNITUDE) {
+            increment(negative, index(-value), 1);
+        } else {
+            zeros++;
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /** {@inheritDoc} */
+    public void merge(QuantileSketch other) {
+        if (!field.equals(other.field) || relativeAccuracy != other.relativeAccuracy)
+            throw new IllegalArgumentException("Cannot merge sketches with different settings.");
+        for (Map.Entry<Integer, Long> bucket : other.positive.entrySet()) {
+            increment(positive, bucket.getKey(), bucket.getValue());
+        }
+        for (Map.Entry<Integer, Long> bucket : other.negative.entrySet()) {
+            increment(negative, bucket.getKey(), bucket.getValue());
+        }
+        zeros += other.zeros;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns an estimate of the value at a quantile.
+     *
+     * @param quantile The quantile, from 0 (the minimum) to 1 (the maximum);
+     * for example, 0.95 for the 95th percentile.
+     * @return The estimated value, or {@code NaN} if no values were added.
+     */
+    public double getQuantile(double quantile) {
+        if (quantile < 0 || quantile > 1)
+            throw new IllegalArgumentException("The quantile must be between 0 and 1.");
+        if (count == 0) return Double.NaN;
+        long rank = (long)Math.floor(quantile * (count - 1));
+        // The extremes are known exactly.
+        if (rank == 0) return min;
+        if (rank == count - 1) return max;
+
+        long seen = 0;
+        // Most negative values first, which are the largest magnitudes.
+        for (Map.Entry<Integer, Long> bucket : negative.descendingMap().entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) return clamp(-value(bucket.getKey()));
+        }
+        seen += zeros;
+        if (seen > rank) return 0;
+        for (Map.Entry<Integer, Long> bucket : positive.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) return clamp(value(bucket.getKey()));
+        }
+        return max;
+    }
+
+    /**
+     * Returns the number of values added.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the smallest value added.
+     *
+     * @return The minimum, or {@code NaN} if no values were added.
+     */
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    /**
+     * Returns the largest value added.
+     *
+     * @return The maximum, or {@code NaN} if no values were added.
+     */
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    private int index(double magnitude) {
+        return (int)Math.ceil(Math.log(magnitude) / logGamma);
+    }
+
+    // The value with the least relative error to every value in the bucket.
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    private double clamp(double value) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static void increment(TreeMap<Integer, Long> buckets, int index, long n) {
+        Long current = buckets.get(index);
+        buckets.put(index, current == null ? n : current + n);
+    }
+}
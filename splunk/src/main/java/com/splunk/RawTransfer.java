@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves the raw bytes of a result stream to a file or channel without
+ * parsing them.
+ * <p>
+ * Results served by the {@link JobResultsCache} are written straight from
+ * their memory-mapped file, so the bytes are not copied through the JVM heap
+ * at all. Any other stream is read through {@link Channels#newChannel}, which
+ * copies through a small heap array, into a single direct buffer that
+ * channels such as {@link FileChannel} write without another copy.
+ */
+final class RawTransfer {
+    private RawTransfer() {}
+
+    /**
+     * Writes a stream to a file, replacing its contents. The file is
+     * deleted if the transfer fails.
+     *
+     * @return The number of bytes written.
+     */
+    static long transfer(InputStream source, Path target, TransferOptions options) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            source.close();
+            throw e;
+        }
+        try {
+            long written = transfer(source, channel, options);
+            channel.close();
+            return written;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(target);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a stream to a channel, and closes the stream. The channel is
+     * left open.
+     *
+     * @return The number of bytes written.
+     */
+    static long transfer(InputStream source, WritableByteChannel target, TransferOptions options) throws IOException {
+        if (options == null) options = new TransferOptions();
+        try {
+            if (options.getCompression()) {
+                return compress(source, target, options);
+            }
+            if (source instanceof JobResultsCache.ByteBufferInputStream) {
+                return fromBuffer(((JobResultsCache.ByteBufferInputStream)source).buffer(), target, options);
+            }
+            return buffered(Channels.newChannel(source), target, options);
+        } finally {
+            source.close();
+        }
+    }
+
+    private static long fromBuffer(ByteBuffer source, WritableByteChannel target, TransferOptions options)
+            throws IOException {
+        long total = 0;
+        int end = source.limit();
+        while (source.hasRemaining()) {
+            source.limit(Math.min(end, source.position() + options.getBufferSize()));
+            while (source.hasRemaining()) {
+                total += target.write(source);
+            }
+            source.limit(end);
+            progress(options, total, total);
+        }
+        return total;
+    }
+
+    private static long buffered(ReadableByteChannel source, WritableByteChannel target, TransferOptions options)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(options.getBufferSize());
+        long total = 0;
+        while (source.read(buffer) != -1) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                total += target.write(buffer);
+            }
+            buffer.clear();
+            progress(options, total, total);
+        }
+        return total;
+    }
+
+    private static long compress(InputStream source, WritableByteChannel target, TransferOptions options)
+            throws IOException {
+        CountingChannel counted = new CountingChannel(target);
+        // Finished rather than closed below, so the target stays open.
+        GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(counted),
+                Math.min(options.getBufferSize(), 64 * 1024));
+        byte[] buffer = new byte[options.getBufferSize()];
+        long read = 0;
+        int count;
+        while ((count = source.read(buffer)) != -1) {
+            gzip.write(buffer, 0, count);
+            read += count;
+            progress(options, read, counted.written);
+        }
+        gzip.finish();
+        gzip.flush();
+        progress(options, read, counted.written);
+        return counted.written;
+    }
+
+    private static void progress(TransferOptions options, long read, long written) {
+        TransferListener listener = options.getListener();
+        if (listener != null) {
+            listener.onProgress(read, written);
+        }
+    }
+
+    /**
+     * Counts the bytes written through to a channel, without closing it.
+     */
+    private static final class CountingChannel implements WritableByteChannel {
+        private final WritableByteChannel target;
+        long written = 0;
+
+        CountingChannel(WritableByteChannel target) {
+            this.target = target;
+        }
+
+        public int write(ByteBuffer source) throws IOException {
+            int count = target.write(source);
+            written += count;
+            return count;
+        }
+
+        public boolean isOpen() {
+            return target.isOpen();
+        }
+
+        public void close() {
+            // The caller owns the target.
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code ReadAheadInputStream} class reads a stream on a background
+ * thread while the caller consumes what has already been read, so that
+ * network stalls and parsing overlap instead of adding up.
+ * <p>
+ * The background thread fills a fixed ring of reusable buffers; it waits
+ * when every buffer is full, and the reader waits when every buffer is
+ * empty. The counters report how often each side waited: many reader stalls
+ * mean the network is the bottleneck, many fill stalls mean the consumer is.
+ * <p>
+ * Wrap any results stream, or call {@link Service#setReadAhead} to have
+ * {@link Job#getResults}, {@link Job#getEvents}, and {@link Service#export}
+ * wrap theirs:
+ * <pre>
+ * ReadAheadInputStream stream = new ReadAheadInputStream(job.getResults(args));
+ * ResultsReaderXml reader = new ResultsReaderXml(stream);
+ * </pre>
+ */
+public class ReadAheadInputStream extends InputStream {
+    /** The default number of buffers. */
+    public static final int DEFAULT_BUFFER_COUNT = 8;
+
+    /** The default size of each buffer, in bytes. */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final Chunk END = new Chunk(0);
+
+    private final InputStream source;
+    private final int bufferCount;
+    private final BlockingQueue<Chunk> free;
+    private final BlockingQueue<Chunk> filled;
+    private final Thread filler;
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong readerStalls = new AtomicLong();
+    private final AtomicLong fillStalls = new AtomicLong();
+
+    private volatile IOException error = null;
+    private volatile boolean closed = false;
+
+    // Touched only by the reading thread.
+    private Chunk current = null;
+    private int position = 0;
+    private boolean ended = false;
+
+    /**
+     * Starts reading a stream ahead with the default buffers.
+     *
+     * @param source The stream to read, which is closed when this stream is
+     * closed.
+     */
+    public ReadAheadInputStream(InputStream source) {
+        this(source, DEFAULT_BUFFER_COUNT, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Starts reading a stream ahead.
+     *
+     * @param source The stream to read, which is closed when this stream is
+     * closed.
+     * @param bufferCount The number of buffers, at least 2.
+     * @param bufferSize The size of each buffer, in bytes.
+     */
+    public ReadAheadInputStream(InputStream source, int bufferCount, int bufferSize) {
+        if (bufferCount < 2 || bufferSize <= 0)
+            throw new IllegalArgumentException("Invalid read-ahead buffers.");
+        this.source = source;
+        this.bufferCount = bufferCount;
+        this.free = new ArrayBlockingQueue<Chunk>(bufferCount);
+        // One extra slot for the end marker.
+        this.filled = new ArrayBlockingQueue<Chunk>(bufferCount + 1);
+        for (int i = 0; i < bufferCount; i++) {
+            free.add(new Chunk(bufferSize));
+        }
+        this.filler = Util.daemonThreadFactory("splunk-read-ahead").newThread(new Runnable() {
+            public void run() {
+                fill();
+            }
+        });
+        filler.start();
+    }
+
+    /**
+     * Returns the number of buffers.
+     *
+     * @return The number of buffers.
+     */
+    public int getBufferCount() {
+        return bufferCount;
+    }
+
+    /**
+     * Returns the number of buffers holding data that has not been read yet.
+     *
+     * @return The number of full buffers.
+     */
+    public int getOccupancy() {
+        int occupancy = 0;
+        for (Chunk chunk : filled) {
+            if (chunk != END) occupancy++;
+        }
+        return occupancy;
+    }
+
+    /**
+     * Returns the number of bytes read from the underlying stream so far.
+     *
+     * @return The number of bytes.
+     */
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    /**
+     * Returns how many times a read had to wait for data, because every
+     * buffer was empty.
+     *
+     * @return The number of reader stalls.
+     */
+    public long getReaderStalls() {
+        return readerStalls.get();
+    }
+
+    /**
+     * Returns how many times the background thread had to wait for a
+     * buffer, because every buffer was full.
+     *
+     * @return The number of fill stalls.
+     */
+    public long getFillStalls() {
+        return fillStalls.get();
+    }
+
+    @Override public int read() throws IOException {
+        if (!advance())
+            return -1;
+        return current.bytes[position++] & 0xFF;
+    }
+
+    @Override public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0)
+            return 0;
+        if (!advance())
+            return -1;
+        int n = Math.min(length, current.length - position);
+        System.arraycopy(current.bytes, position, bytes, offset, n);
+        position += n;
+        return n;
+    }
+
+    @Override public int available() throws IOException {
+        if (current == null || ended) return 0;
+        return current.length - position;
+    }
+
+    /**
+     * Stops reading ahead and closes the underlying stream.
+     *
+     * @throws IOException If the underlying stream cannot be closed.
+     */
+    @Override public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        filler.interrupt();
+        source.close();
+    }
+
+    // Makes sure the current buffer has unread data. Returns false at the
+    // end of the stream.
+    private boolean advance() throws IOException {
+        if (closed)
+            throw new IOException("The stream is closed.");
+        while (!ended && (current == null || position >= current.length)) {
+            if (current != null) {
+                free.offer(current);
+                current = null;
+            }
+            Chunk next = filled.poll();
+            if (next == null) {
+                readerStalls.incrementAndGet();
+                try {
+                    next = filled.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while reading ahead.");
+                }
+            }
+            if (next == END) {
+                ended = true;
+            } else {
+                current = next;
+                position = 0;
+            }
+        }
+        if (ended && error != null)
+            throw error;
+        return !ended;
+    }
+
+    private void fill() {
+        try {
+            while (!closed) {
+                Chunk chunk = free.poll();
+                if (chunk == null) {
+                    fillStalls.incrementAndGet();
+                    chunk = free.take();
+                }
+                int n = source.read(chunk.bytes, 0, chunk.bytes.length);
+                if (n < 0) break;
+                // Fill the rest of the buffer with whatever has already
+                // arrived, without waiting for more.
+                while (n < chunk.bytes.length && source.available() > 0) {
+                    int more = source.read(chunk.bytes, n, chunk.bytes.length - n);
+                    if (more < 0) break;
+                    n += more;
+                }
+                chunk.length = n;
+                bytesRead.addAndGet(n);
+                filled.put(chunk);
+            }
+        } catch (InterruptedException e) {
+            // Closed.
+        } catch (IOException e) {
+            if (!closed) error = e;
+        } catch (Throwable e) {
+            // Anything else the source throws would otherwise end the
+            // stream as if it were complete.
+            if (!closed) error = new IOException("Reading ahead failed.", e);
+        } finally {
+            filled.offer(END);
+        }
+    }
+
+    /**
+     * A reusable buffer and the number of bytes it holds.
+     */
+    private static final class Chunk {
+        final byte[] bytes;
+        int length = 0;
+
+        Chunk(int size) {
+            this.bytes = new byte[size];
+        }
+    }
+}
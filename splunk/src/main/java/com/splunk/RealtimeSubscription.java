@@ -0,0 +1,278 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code RealtimeSubscription} class follows the results of a real-time
+ * search and pushes only what changed between consecutive previews to a
+ * {@link ResultsDeltaListener}.
+ * <p>
+ * The subscription polls the job's status on an adaptive schedule: it
+ * downloads a preview only when the job reports a new one, polls again soon
+ * after a preview that changed something, and backs off towards the maximum
+ * interval while nothing changes. Each preview is diffed against the last
+ * one, so listeners see the rows that were added, changed, or removed.
+ * <p>
+ * When the job finishes (for example, when it is finalized or cancelled),
+ * the subscription reads the final results, delivers a last delta marked
+ * {@link ResultsDelta#isFinal final}, and stops.
+ * <p>
+ * Create a subscription with {@link Job#subscribe}, or construct one,
+ * configure it, and call {@link #start}.
+ */
+public class RealtimeSubscription implements Closeable {
+    private final Job job;
+    private final ResultsDeltaListener listener;
+    private final ScheduledExecutorService executor;
+
+    private volatile String[] keyFields = null;
+    private volatile long minIntervalMillis = 250;
+    private volatile long maxIntervalMillis = 5000;
+    private volatile Map<String, Object> previewArgs = new HashMap<String, Object>();
+
+    // Touched only by the polling thread.
+    private Map<String, Event> rows = new LinkedHashMap<String, Event>();
+    private int lastPreview = -1;
+    private long intervalMillis;
+
+    private volatile boolean started = false;
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a subscription to a real-time search job. Polling does not
+     * begin until {@link #start} is called.
+     *
+     * @param job The real-time search job.
+     * @param listener The listener to notify of changes.
+     */
+    public RealtimeSubscription(Job job, ResultsDeltaListener listener) {
+        this.job = job;
+        this.listener = listener;
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+                Util.daemonThreadFactory("splunk-realtime-subscription"));
+    }
+
+    /**
+     * Sets the fields that identify a row across previews. A row whose key
+     * fields match a row of the previous preview but whose other values
+     * differ is reported as changed. For a search such as
+     * {@code ... | stats count by host}, the key field is {@code host}.
+     * <p>
+     * By default, rows that carry the {@code _bkt} and {@code _cd} fields
+     * (raw events) are identified by them, and other rows by all of their
+     * values, so that they are only ever added or removed.
+     *
+     * @param fields The key fields.
+     */
+    public void setKeyFields(String... fields) {
+        this.keyFields = fields == null || fields.length == 0 ? null : fields.clone();
+    }
+
+    /**
+     * Sets the bounds of the polling interval. The subscription polls at the
+     * minimum interval while previews keep changing, and doubles the
+     * interval, up to the maximum, each time a poll finds nothing new. The
+     * defaults are 250 milliseconds and 5 seconds.
+     *
+     * @param minMillis The shortest interval, in milliseconds.
+     * @param maxMillis The longest interval, in milliseconds.
+     */
+    public void setPollInterval(long minMillis, long maxMillis) {
+        if (minMillis <= 0 || maxMillis < minMillis)
+            throw new IllegalArgumentException("Invalid polling interval bounds.");
+        this.minIntervalMillis = minMillis;
+        this.maxIntervalMillis = maxMillis;
+    }
+
+    /**
+     * Sets additional arguments for reading previews, such as {@code f} to
+     * limit the fields returned (see {@link JobResultsPreviewArgs}). The
+     * output mode and count are always set by the subscription.
+     *
+     * @param args The preview arguments.
+     */
+    public void setPreviewArgs(Map<String, Object> args) {
+        this.previewArgs = args == null
+                ? new HashMap<String, Object>()
+                : new HashMap<String, Object>(args);
+    }
+
+    /**
+     * Starts polling.
+     *
+     * @return This subscription.
+     */
+    public synchronized RealtimeSubscription start() {
+        if (closed)
+            throw new IllegalStateException("The subscription is closed.");
+        if (!started) {
+            started = true;
+            intervalMillis = minIntervalMillis;
+            executor.execute(new Runnable() {
+                public void run() {
+                    poll();
+                }
+            });
+        }
+        return this;
+    }
+
+    /**
+     * Indicates whether the subscription has stopped, either because it was
+     * closed, the job finished, or an error occurred.
+     *
+     * @return {@code true} if no further callbacks will be made.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Stops the subscription. The job itself is left running.
+     */
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+    }
+
+    private void poll() {
+        if (closed) return;
+        boolean changed;
+        try {
+            job.refresh();
+            if (!job.isReady()) {
+                changed = false;
+            } else if (job.getBoolean("isDone", false) || job.getBoolean("isFailed", false)) {
+                // The window no longer moves; deliver the final results and stop.
+                deliver(read(job.getResults(args())), true);
+                close();
+                return;
+            } else {
+                int preview = job.getInteger("numPreviews", 0);
+                if (preview == lastPreview) {
+                    changed = false;
+                } else {
+                    lastPreview = preview;
+                    changed = deliver(read(job.getResultsPreview(args())), false);
+                }
+            }
+        } catch (Exception e) {
+            if (closed) return; // Interrupted by close()
+            closed = true;
+            executor.shutdown();
+            listener.onError(e);
+            return;
+        }
+
+        intervalMillis = changed
+                ? minIntervalMillis
+                : Math.min(intervalMillis * 2, maxIntervalMillis);
+        if (!closed) {
+            executor.schedule(new Runnable() {
+                public void run() {
+                    poll();
+                }
+            }, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Map<String, Object> args() {
+        Map<String, Object> args = new HashMap<String, Object>(previewArgs);
+        args.put("output_mode", "json");
+        args.put("count", 0);
+        return args;
+    }
+
+    private Map<String, Event> read(InputStream stream) throws IOException {
+        Map<String, Event> next = new LinkedHashMap<String, Event>();
+        Map<String, Integer> occurrences = new HashMap<String, Integer>();
+        ResultsReaderJson reader = new ResultsReaderJson(stream);
+        try {
+            Event event;
+            while ((event = reader.getNextEvent()) != null) {
+                String key = key(event);
+                // Rows with equal keys stay distinct, in order of appearance.
+                Integer seen = occurrences.get(key);
+                occurrences.put(key, seen == null ? 1 : seen + 1);
+                next.put(seen == null ? key : key + "\u0000#" + seen, event);
+            }
+        } finally {
+            reader.close();
+        }
+        return next;
+    }
+
+    private String key(Event event) {
+        String[] fields = keyFields;
+        if (fields == null && event.containsKey("_bkt") && event.containsKey("_cd")) {
+            fields = new String[] { "_bkt", "_cd" };
+        }
+        if (fields == null) {
+            return new TreeMap<String, String>(event).toString();
+        }
+        String[] values = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            values[i] = event.get(fields[i]);
+        }
+        return Arrays.toString(values);
+    }
+
+    /**
+     * Diffs the new rows against the current ones and notifies the listener
+     * if anything changed.
+     *
+     * @return {@code true} if the listener was notified.
+     */
+    private boolean deliver(Map<String, Event> next, boolean isFinal) {
+        List<Event> added = new ArrayList<Event>();
+        List<Event> changed = new ArrayList<Event>();
+        List<Event> removed = new ArrayList<Event>();
+        for (Map.Entry<String, Event> row : next.entrySet()) {
+            Event previous = rows.get(row.getKey());
+            if (previous == null) {
+                added.add(row.getValue());
+            } else if (!previous.equals(row.getValue())) {
+                changed.add(row.getValue());
+            }
+        }
+        for (Map.Entry<String, Event> row : rows.entrySet()) {
+            if (!next.containsKey(row.getKey())) {
+                removed.add(row.getValue());
+            }
+        }
+        rows = next;
+
+        ResultsDelta delta = new ResultsDelta(added, changed, removed, lastPreview, isFinal);
+        if (delta.isEmpty() && !isFinal) return false;
+        listener.onDelta(delta);
+        return true;
+    }
+}
@@ -110,5 +110,15 @@ public class RequestMessage {
     public void setContent(OutputStream value) {
         this.content = value;
     }
+
+    /**
+     * Sets the message body content to bytes that are sent as they are,
+     * such as a compressed body.
+     *
+     * @param value The message content.
+     */
+    public void setContent(byte[] value) {
+        this.content = value;
+    }
 }
 
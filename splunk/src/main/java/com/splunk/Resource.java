@@ -149,6 +149,16 @@ public abstract class Resource {
         return this;
     }
 
+    /**
+     * Indicates whether the local state of this resource is believed to be
+     * current, so that reading it issues no request.
+     *
+     * @return {@code true} if the local state is current.
+     */
+    boolean isMaybeValid() {
+        return this.maybeValid;
+    }
+
     /**
      * Loads the state of this resource from a given Atom object.
      *
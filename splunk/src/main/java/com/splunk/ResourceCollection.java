@@ -16,6 +16,7 @@
 
 package com.splunk;
 
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
@@ -288,6 +289,99 @@ public class ResourceCollection<T extends Resource>
         return service.get(path, this.refreshArgs);
     }
 
+    /**
+     * Lists the members of this collection, fetching only the given content
+     * fields. The fields are requested with the REST API's {@code f}
+     * parameter, and any other keys the server sends are skipped while
+     * parsing, so no full {@code Entity} is built for any member. Names ending
+     * with {@code *} select every field with that prefix; listing with no
+     * fields returns only member names and paths.
+     * <p>
+     * This method always issues a request and does not affect the cached
+     * members of this collection.
+     *
+     * @param fields The content fields to fetch.
+     * @return A list of read-only views, in the order the server listed them.
+     */
+    public List<EntityView> listProjected(String... fields) {
+        return listProjected(null, fields);
+    }
+
+    /**
+     * Lists the members of this collection with additional arguments,
+     * fetching only the given content fields.
+     *
+     * @param args Additional arguments for the listing, such as
+     * {@code count}, {@code search}, or {@code sort_key} (see
+     * {@link CollectionArgs}).
+     * @param fields The content fields to fetch.
+     * @return A list of read-only views, in the order the server listed them.
+     * @see #listProjected(String...)
+     */
+    public List<EntityView> listProjected(Map<String, Object> args, String... fields) {
+        Set<String> selected = new LinkedHashSet<String>(Arrays.asList(fields));
+        selected.addAll(Arrays.asList(keyFields()));
+
+        Args query = Args.create(this.refreshArgs);
+        if (args != null) query.putAll(args);
+        query.put("f", selected.isEmpty()
+                ? new String[] { "title" }
+                : selected.toArray(new String[selected.size()]));
+
+        ResponseMessage response = service.get(path, query);
+        AtomFeed feed;
+        try {
+            feed = AtomFeed.parseStream(response.getContent(), selected);
+        } finally {
+            try {
+                response.getContent().close();
+            } catch (IOException e) {
+                // Nothing more to read
+            }
+        }
+
+        List<EntityView> views = new ArrayList<EntityView>(feed.entries.size());
+        for (AtomEntry entry : feed.entries) {
+            views.add(new EntityView(
+                    itemKey(entry), entry.title, itemPath(entry), entry.content));
+        }
+        return views;
+    }
+
+    /**
+     * Lists the members of this collection in summary form, where the
+     * endpoint supports it, fetching only the given content fields. Summary
+     * listings leave out details that are expensive for the server to
+     * compute; for collections without a summary form this is the same as
+     * {@link #listProjected(String...)}.
+     *
+     * @param fields The content fields to fetch.
+     * @return A list of read-only views, in the order the server listed them.
+     */
+    public List<EntityView> listSummary(String... fields) {
+        return listProjected(summaryArgs(), fields);
+    }
+
+    /**
+     * Returns the content fields that a projected listing must always fetch
+     * because {@link #itemKey} depends on them.
+     *
+     * @return The required field names.
+     */
+    String[] keyFields() {
+        return new String[0];
+    }
+
+    /**
+     * Returns the arguments that ask the endpoint for a summary listing, or
+     * {@code null} if the endpoint has no summary form.
+     *
+     * @return The summary arguments, or {@code null}.
+     */
+    Args summaryArgs() {
+        return null;
+    }
+
     /**
      * Loads the collection resource from a given Atom feed.
      *
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code ResultsDelta} class describes how the results of a real-time
+ * search changed between two consecutive previews: the rows that appeared,
+ * the rows whose values changed, and the rows that left the window.
+ * <p>
+ * Rows are matched between previews by their key fields (see
+ * {@link RealtimeSubscription#setKeyFields}). A changed row is reported with
+ * its new values.
+ */
+public class ResultsDelta {
+    private final List<Event> added;
+    private final List<Event> changed;
+    private final List<Event> removed;
+    private final int previewNumber;
+    private final boolean isFinal;
+
+    ResultsDelta(List<Event> added, List<Event> changed, List<Event> removed,
+                 int previewNumber, boolean isFinal) {
+        this.added = Collections.unmodifiableList(added);
+        this.changed = Collections.unmodifiableList(changed);
+        this.removed = Collections.unmodifiableList(removed);
+        this.previewNumber = previewNumber;
+        this.isFinal = isFinal;
+    }
+
+    /**
+     * Returns the rows that were not in the previous preview.
+     *
+     * @return The added rows.
+     */
+    public List<Event> getAdded() {
+        return added;
+    }
+
+    /**
+     * Returns the rows whose values differ from the previous preview.
+     *
+     * @return The changed rows, with their new values.
+     */
+    public List<Event> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Returns the rows of the previous preview that are no longer present.
+     *
+     * @return The removed rows, with their last values.
+     */
+    public List<Event> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Returns the job's preview count at the time the preview was read.
+     *
+     * @return The preview number.
+     */
+    public int getPreviewNumber() {
+        return previewNumber;
+    }
+
+    /**
+     * Indicates whether this is the last delta of the subscription, because
+     * the job has finished.
+     *
+     * @return {@code true} if no further deltas follow.
+     */
+    public boolean isFinal() {
+        return isFinal;
+    }
+
+    /**
+     * Indicates whether nothing changed.
+     *
+     * @return {@code true} if no row was added, changed, or removed.
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+/**
+ * The {@code ResultsDeltaListener} interface receives the changes to the
+ * results of a real-time search from a {@link RealtimeSubscription}.
+ * Callbacks for one subscription are made from a single thread, one at a
+ * time.
+ */
+public interface ResultsDeltaListener {
+    /**
+     * Called when the results have changed since the previous preview.
+     *
+     * @param delta The rows that were added, changed, or removed.
+     */
+    void onDelta(ResultsDelta delta);
+
+    /**
+     * Called when the subscription stops because of an error, such as the
+     * job having been removed from the server. No further callbacks follow.
+     *
+     * @param e The error.
+     */
+    void onError(Exception e);
+}
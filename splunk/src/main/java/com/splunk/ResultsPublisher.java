@@ -0,0 +1,261 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code ResultsPublisher} class streams search results to subscribers
+ * with demand-based backpressure, following the Reactive Streams protocol.
+ * <p>
+ * The nested {@link Subscriber} and {@link Subscription} interfaces have the
+ * same methods as their {@code java.util.concurrent.Flow} and
+ * {@code org.reactivestreams} counterparts, so adapting a publisher to
+ * either library takes only a few lines.
+ * <p>
+ * The publisher is cold: each subscriber gets its own HTTP request, which is
+ * sent when the subscriber first requests events. Events are parsed on the
+ * publisher's executor, one for each unit of requested demand. When demand
+ * runs out, the executor thread is released and the rest of the response
+ * waits, unread, until more events are requested. Cancelling a subscription
+ * closes the response stream.
+ * <p>
+ * Create a publisher with {@link Job#getResultsPublisher},
+ * {@link Job#getEventsPublisher}, or {@link Service#getExportPublisher}.
+ */
+public class ResultsPublisher {
+    /**
+     * Receives events from a {@link ResultsPublisher}.
+     */
+    public interface Subscriber {
+        /**
+         * Called once, before any other method, with the subscription that
+         * controls the flow of events.
+         *
+         * @param subscription The subscription.
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * Called with each event, never more often than requested.
+         *
+         * @param event The event.
+         */
+        void onNext(Event event);
+
+        /**
+         * Called once if the results cannot be read. No other method is
+         * called afterwards.
+         *
+         * @param error The failure.
+         */
+        void onError(Throwable error);
+
+        /**
+         * Called once after the last event. No other method is called
+         * afterwards.
+         */
+        void onComplete();
+    }
+
+    /**
+     * Controls the flow of events to a {@link Subscriber}.
+     */
+    public interface Subscription {
+        /**
+         * Requests more events.
+         *
+         * @param n The number of additional events to deliver, which must
+         * be positive. {@code Long.MAX_VALUE} means no limit.
+         */
+        void request(long n);
+
+        /**
+         * Stops the flow of events and closes the response stream.
+         */
+        void cancel();
+    }
+
+    /**
+     * Opens the response stream for one subscriber.
+     */
+    interface Source {
+        InputStream open() throws IOException;
+    }
+
+    private final Source source;
+    private final String outputMode;
+    private final Executor executor;
+
+    /**
+     * Creates a publisher.
+     *
+     * @param source Opens the response stream for each subscriber.
+     * @param outputMode The {@code output_mode} of the response, or
+     * {@code null} for XML.
+     * @param executor The executor that opens and parses the response.
+     */
+    ResultsPublisher(Source source, String outputMode, Executor executor) {
+        if (executor == null)
+            throw new IllegalArgumentException("An executor is required.");
+        this.source = source;
+        this.outputMode = outputMode;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the {@code output_mode} of a set of request arguments, or
+     * {@code null} if it is not set.
+     */
+    static String outputMode(Map args) {
+        Object mode = args == null ? null : args.get("output_mode");
+        return mode == null ? null : mode.toString();
+    }
+
+    /**
+     * Subscribes to the results. Nothing is read until the subscriber
+     * requests events.
+     *
+     * @param subscriber The subscriber.
+     */
+    public void subscribe(Subscriber subscriber) {
+        if (subscriber == null)
+            throw new NullPointerException("subscriber");
+        StreamSubscription subscription = new StreamSubscription(subscriber);
+        try {
+            subscriber.onSubscribe(subscription);
+        } catch (RuntimeException e) {
+            subscription.fail(e);
+        }
+    }
+
+    /**
+     * The subscription of one subscriber. At most one drain task runs at a
+     * time, so the subscriber's methods are never called concurrently.
+     */
+    private final class StreamSubscription implements Subscription, Runnable {
+        private final Subscriber subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+
+        private volatile boolean done = false;
+        private volatile InputStream stream = null;
+        private volatile Throwable invalidRequest = null;
+
+        // Touched only by the drain task.
+        private ResultsReader reader = null;
+
+        StreamSubscription(Subscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        public void request(long n) {
+            if (done) return;
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException(
+                        "The number of requested events must be positive.");
+            } else {
+                long current, next;
+                do {
+                    current = demand.get();
+                    next = current + n < 0 ? Long.MAX_VALUE : current + n;
+                } while (!demand.compareAndSet(current, next));
+            }
+            schedule();
+        }
+
+        public void cancel() {
+            if (done) return;
+            done = true;
+            closeStream();
+        }
+
+        private void schedule() {
+            if (pendingDrains.getAndIncrement() != 0) return;
+            try {
+                executor.execute(this);
+            } catch (RuntimeException e) {
+                pendingDrains.set(0);
+                fail(e);
+            }
+        }
+
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = pendingDrains.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            try {
+                if (invalidRequest != null) {
+                    fail(invalidRequest);
+                    return;
+                }
+                while (!done && demand.get() > 0) {
+                    if (reader == null) {
+                        stream = source.open();
+                        if (done) {
+                            closeStream();
+                            return;
+                        }
+                        reader = ResultsReader.forOutputMode(stream, outputMode);
+                    }
+                    Event event = reader.getNextEvent();
+                    if (done) return;
+                    if (event == null) {
+                        done = true;
+                        closeStream();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (demand.get() != Long.MAX_VALUE) {
+                        demand.decrementAndGet();
+                    }
+                    subscriber.onNext(event);
+                }
+            } catch (Throwable e) {
+                // A read that fails because of a cancel is not an error.
+                if (!done) fail(e);
+            }
+        }
+
+        void fail(Throwable error) {
+            if (done) return;
+            done = true;
+            closeStream();
+            subscriber.onError(error);
+        }
+
+        private void closeStream() {
+            InputStream current = stream;
+            if (current == null) return;
+            try {
+                current.close();
+            } catch (IOException e) {
+                // Nothing more to read either way.
+            }
+        }
+    }
+}
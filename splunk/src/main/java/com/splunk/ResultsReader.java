@@ -20,6 +20,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The {@code ResultsReader} class is a base class for the streaming readers
@@ -175,4 +178,70 @@ public abstract class ResultsReader
                 break;
         }
     }
+
+    /**
+     * Creates the reader for a stream in the given {@code output_mode},
+     * closing the stream if the mode has no reader.
+     *
+     * @param inputStream The stream to parse.
+     * @param outputMode The output mode, or {@code null} for XML.
+     * @return The reader.
+     * @throws IOException The IOException instance
+     */
+    static ResultsReader forOutputMode(InputStream inputStream, String outputMode)
+            throws IOException {
+        String mode = outputMode == null ? "xml" : outputMode;
+        if (mode.equals("xml")) return new ResultsReaderXml(inputStream);
+        if (mode.equals("json")) return new ResultsReaderJson(inputStream);
+        if (mode.equals("json_rows")) return new ResultsReaderJsonRows(inputStream);
+        if (mode.equals("json_cols")) return new ResultsReaderJsonCols(inputStream);
+        if (mode.equals("csv")) return new ResultsReaderCsv(inputStream);
+        inputStream.close();
+        throw new IllegalArgumentException("Unsupported output mode: " + mode);
+    }
+
+    /**
+     * Returns a sequential stream of the events from this reader. Closing
+     * the stream closes the reader.
+     *
+     * @return The stream.
+     */
+    public Stream<Event> stream() {
+        return stream(Long.MAX_VALUE, false);
+    }
+
+    /**
+     * Returns a parallel stream of the events from this reader. Events are
+     * parsed by one thread at a time, in batches, and each batch is
+     * processed on the common fork-join pool, so this pays off when the
+     * per-event work outweighs parsing. Closing the stream closes the
+     * reader.
+     *
+     * @return The stream.
+     */
+    public Stream<Event> parallelStream() {
+        return stream(Long.MAX_VALUE, true);
+    }
+
+    /**
+     * Returns a stream of the events from this reader.
+     *
+     * @param expectedSize The expected number of events, or
+     * {@code Long.MAX_VALUE} if unknown.
+     * @param parallel Whether the stream is parallel.
+     * @return The stream.
+     */
+    Stream<Event> stream(long expectedSize, boolean parallel) {
+        Spliterator<Event> spliterator = new ResultsSpliterator(
+                iterator(), expectedSize, ResultsSpliterator.DEFAULT_BATCH_SIZE);
+        return StreamSupport.stream(spliterator, parallel).onClose(new Runnable() {
+            public void run() {
+                try {
+                    close();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+    }
 }
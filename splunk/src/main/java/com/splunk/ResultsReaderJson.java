@@ -40,6 +40,7 @@ public class ResultsReaderJson extends ResultsReader {
     private ExportHelper exportHelper;
     // Whether the 'preview' flag is read
     private boolean previewFlagRead;
+    private final SymbolTable symbols;
 
     /**
      * Class constructor.
@@ -55,9 +56,31 @@ public class ResultsReaderJson extends ResultsReader {
         this(inputStream, false);
     }
 
+    /**
+     * Class constructor.
+     *
+     * Constructs a streaming JSON reader for the event stream that shares
+     * repeated values of the given fields between events.
+     *
+     * @param inputStream The JSON stream to parse.
+     * @param dictionaries The fields whose values are shared, or
+     * {@code null} to share only field names.
+     * @throws IOException The IOException instance
+     */
+    public ResultsReaderJson(InputStream inputStream, ValueDictionaries dictionaries)
+            throws IOException {
+        this(inputStream, false, dictionaries);
+    }
+
     ResultsReaderJson(InputStream inputStream, boolean isInMultiReader)
             throws IOException {
+        this(inputStream, isInMultiReader, null);
+    }
+
+    ResultsReaderJson(InputStream inputStream, boolean isInMultiReader,
+            ValueDictionaries dictionaries) throws IOException {
         super(inputStream, isInMultiReader);
+        this.symbols = new SymbolTable(dictionaries);
         jsonReader = new JsonReader(new InputStreamReader(inputStream, "UTF-8"));
         // if stream is empty, return a null reader.
         jsonReader.setLenient(true);
@@ -280,16 +303,16 @@ public class ResultsReaderJson extends ResultsReader {
 
                 String[] valuesArray =
                     values.toArray(new String[values.size()]);
-                returnData.putArray(name, valuesArray);
+                returnData.putArray(name, symbols.values(name, valuesArray));
 
                 values.clear();
             }
             if (jsonReader.peek() == JsonToken.NAME) {
-                name = jsonReader.nextName();
+                name = symbols.name(jsonReader.nextName());
             }
             if (jsonReader.peek() == JsonToken.STRING) {
                 String delimitedValues = jsonReader.nextString();
-                returnData.putSingleOrDelimited(name, delimitedValues);
+                returnData.putSingleOrDelimited(name, symbols.value(name, delimitedValues));
             }
             if (jsonReader.peek() == JsonToken.END_OBJECT) {
                 jsonReader.endObject();
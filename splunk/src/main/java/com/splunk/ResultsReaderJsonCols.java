@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code ResultsReaderJsonCols} class represents a reader for Splunk
+ * search results in the {@code json_cols} output mode, in which field names
+ * are sent once and the values are sent one column at a time. This class
+ * requires the gson jar file in your build path.
+ * <p>
+ * Because a row is complete only once every column has been read, each set
+ * of results is read into memory before its first event is returned. For
+ * streaming large result sets, use the {@code json_rows} output mode and
+ * {@link ResultsReaderJsonRows} instead.
+ */
+public class ResultsReaderJsonCols extends ResultsReaderJsonTable {
+    private final List<Object[]> columns = new ArrayList<Object[]>();
+    private int rowCount = 0;
+    private int row = 0;
+
+    /**
+     * Class constructor.
+     *
+     * Constructs a reader for results in the {@code json_cols} output mode.
+     *
+     * @param inputStream The stream to parse.
+     * @throws IOException The IOException instance
+     */
+    public ResultsReaderJsonCols(InputStream inputStream) throws IOException {
+        this(inputStream, null);
+    }
+
+    /**
+     * Class constructor.
+     *
+     * Constructs a reader for results in the {@code json_cols} output mode
+     * that shares repeated values of the given fields between events.
+     *
+     * @param inputStream The stream to parse.
+     * @param dictionaries The fields whose values are shared, or
+     * {@code null} to share only field names.
+     * @throws IOException The IOException instance
+     */
+    public ResultsReaderJsonCols(InputStream inputStream, ValueDictionaries dictionaries)
+            throws IOException {
+        super(inputStream, "columns", dictionaries);
+        finishInitialization();
+    }
+
+    @Override boolean advanceStreamToNextSet() throws IOException {
+        columns.clear();
+        rowCount = 0;
+        row = 0;
+        return super.advanceStreamToNextSet();
+    }
+
+    @Override void beginBody() throws IOException {
+        List<Object> values = new ArrayList<Object>();
+        for (int i = 0; jsonReader.hasNext(); i++) {
+            String field = i < fields.length ? fields[i] : null;
+            jsonReader.beginArray();
+            while (jsonReader.hasNext()) {
+                values.add(readValue(field));
+            }
+            jsonReader.endArray();
+            columns.add(values.toArray());
+            rowCount = Math.max(rowCount, values.size());
+            values.clear();
+        }
+        endBody();
+    }
+
+    @Override Event getNextEventInCurrentSet() {
+        if (row >= rowCount)
+            return null;
+        Event event = new Event();
+        for (int i = 0; i < columns.size() && i < fields.length; i++) {
+            Object[] column = columns.get(i);
+            if (row < column.length) put(event, fields[i], column[row]);
+        }
+        row++;
+        if (row == rowCount) columns.clear();
+        return event;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The {@code ResultsReaderJsonRows} class represents a streaming reader for
+ * Splunk search results in the {@code json_rows} output mode, in which field
+ * names are sent once and each row is an array of values in field order.
+ * This is more compact on the wire than the {@code json} output mode, and
+ * faster to parse. This class requires the gson jar file in your build path.
+ * <p>
+ * Request results in this mode with an {@code output_mode} of
+ * {@code json_rows}, or use {@link Job#getResultsReader(java.util.Map)}.
+ */
+public class ResultsReaderJsonRows extends ResultsReaderJsonTable {
+    /**
+     * Class constructor.
+     *
+     * Constructs a streaming reader for results in the {@code json_rows}
+     * output mode.
+     *
+     * @param inputStream The stream to parse.
+     * @throws IOException The IOException instance
+     */
+    public ResultsReaderJsonRows(InputStream inputStream) throws IOException {
+        this(inputStream, null);
+    }
+
+    /**
+     * Class constructor.
+     *
+     * Constructs a streaming reader for results in the {@code json_rows}
+     * output mode that shares repeated values of the given fields between
+     * events.
+     *
+     * @param inputStream The stream to parse.
+     * @param dictionaries The fields whose values are shared, or
+     * {@code null} to share only field names.
+     * @throws IOException The IOException instance
+     */
+    public ResultsReaderJsonRows(InputStream inputStream, ValueDictionaries dictionaries)
+            throws IOException {
+        super(inputStream, "rows", dictionaries);
+        finishInitialization();
+    }
+
+    @Override void beginBody() {
+        // Rows are read one at a time.
+    }
+
+    @Override Event getNextEventInCurrentSet() throws IOException {
+        if (jsonReader == null || !inBody)
+            return null;
+        if (!jsonReader.hasNext()) {
+            endBody();
+            return null;
+        }
+        Event event = new Event();
+        jsonReader.beginArray();
+        for (int i = 0; jsonReader.hasNext(); i++) {
+            String field = i < fields.length ? fields[i] : null;
+            Object value = readValue(field);
+            if (field != null) put(event, field, value);
+        }
+        jsonReader.endArray();
+        return event;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the compact JSON output modes, {@code json_rows} and
+ * {@code json_cols}, in which each set of results lists its field names
+ * once, in a {@code fields} array, followed by the values in a body array
+ * that refers to the fields by position.
+ * <p>
+ * Each set is one top-level object; export streams contain one object per
+ * set. Subclasses read the body.
+ */
+abstract class ResultsReaderJsonTable extends ResultsReader {
+    JsonReader jsonReader;
+    final SymbolTable symbols;
+    private final String bodyName;
+
+    // The fields of the current set, by position.
+    String[] fields = new String[0];
+    private List<String> fieldList = Collections.emptyList();
+    // Whether the reader is inside the body array of the current set.
+    boolean inBody = false;
+
+    ResultsReaderJsonTable(InputStream inputStream, String bodyName,
+            ValueDictionaries dictionaries) throws IOException {
+        super(inputStream, false);
+        this.bodyName = bodyName;
+        this.symbols = new SymbolTable(dictionaries);
+        jsonReader = new JsonReader(new InputStreamReader(inputStream, "UTF-8"));
+        // Export streams are a sequence of top-level objects.
+        jsonReader.setLenient(true);
+        // Subclasses call finishInitialization once they are initialized.
+    }
+
+    /**
+     * Called when the reader has entered the body array of a set.
+     */
+    abstract void beginBody() throws IOException;
+
+    /** {@inheritDoc} */
+    public boolean isPreview() {
+        return isPreview;
+    }
+
+    /** {@inheritDoc} */
+    public Collection<String> getFields() {
+        return fieldList;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws IOException {
+        super.close();
+        if (jsonReader != null)
+            jsonReader.close();
+        jsonReader = null;
+    }
+
+    @Override boolean advanceStreamToNextSet() throws IOException {
+        if (jsonReader == null)
+            return false;
+        try {
+            if (inBody) {
+                while (jsonReader.hasNext()) {
+                    jsonReader.skipValue();
+                }
+                endBody();
+            }
+            if (jsonReader.peek() == JsonToken.END_DOCUMENT)
+                return false;
+            isPreview = false;
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                String name = jsonReader.nextName();
+                if (name.equals("preview")) {
+                    isPreview = jsonReader.nextBoolean();
+                } else if (name.equals("fields")) {
+                    readFields();
+                } else if (name.equals(bodyName)) {
+                    jsonReader.beginArray();
+                    inBody = true;
+                    beginBody();
+                    return true;
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            // A set without a body has no results.
+            jsonReader.endObject();
+            return true;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Leaves the body array and the rest of the set's object.
+     */
+    void endBody() throws IOException {
+        jsonReader.endArray();
+        inBody = false;
+        while (jsonReader.hasNext()) {
+            jsonReader.nextName();
+            jsonReader.skipValue();
+        }
+        jsonReader.endObject();
+    }
+
+    private void readFields() throws IOException {
+        List<String> names = new ArrayList<String>();
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            if (jsonReader.peek() == JsonToken.BEGIN_OBJECT) {
+                // Newer servers describe each field with an object.
+                String fieldName = null;
+                jsonReader.beginObject();
+                while (jsonReader.hasNext()) {
+                    if (jsonReader.nextName().equals("name")) {
+                        fieldName = jsonReader.nextString();
+                    } else {
+                        jsonReader.skipValue();
+                    }
+                }
+                jsonReader.endObject();
+                names.add(symbols.name(fieldName));
+            } else {
+                names.add(symbols.name(jsonReader.nextString()));
+            }
+        }
+        jsonReader.endArray();
+        fields = names.toArray(new String[names.size()]);
+        fieldList = Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Reads one value: a string, a multivalue array, or {@code null}. Returns
+     * a {@code String}, a {@code String[]}, or {@code null}.
+     */
+    Object readValue(String field) throws IOException {
+        switch (jsonReader.peek()) {
+            case NULL:
+                jsonReader.nextNull();
+                return null;
+            case BEGIN_ARRAY:
+                List<String> values = new ArrayList<String>(4);
+                jsonReader.beginArray();
+                while (jsonReader.hasNext()) {
+                    Object value = readValue(field);
+                    if (value instanceof String) values.add((String)value);
+                }
+                jsonReader.endArray();
+                return symbols.values(field, values.toArray(new String[values.size()]));
+            case BOOLEAN:
+                return String.valueOf(jsonReader.nextBoolean());
+            case BEGIN_OBJECT:
+                jsonReader.skipValue();
+                return null;
+            default:
+                // Strings and numbers.
+                return symbols.value(field, jsonReader.nextString());
+        }
+    }
+
+    /**
+     * Puts a value returned by {@link #readValue} into an event.
+     */
+    static void put(Event event, String field, Object value) {
+        if (value instanceof String) {
+            event.putSingleOrDelimited(field, (String)value);
+        } else if (value != null) {
+            String[] values = (String[])value;
+            if (values.length == 1) {
+                event.putSingleOrDelimited(field, values[0]);
+            } else if (values.length > 1) {
+                event.putArray(field, values);
+            }
+        }
+    }
+}
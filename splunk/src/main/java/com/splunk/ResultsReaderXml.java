@@ -40,6 +40,7 @@ public class ResultsReaderXml
     private XMLEventReader xmlReader = null;
     private ArrayList<String> fields = new ArrayList<String>();
     private PushbackInputStream pushbackInputStream;
+    private final SymbolTable symbols;
 
     /**
      * Class constructor.
@@ -59,11 +60,36 @@ public class ResultsReaderXml
         this(inputStream, false);
     }
 
+    /**
+     * Class constructor.
+     *
+     * Constructs a streaming XML reader for the event stream that shares
+     * repeated values of the given fields between events.
+     *
+     * @param inputStream The XML stream to parse.
+     * @param dictionaries The fields whose values are shared, or
+     * {@code null} to share only field names.
+     * @throws IOException The IOException instance
+     */
+    public ResultsReaderXml(InputStream inputStream, ValueDictionaries dictionaries)
+            throws IOException {
+        this(inputStream, false, dictionaries);
+    }
+
     ResultsReaderXml(
             InputStream inputStream,
             boolean isInMultiReader)
             throws IOException {
+        this(inputStream, isInMultiReader, null);
+    }
+
+    ResultsReaderXml(
+            InputStream inputStream,
+            boolean isInMultiReader,
+            ValueDictionaries dictionaries)
+            throws IOException {
         super(inputStream, isInMultiReader);
+        this.symbols = new SymbolTable(dictionaries);
 
         // We need to do read-ahead, so we have to use a PushbackInputStream for everything
         // in this class.
@@ -277,7 +303,7 @@ public class ResultsReaderXml
                     break;
                 case XMLStreamConstants.CHARACTERS:
                     if (level == 1) {
-                        fields.add(xmlEvent.asCharacters().getData());
+                        fields.add(symbols.name(xmlEvent.asCharacters().getData()));
                     }
                     break;
                 default:
@@ -313,7 +339,7 @@ public class ResultsReaderXml
                         startElement.getAttributes();
                     if (level == 0) {
                         if (attrIttr.hasNext())
-                            key =  attrIttr.next().getValue();
+                            key = symbols.name(attrIttr.next().getValue());
                     } else if (level == 1 &&
                             key.equals("_raw") &&
                             startElement
@@ -339,7 +365,7 @@ public class ResultsReaderXml
                     if (--level == 0) {
                         String[] valuesArray = 
                                 values.toArray(new String[values.size()]);
-                        returnData.putArray(key, valuesArray);
+                        returnData.putArray(key, symbols.values(key, valuesArray));
                         
                         key = null;
                         values.clear();
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Splits the events of a reader into batches for parallel streams. The
+ * reader is only ever read by the thread that owns this spliterator; each
+ * split parses the next batch of events and hands it off as an array, which
+ * other threads then process. Batches grow as the stream proceeds, so that
+ * small result sets still split while large ones amortize the hand-off.
+ */
+final class ResultsSpliterator implements Spliterator<Event> {
+    static final int DEFAULT_BATCH_SIZE = 1024;
+    static final int MAX_BATCH_SIZE = 1 << 20;
+
+    private final Iterator<Event> events;
+    private final int batchIncrement;
+    private int batchSize = 0;
+    private long estimate;
+
+    /**
+     * @param events The events.
+     * @param expectedSize The expected number of events, or
+     * {@code Long.MAX_VALUE} if unknown.
+     * @param batchSize The size of the first batch, and of each increase.
+     */
+    ResultsSpliterator(Iterator<Event> events, long expectedSize, int batchSize) {
+        this.events = events;
+        this.estimate = expectedSize;
+        this.batchIncrement = batchSize;
+    }
+
+    public boolean tryAdvance(Consumer<? super Event> action) {
+        if (!events.hasNext())
+            return false;
+        action.accept(events.next());
+        consumed(1);
+        return true;
+    }
+
+    public void forEachRemaining(Consumer<? super Event> action) {
+        while (events.hasNext()) {
+            action.accept(events.next());
+        }
+        estimate = 0;
+    }
+
+    public Spliterator<Event> trySplit() {
+        if (!events.hasNext())
+            return null;
+        batchSize = Math.min(MAX_BATCH_SIZE, batchSize + batchIncrement);
+        int size = estimate < batchSize ? (int)Math.max(1, estimate) : batchSize;
+        Event[] batch = new Event[size];
+        int n = 0;
+        while (n < size && events.hasNext()) {
+            batch[n++] = events.next();
+        }
+        consumed(n);
+        return Spliterators.spliterator(batch, 0, n, characteristics());
+    }
+
+    public long estimateSize() {
+        return estimate;
+    }
+
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    private void consumed(long n) {
+        if (estimate != Long.MAX_VALUE) {
+            // The expected size is a hint; more events may follow.
+            estimate = Math.max(events.hasNext() ? 1 : 0, estimate - n);
+        }
+    }
+}
@@ -91,7 +91,7 @@ public class SavedSearch extends Entity {
             job = new Job(service, JobCollection.REST_PATH + "/" + sid);
         }
 
-        return job;
+        return service.trackJob(job);
     }
 
     /**
@@ -2238,13 +2238,13 @@ public class SavedSearch extends Entity {
     /**
      * {@inheritDoc}
      */
-    @Override public void update(Map<String, Object> args) {
+    @Override Map<String, Object> updateArgs(Map<String, Object> args) {
         // Add required arguments if not already present
         if (!args.containsKey("search")) {
             args = Args.create(args).add("search", getSearch());
         }
 
-        super.update(args);
+        return args;
     }
 
     /**
@@ -0,0 +1,557 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code SearchScheduler} class queues search submissions on the client
+ * and dispatches them so that the number of searches running on the server
+ * stays just under the concurrency quota that applies to the current user.
+ * <p>
+ * The quota is learned from the server (the search job quotas of the user's
+ * roles, and the {@code limits.conf} search concurrency settings), or can be
+ * set explicitly with {@link #setMaxConcurrentSearches}. Submissions with a
+ * higher priority are dispatched first; submissions with the same priority
+ * are dispatched in the order they were made.
+ * <p>
+ * A search that creates a job holds its slot until the job is done, failed,
+ * or removed. A oneshot search holds its slot until the server responds.
+ * <p>
+ * Get the scheduler for a service with {@link Service#getSearchScheduler()}.
+ * The scheduler is safe for use by multiple threads.
+ */
+public class SearchScheduler {
+    /** The priority given to submissions that do not specify one. */
+    public static final int DEFAULT_PRIORITY = 5;
+
+    /** The quota assumed when none can be learned or configured. */
+    static final int FALLBACK_QUOTA = 6;
+
+    private final Service service;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotOrWorkAvailable = lock.newCondition();
+    private final PriorityQueue<Submission<?>> queue = new PriorityQueue<Submission<?>>();
+    // The SIDs of the jobs holding slots.
+    private final List<String> runningJobs = new ArrayList<String>();
+    private int inFlight = 0;
+    private int limit = -1;
+    private boolean closed = false;
+
+    private volatile Integer configuredQuota = null;
+    private volatile int headroom = 1;
+    private volatile long pollIntervalMillis = 1000;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong dispatchedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private final ExecutorService workers;
+    private final ScheduledExecutorService monitor;
+    private final Thread dispatcher;
+
+    /**
+     * Class constructor.
+     *
+     * @param service The connected {@code Service} instance.
+     */
+    SearchScheduler(Service service) {
+        this.service = service;
+        this.workers = Executors.newCachedThreadPool(Util.daemonThreadFactory("splunk-search-scheduler-worker"));
+        this.monitor = Executors.newSingleThreadScheduledExecutor(Util.daemonThreadFactory("splunk-search-scheduler-monitor"));
+        this.dispatcher = Util.daemonThreadFactory("splunk-search-scheduler").newThread(new Runnable() {
+            public void run() {
+                dispatchLoop();
+            }
+        });
+        this.dispatcher.start();
+        this.monitor.schedule(new Runnable() {
+            public void run() {
+                pollRunningJobs();
+            }
+        }, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a search with the default priority. The search is created with
+     * {@link JobCollection#create(String, Map)} once a slot is free.
+     *
+     * @param query The search query.
+     * @return A future that completes with the search job once it has been
+     * created.
+     */
+    public Future<Job> search(String query) {
+        return search(query, null, DEFAULT_PRIORITY);
+    }
+
+    /**
+     * Queues a search. The search is created with
+     * {@link JobCollection#create(String, Map)} once a slot is free.
+     *
+     * @param query The search query.
+     * @param args The search arguments (see {@link JobArgs}).
+     * @param priority The priority; higher values are dispatched first.
+     * @return A future that completes with the search job once it has been
+     * created.
+     */
+    public Future<Job> search(final String query, final Map args, int priority) {
+        return enqueue(new Submission<Job>(priority, true) {
+            Job execute() {
+                return service.search(query, args);
+            }
+        });
+    }
+
+    /**
+     * Queues the dispatch of a saved search.
+     *
+     * @param savedSearch The saved search to dispatch.
+     * @param args The dispatch arguments (see
+     * {@link SavedSearchDispatchArgs}).
+     * @param priority The priority; higher values are dispatched first.
+     * @return A future that completes with the search job once the saved
+     * search has been dispatched.
+     */
+    public Future<Job> dispatch(final SavedSearch savedSearch, final Map args, int priority) {
+        return enqueue(new Submission<Job>(priority, true) {
+            Job execute() throws Exception {
+                return savedSearch.dispatch(args);
+            }
+        });
+    }
+
+    /**
+     * Queues a oneshot search.
+     *
+     * @param query The search query.
+     * @param args The search arguments.
+     * @param priority The priority; higher values are dispatched first.
+     * @return A future that completes with the search results stream.
+     */
+    public Future<InputStream> oneshotSearch(final String query, final Map args, int priority) {
+        return enqueue(new Submission<InputStream>(priority, false) {
+            InputStream execute() {
+                return service.oneshotSearch(query, args);
+            }
+        });
+    }
+
+    /**
+     * Sets the number of concurrent searches allowed for this user,
+     * overriding the quota learned from the server. Pass {@code null} to
+     * learn the quota from the server again.
+     *
+     * @param quota The concurrent search quota, or {@code null}.
+     */
+    public void setMaxConcurrentSearches(Integer quota) {
+        this.configuredQuota = quota;
+        refreshLimits();
+    }
+
+    /**
+     * Sets how many slots below the quota the scheduler keeps free, leaving
+     * room for searches started outside the scheduler (such as scheduled
+     * searches owned by the same user). The default is 1.
+     *
+     * @param headroom The number of slots to keep free.
+     */
+    public void setHeadroom(int headroom) {
+        if (headroom < 0)
+            throw new IllegalArgumentException("headroom must not be negative.");
+        this.headroom = headroom;
+        refreshLimits();
+    }
+
+    /**
+     * Sets how often running jobs are checked for completion.
+     *
+     * @param pollIntervalMillis The interval, in milliseconds.
+     */
+    public void setPollInterval(long pollIntervalMillis) {
+        if (pollIntervalMillis <= 0)
+            throw new IllegalArgumentException("pollIntervalMillis must be positive.");
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    /**
+     * Recomputes the concurrency limit, learning the quota from the server
+     * unless one was configured.
+     *
+     * @return The new concurrency limit.
+     */
+    public int refreshLimits() {
+        Integer configured = configuredQuota;
+        int quota = configured != null ? configured : learnQuota();
+        // A quota configured while the server was being asked wins.
+        Integer late = configuredQuota;
+        if (configured == null && late != null)
+            quota = late;
+        int newLimit = Math.max(1, quota - headroom);
+        setLimit(newLimit);
+        return newLimit;
+    }
+
+    private void setLimit(int newLimit) {
+        lock.lock();
+        try {
+            limit = newLimit;
+            slotOrWorkAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of searches waiting to be dispatched.
+     *
+     * @return The queue depth.
+     */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of searches dispatched and not yet finished.
+     *
+     * @return The number of in-flight searches.
+     */
+    public int getInFlightCount() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the maximum number of in-flight searches, or -1 if it has not
+     * been determined yet.
+     *
+     * @return The concurrency limit.
+     */
+    public int getConcurrencyLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of searches submitted to this scheduler.
+     *
+     * @return The number of submissions.
+     */
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    /**
+     * Returns the number of searches this scheduler has dispatched.
+     *
+     * @return The number of dispatched searches.
+     */
+    public long getDispatchedCount() {
+        return dispatchedCount.get();
+    }
+
+    /**
+     * Returns the number of dispatched searches whose slot has been released.
+     *
+     * @return The number of finished searches.
+     */
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * Returns the average time dispatched searches spent in the queue.
+     *
+     * @return The average wait, in milliseconds.
+     */
+    public double getAverageWaitMillis() {
+        long dispatched = dispatchedCount.get();
+        if (dispatched == 0) return 0;
+        return totalWaitNanos.get() / 1e6 / dispatched;
+    }
+
+    /**
+     * Returns the longest time a dispatched search spent in the queue.
+     *
+     * @return The maximum wait, in milliseconds.
+     */
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1e6;
+    }
+
+    /**
+     * Stops the scheduler. Queued searches that have not been dispatched are
+     * cancelled; searches already running on the server are left alone.
+     */
+    public void close() {
+        List<Submission<?>> pending;
+        lock.lock();
+        try {
+            closed = true;
+            pending = new ArrayList<Submission<?>>(queue);
+            queue.clear();
+            slotOrWorkAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Submission<?> submission : pending) {
+            submission.future.cancel(false);
+        }
+        monitor.shutdownNow();
+        workers.shutdown();
+    }
+
+    private <T> Future<T> enqueue(Submission<T> submission) {
+        lock.lock();
+        try {
+            if (closed)
+                throw new IllegalStateException("The search scheduler is closed.");
+            queue.add(submission);
+            submittedCount.incrementAndGet();
+            slotOrWorkAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return submission.future;
+    }
+
+    // Learns the concurrency quota for the current user: the smallest of the
+    // largest role quota and the server-wide limit.
+    int learnQuota() {
+        int userQuota = learnUserQuota();
+        int serverQuota = learnServerQuota();
+        if (userQuota <= 0 && serverQuota <= 0)
+            return FALLBACK_QUOTA;
+        if (userQuota <= 0)
+            return serverQuota;
+        if (serverQuota <= 0)
+            return userQuota;
+        return Math.min(userQuota, serverQuota);
+    }
+
+    private int learnUserQuota() {
+        try {
+            Entity context = new Entity(service, "authentication/current-context");
+            String[] roles = context.getStringArray("roles", new String[0]);
+            int quota = 0;
+            for (String roleName : roles) {
+                Role role = new Role(service, "authorization/roles/" + roleName);
+                quota = Math.max(quota, role.getInteger("srchJobsQuota", 0));
+                quota = Math.max(quota, role.getInteger("imported_srchJobsQuota", 0));
+            }
+            return quota;
+        } catch (HttpException e) {
+            return 0;
+        }
+    }
+
+    private int learnServerQuota() {
+        try {
+            Entity limits = new Entity(service, "configs/conf-limits/search");
+            int baseMaxSearches = limits.getInteger("base_max_searches", 6);
+            int maxSearchesPerCpu = limits.getInteger("max_searches_per_cpu", 1);
+            ServiceInfo info = service.getInfo();
+            int cpus = info.getInteger("numberOfVirtualCores", info.getInteger("numberOfCores", 1));
+            return maxSearchesPerCpu * cpus + baseMaxSearches;
+        } catch (HttpException e) {
+            return 0;
+        }
+    }
+
+    private void dispatchLoop() {
+        while (true) {
+            Submission<?> submission;
+            if (getConcurrencyLimit() < 0) {
+                try {
+                    refreshLimits();
+                } catch (RuntimeException e) {
+                    setLimit(Math.max(1, FALLBACK_QUOTA - headroom));
+                }
+            }
+            lock.lock();
+            try {
+                while (!closed && (queue.isEmpty() || inFlight >= limit)) {
+                    slotOrWorkAvailable.await();
+                }
+                if (closed) return;
+                submission = queue.poll();
+                if (submission.future.isCancelled()) continue;
+                inFlight++;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            long waited = System.nanoTime() - submission.enqueuedAt;
+            totalWaitNanos.addAndGet(waited);
+            long max;
+            while (waited > (max = maxWaitNanos.get()) && !maxWaitNanos.compareAndSet(max, waited)) { }
+            dispatchedCount.incrementAndGet();
+
+            final Submission<?> dispatched = submission;
+            workers.execute(new Runnable() {
+                public void run() {
+                    dispatched.run();
+                }
+            });
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            slotOrWorkAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        completedCount.incrementAndGet();
+    }
+
+    private void trackJob(Job job) {
+        lock.lock();
+        try {
+            runningJobs.add(job.getSid());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the slots of jobs that have finished, checking all of them
+     * with a single listing of the jobs.
+     */
+    private void pollRunningJobs() {
+        List<String> sids;
+        lock.lock();
+        try {
+            sids = new ArrayList<String>(runningJobs);
+        } finally {
+            lock.unlock();
+        }
+
+        Map<String, JobStatus> statuses = null;
+        if (!sids.isEmpty()) {
+            try {
+                statuses = service.getJobStatuses(
+                        new Args("f", new String[] { "sid", "dispatchState", "isZombie" }));
+            } catch (RuntimeException e) {
+                // Unreachable for now; try again at the next poll.
+            }
+        }
+
+        if (statuses != null) {
+            for (String sid : sids) {
+                JobStatus status = statuses.get(sid);
+                // A job missing from the listing was cancelled or expired.
+                boolean finished = status == null
+                        || "DONE".equals(status.getDispatchState())
+                        || "FAILED".equals(status.getDispatchState())
+                        || status.isZombie();
+                if (!finished) continue;
+                boolean removed;
+                lock.lock();
+                try {
+                    removed = runningJobs.remove(sid);
+                } finally {
+                    lock.unlock();
+                }
+                if (removed) release();
+            }
+        }
+
+        if (!monitor.isShutdown()) {
+            monitor.schedule(new Runnable() {
+                public void run() {
+                    pollRunningJobs();
+                }
+            }, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * A queued search. Ordered by descending priority, then by submission
+     * order.
+     */
+    private abstract class Submission<T> implements Comparable<Submission<?>> {
+        final int priority;
+        final long order = sequence.incrementAndGet();
+        final long enqueuedAt = System.nanoTime();
+        final boolean createsJob;
+        final CompletableFuture<T> future = new CompletableFuture<T>();
+
+        Submission(int priority, boolean createsJob) {
+            this.priority = priority;
+            this.createsJob = createsJob;
+        }
+
+        abstract T execute() throws Exception;
+
+        void run() {
+            T result;
+            try {
+                result = execute();
+            } catch (Throwable e) {
+                release();
+                future.completeExceptionally(e);
+                return;
+            }
+            if (createsJob && result != null) {
+                trackJob((Job) result);
+            } else {
+                release();
+            }
+            future.complete(result);
+        }
+
+        public int compareTo(Submission<?> other) {
+            if (priority != other.priority)
+                return priority > other.priority ? -1 : 1;
+            return order < other.order ? -1 : (order == other.order ? 0 : 1);
+        }
+    }
+}
@@ -20,9 +20,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.*;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * The {@code Service} class represents a Splunk service instance at a given
@@ -37,13 +41,17 @@ import java.util.Map;
  * authenticated by presenting credentials using the {@code login} method, or
  * by constructing the {@code Service} instance using the {@code connect}
  * method, which both creates and authenticates the instance.
+ * <p>
+ * A {@code Service} instance is safe for concurrent use by multiple threads.
+ * The server version and instance type are fetched at most once (at login,
+ * or on first use) and then shared by every caller.
  */
 public class Service extends BaseService {
     /** The current app context. */
     protected String app = null;
 
     /** The current session token. */
-    protected String token = null;
+    protected volatile String token = null;
 
     /** The current owner context. A value of "nobody" means that all users
      * have access to the resource.
@@ -61,13 +69,40 @@ public class Service extends BaseService {
     protected String simpleReceiverEndPoint = "/services/receivers/simple";
 
     /** The default password endpoint, can change over Splunk versions. */
-    protected String passwordEndPoint = "admin/passwords";
+    protected volatile String passwordEndPoint = "admin/passwords";
 
     /** The version of this Splunk instance, once logged in. */
-    public String version = null;
+    public volatile String version = null;
 
     /** The type of this Splunk instance, once logged in. */
-    public String instanceType = null;
+    public volatile String instanceType = null;
+
+    /** Guards the one-time fetch of {@code version} and {@code instanceType}. */
+    private final Object serverInfoLock = new Object();
+
+    /** The opt-in cache of finished job results, or {@code null}. */
+    private volatile JobResultsCache resultsCache = null;
+
+    /** The number of read-ahead buffers for result streams, or 0 for none. */
+    private volatile int readAheadBuffers = 0;
+
+    /** The size of each read-ahead buffer, in bytes. */
+    private volatile int readAheadBufferSize = ReadAheadInputStream.DEFAULT_BUFFER_SIZE;
+
+    /** The opt-in manager of the jobs this service creates, or {@code null}. */
+    private volatile JobLifecycleManager jobLifecycleManager = null;
+
+    /** The cache of compiled pivots, created on first use. */
+    private volatile PivotCache pivotCache = null;
+
+    /** The client-side search scheduler, created on first use. */
+    private volatile SearchScheduler searchScheduler = null;
+
+    /** The manager that shares this instance's login session, or {@code null}. */
+    private volatile SessionManager sessionManager = null;
+
+    /** The shared session this instance logged in to, or {@code null}. */
+    private volatile SessionManager.Session session = null;
 
     /** The default host name, which is used when a host name is not provided.*/
     public static String DEFAULT_HOST = "localhost";
@@ -221,6 +256,10 @@ public class Service extends BaseService {
      * @return The {@code InputStream} object that contains the search results.
      */
     public InputStream export(String search, Map args) {
+        return new ExportResultsStream(readAhead(openExport(search, args)));
+    }
+
+    private InputStream openExport(String search, Map args) {
         args = Args.create(args).add("search", search);
         // By default don't highlight search terms in the output.
         if (!args.containsKey("segmentation")) {
@@ -233,7 +272,7 @@ public class Service extends BaseService {
         else {
             response = post(JobCollection.REST_PATH + "/export", args);
         }
-        return new ExportResultsStream(response.getContent());
+        return response.getContent();
     }
 
     /**
@@ -250,6 +289,91 @@ public class Service extends BaseService {
         return export(search, (Map<String, Object>) args);
     }
 
+    /**
+     * Runs an export search and writes its raw output to a channel, without
+     * parsing it. The channel is left open.
+     *
+     * @param search The search query to run.
+     * @param args Additional search arguments (see {@code JobExportArgs}).
+     * @param target The channel to write to.
+     * @param options The buffer size, compression, and progress listener,
+     * or {@code null} for the defaults.
+     * @return The number of bytes written.
+     * @throws IOException If writing to the channel fails.
+     */
+    public long exportTo(String search, Map args, WritableByteChannel target, TransferOptions options)
+            throws IOException {
+        return RawTransfer.transfer(openExport(search, args), target, options);
+    }
+
+    /**
+     * Runs an export search and writes its raw output to a file, replacing
+     * its contents. If the export fails, the file is deleted.
+     *
+     * @param search The search query to run.
+     * @param args Additional search arguments (see {@code JobExportArgs}).
+     * @param target The file to write to.
+     * @param options The buffer size, compression, and progress listener,
+     * or {@code null} for the defaults.
+     * @return The number of bytes written.
+     * @throws IOException If writing to the file fails.
+     */
+    public long exportTo(String search, Map args, Path target, TransferOptions options) throws IOException {
+        return RawTransfer.transfer(openExport(search, args), target, options);
+    }
+
+    /**
+     * Creates an export of a search that runs as several concurrent exports
+     * over slices of its time range (see {@link ParallelExport}). Configure
+     * the export, then iterate over it.
+     *
+     * @param search The search query to run.
+     * @param args Additional search arguments, as for
+     * {@link #export(String, Map)}, including an absolute
+     * {@code earliest_time}.
+     * @return The export, not yet started.
+     */
+    public ParallelExport exportInParallel(String search, Map args) {
+        return new ParallelExport(this, search, args);
+    }
+
+    /**
+     * Runs an export search and returns a reader for its final results.
+     * Unless {@code args} sets an {@code output_mode}, the results are
+     * requested in the compact {@code json_rows} mode and read with
+     * {@link ResultsReaderJsonRows}.
+     *
+     * @param search The search query to run.
+     * @param args Additional search arguments, as for
+     * {@link #export(String, Map)}.
+     * @return The reader.
+     * @throws IOException The IOException instance
+     */
+    public ResultsReader getExportReader(String search, Map args) throws IOException {
+        args = Job.compactOutputMode(args);
+        return ResultsReader.forOutputMode(export(search, args), (String)args.get("output_mode"));
+    }
+
+    /**
+     * Returns a publisher of the results of an export search. Each
+     * subscriber runs its own export, which is parsed on the given executor
+     * as the subscriber requests events. Preview results are skipped.
+     *
+     * @param search The search query to run.
+     * @param args Additional search arguments, as for
+     * {@link #export(String, Map)}. The {@code output_mode} may be
+     * {@code xml} (the default), {@code json}, or {@code json_rows}.
+     * @param executor The executor that reads and parses the results.
+     * @return The publisher.
+     */
+    public ResultsPublisher getExportPublisher(final String search, final Map args, Executor executor) {
+        return new ResultsPublisher(new ResultsPublisher.Source() {
+            public InputStream open() {
+                return export(search, args);
+            }
+        }, ResultsPublisher.outputMode(args), executor);
+    }
+
     /**
      * Ensures that the given path is fully qualified, prepending a path
      * prefix if necessary. The path prefix is constructed using the current
@@ -585,6 +709,18 @@ public class Service extends BaseService {
         return new IndexCollection(this, args);
     }
 
+    /**
+     * Starts sampling the event count and size of every index, from which
+     * ingest rates can be read at any time.
+     *
+     * @param intervalMillis The interval between samples, in milliseconds.
+     * @return The running sampler; close it to stop sampling.
+     * @see IndexMetricsSampler
+     */
+    public IndexMetricsSampler sampleIndexMetrics(long intervalMillis) {
+        return new IndexMetricsSampler(this).start(intervalMillis);
+    }
+
     /**
      * Returns information about the Splunk service.
      *
@@ -676,6 +812,50 @@ public class Service extends BaseService {
         return new JobCollection(this, args);
     }
 
+    /**
+     * Returns status snapshots of the current search jobs, taken from a
+     * single listing of the jobs.
+     *
+     * @return The snapshots, by search ID, in the order of the listing.
+     */
+    public Map<String, JobStatus> getJobStatuses() {
+        return getJobStatuses(null);
+    }
+
+    /**
+     * Returns status snapshots of the current search jobs, taken from a
+     * single listing of the jobs.
+     *
+     * @param args Optional arguments for the jobs listing, such as
+     * {@code search} to filter the jobs. All jobs are listed unless
+     * {@code count} is set.
+     * @return The snapshots, by search ID, in the order of the listing.
+     */
+    public Map<String, JobStatus> getJobStatuses(Map args) {
+        Args listArgs = Args.create(args);
+        if (!listArgs.containsKey("count")) {
+            listArgs.put("count", 0);
+        }
+        ResponseMessage response = get(JobCollection.REST_PATH, listArgs);
+        AtomFeed feed;
+        try {
+            feed = AtomFeed.parseStream(response.getContent());
+        } finally {
+            try {
+                response.getContent().close();
+            } catch (IOException e) {
+                // Already read.
+            }
+        }
+        Map<String, JobStatus> statuses = new LinkedHashMap<String, JobStatus>();
+        for (AtomEntry entry : feed.entries) {
+            Record content = entry.content == null ? new Record() : entry.content;
+            JobStatus status = new JobStatus(content, entry.published);
+            statuses.put(status.getSid() == null ? entry.title : status.getSid(), status);
+        }
+        return statuses;
+    }
+
     /**
      * Returns a Job by the provided sid.
      *
@@ -989,6 +1169,27 @@ public class Service extends BaseService {
         return new PasswordCollection(this, args);
     }
 
+    /**
+     * Returns the cache of compiled pivots for this service, creating it on
+     * first use. Pivot specifications evaluated through the cache are
+     * compiled by splunkd only once per data model version.
+     *
+     * @return The pivot cache.
+     */
+    public PivotCache getPivotCache() {
+        PivotCache cache = pivotCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = pivotCache;
+                if (cache == null) {
+                    cache = new PivotCache();
+                    pivotCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
     /**
      * Returns the receiver object for the Splunk service.
      *
@@ -998,6 +1199,15 @@ public class Service extends BaseService {
         return new Receiver(this);
     }
 
+    /**
+     * Returns the cache used for the results of finished jobs.
+     *
+     * @return The results cache, or {@code null} if none is installed.
+     */
+    public JobResultsCache getResultsCache() {
+        return this.resultsCache;
+    }
+
     /**
      * Returns a collection of Splunk user roles.
      *
@@ -1052,6 +1262,28 @@ public class Service extends BaseService {
         return new SavedSearchCollection(this, args);
     }
 
+    /**
+     * Returns the client-side search scheduler for this service, creating it
+     * on first use. The scheduler queues searches and dispatches them so
+     * that the number of running searches stays just under the user's
+     * search concurrency quota.
+     *
+     * @return The search scheduler.
+     */
+    public SearchScheduler getSearchScheduler() {
+        SearchScheduler scheduler = searchScheduler;
+        if (scheduler == null) {
+            synchronized (this) {
+                scheduler = searchScheduler;
+                if (scheduler == null) {
+                    scheduler = new SearchScheduler(this);
+                    searchScheduler = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+
     /**
      * Returns a Saved Search by the provided title key.
      *
@@ -1168,18 +1400,25 @@ public class Service extends BaseService {
         this.username = username;
         this.password = password;
 
-        Args args = new Args();
-        args.put("username", username);
-        args.put("password", password);
-        args.put("cookie", "1");
-        ResponseMessage response = post("/services/auth/login", args);
-        String sessionKey = Xml.parse(response.getContent())
-            .getElementsByTagName("sessionKey")
-            .item(0)
-            .getTextContent();
-        this.token = "Splunk " + sessionKey;
-        this.version = this.getInfo().getVersion();
-        this.instanceType = this.getInfo().getInstanceType();
+        SessionManager manager = this.sessionManager;
+        if (manager != null) {
+            SessionManager.Session shared = manager.session(this, username, password);
+            this.session = shared;
+            this.token = shared.token(this);
+            synchronized (serverInfoLock) {
+                this.instanceType = shared.getInstanceType();
+                this.version = shared.getVersion();
+            }
+        } else {
+            this.session = null;
+            Args args = new Args();
+            args.put("username", username);
+            args.put("password", password);
+            args.put("cookie", "1");
+            ResponseMessage response = post("/services/auth/login", args);
+            this.token = "Splunk " + SessionManager.readSessionKey(response.getContent());
+            loadServerInfo();
+        }
         if (versionCompare("4.3") >= 0)
             this.passwordEndPoint = "storage/passwords";
 
@@ -1192,6 +1431,7 @@ public class Service extends BaseService {
      * @return The current {@code Service} instance.
      */
     public Service logout() {
+        this.session = null;
         this.token = null;
         this.removeAllCookies();
         return this;
@@ -1344,6 +1584,10 @@ public class Service extends BaseService {
      * @return The HTTP response.
      */
     @Override public ResponseMessage send(String path, RequestMessage request) {
+        SessionManager.Session shared = this.session;
+        if (shared != null) {
+            return sendInSession(shared, path, request);
+        }
         // cookieStore is a protected member of HttpService
         if (token != null && !cookieStore.hasSplunkAuthCookie() ) {
             request.getHeader().put("Authorization", token);
@@ -1351,6 +1595,142 @@ public class Service extends BaseService {
         return super.send(fullpath(path), request);
     }
 
+    /**
+     * Sends a request with the token of a shared session, renewing the
+     * session and replaying the request once if the server no longer
+     * accepts the token.
+     */
+    private ResponseMessage sendInSession(SessionManager.Session shared,
+                                          String path, RequestMessage request) {
+        String current = shared.token(this);
+        this.token = current;
+        request.getHeader().put("Authorization", current);
+        try {
+            return super.send(fullpath(path), request);
+        } catch (HttpException e) {
+            if (e.getStatus() != 401) throw e;
+        }
+        String renewed = shared.renew(this, current);
+        this.token = renewed;
+        request.getHeader().put("Authorization", renewed);
+        return super.send(fullpath(path), request);
+    }
+
+    /**
+     * Posts the credentials to {@code auth/login} without a session, and
+     * returns the new session key.
+     */
+    String requestSessionKey(String username, String password) {
+        Args args = new Args();
+        args.put("username", username);
+        args.put("password", password);
+        RequestMessage request = new RequestMessage("POST");
+        request.getHeader().put(
+                "Content-Type", "application/x-www-form-urlencoded");
+        request.setContent(Args.encode(args));
+        ResponseMessage response = super.send(fullpath("/services/auth/login"), request);
+        return SessionManager.readSessionKey(response.getContent());
+    }
+
+    /**
+     * Shares the login sessions of this instance through a session manager.
+     * Set the manager before logging in; instances that log in to the same
+     * server as the same user through one manager then share a single
+     * session, and requests rejected because the session expired are
+     * replayed after logging in again.
+     *
+     * @param manager The session manager, such as
+     * {@link SessionManager#getDefault}, or {@code null} to log in
+     * separately.
+     */
+    public void setSessionManager(SessionManager manager) {
+        this.sessionManager = manager;
+        if (manager == null) {
+            this.session = null;
+        }
+    }
+
+    /**
+     * Returns the session manager of this instance.
+     *
+     * @return The session manager, or {@code null} if there is none.
+     */
+    public SessionManager getSessionManager() {
+        return sessionManager;
+    }
+
+    /**
+     * Installs a cache for the results of finished jobs. Once installed,
+     * {@link Job#getResults(Map)} on a job that is done serves repeated reads
+     * of the same results from local disk.
+     *
+     * @param cache The results cache, or {@code null} to stop caching.
+     */
+    public void setResultsCache(JobResultsCache cache) {
+        this.resultsCache = cache;
+    }
+
+    /**
+     * Reads result streams ahead on a background thread, so that parsing
+     * overlaps with the network. Once set, the streams returned by
+     * {@link Job#getResults}, {@link Job#getEvents},
+     * {@link Job#getResultsPreview}, and {@link #export} are read ahead into
+     * the given number of buffers.
+     *
+     * @param buffers The number of buffers for each stream, or 0 to stop
+     * reading ahead.
+     * @param bufferSize The size of each buffer, in bytes.
+     * @see ReadAheadInputStream
+     */
+    public void setReadAhead(int buffers, int bufferSize) {
+        if (buffers != 0 && (buffers < 2 || bufferSize <= 0))
+            throw new IllegalArgumentException("Invalid read-ahead buffers.");
+        this.readAheadBufferSize = bufferSize;
+        this.readAheadBuffers = buffers;
+    }
+
+    /**
+     * Wraps a result stream in a {@link ReadAheadInputStream} if reading
+     * ahead is enabled.
+     */
+    InputStream readAhead(InputStream stream) {
+        int buffers = readAheadBuffers;
+        if (buffers == 0 || stream == null) return stream;
+        return new ReadAheadInputStream(stream, buffers, readAheadBufferSize);
+    }
+
+    /**
+     * Returns the manager that keeps the jobs of this service alive.
+     *
+     * @return The job lifecycle manager, or {@code null} if none is set.
+     */
+    public JobLifecycleManager getJobLifecycleManager() {
+        return this.jobLifecycleManager;
+    }
+
+    /**
+     * Sets a manager that keeps the jobs of this service alive. Once set,
+     * every job created through {@link JobCollection#create},
+     * {@link #search}, or {@link SavedSearch#dispatch} is tracked by it,
+     * touched while it is in use, and cancelled if it is still tracked when
+     * the manager is closed.
+     *
+     * @param manager The job lifecycle manager, or {@code null} to stop
+     * tracking new jobs.
+     * @see JobLifecycleManager
+     */
+    public void setJobLifecycleManager(JobLifecycleManager manager) {
+        this.jobLifecycleManager = manager;
+    }
+
+    /**
+     * Hands a newly created job to the job lifecycle manager, if one is set.
+     */
+    Job trackJob(Job job) {
+        JobLifecycleManager manager = jobLifecycleManager;
+        return manager == null ? job : manager.track(job);
+    }
+
     /**
      * Provides a session token for use by this {@code Service} instance.
      * Session tokens can be shared across multiple {@code Service} instances.
@@ -1385,9 +1765,7 @@ public class Service extends BaseService {
 
 
     public boolean enableV2SearchApi(){
-        if(null == this.instanceType){
-            this.instanceType = this.getInfo().getInstanceType();
-        }
+        ensureServerInfo();
         if(this.instanceType.equalsIgnoreCase("cloud")) {
             return versionIsAtLeast("9.0.2209");
         }else{
@@ -1395,6 +1773,41 @@ public class Service extends BaseService {
         }
     }
 
+    /**
+     * Fetches the version and instance type of the server with a single
+     * request and publishes both to every thread using this instance.
+     */
+    private void loadServerInfo() {
+        synchronized (serverInfoLock) {
+            ServiceInfo info = this.getInfo();
+            String serverVersion = info.getVersion();
+            String serverInstanceType = info.getInstanceType();
+            this.instanceType = serverInstanceType;
+            this.version = serverVersion;
+        }
+    }
+
+    /**
+     * Ensures the version and instance type of the server are known, fetching
+     * them at most once no matter how many threads ask at the same time.
+     */
+    private void ensureServerInfo() {
+        if (this.version != null && this.instanceType != null) {
+            return;
+        }
+        synchronized (serverInfoLock) {
+            if (this.version == null || this.instanceType == null) {
+                ServiceInfo info = this.getInfo();
+                if (this.instanceType == null) {
+                    this.instanceType = info.getInstanceType();
+                }
+                if (this.version == null) {
+                    this.version = info.getVersion();
+                }
+            }
+        }
+    }
+
     /**
      * Returns true if this Splunk instance's version is no earlier than
      * the version specified in {@code version}.
@@ -1443,9 +1856,7 @@ public class Service extends BaseService {
      *         or 1 if this version is greater than the given version.
      */
     public int versionCompare(String otherVersion) {
-        if(null == this.version){
-            this.version = this.getInfo().getVersion();
-        }
+        ensureServerInfo();
         String[] components1 = this.version.split("\\.");
         String[] components2 = otherVersion.split("\\.");
         int numComponents = Math.max(components1.length, components2.length);
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code ServiceCluster} class spreads searches across the members of a
+ * search head cluster, or any set of equivalent Splunk instances.
+ * <p>
+ * Each member is a {@link Service} of its own. The cluster:
+ * <ul>
+ * <li>Checks the health of every member in the background, and stops
+ * routing to members that cannot be reached until they answer again.</li>
+ * <li>Routes new searches to the healthy member with the fewest requests in
+ * flight, or with the lowest recent latency (see {@link RoutingPolicy}).</li>
+ * <li>Remembers which member owns each search it creates, so that
+ * {@link #getJob} returns a job bound to that member.</li>
+ * <li>Creates a search on the next member when the chosen one cannot be
+ * reached, and marks the unreachable member down. A search that may already
+ * have reached a member is never sent to another one.</li>
+ * </ul>
+ * Call {@link #close} to stop the health checks.
+ */
+public class ServiceCluster implements Closeable {
+    /**
+     * How the cluster chooses a member for new work.
+     */
+    public enum RoutingPolicy {
+        /** The member with the fewest requests in flight. */
+        LEAST_OUTSTANDING,
+        /** The member with the lowest recent response time. */
+        LOWEST_LATENCY
+    }
+
+    /** The default interval between health checks, in milliseconds. */
+    public static final long DEFAULT_HEALTH_CHECK_INTERVAL = 10000;
+
+    private static final int MAX_PINNED_JOBS = 10000;
+
+    private final List<Member> members;
+    private final ScheduledExecutorService healthChecker;
+    private final AtomicInteger nextMember = new AtomicInteger();
+    private final Map<String, Member> owners = new LinkedHashMap<String, Member>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<String, Member> eldest) {
+            return size() > MAX_PINNED_JOBS;
+        }
+    };
+
+    private volatile RoutingPolicy policy = RoutingPolicy.LEAST_OUTSTANDING;
+    private ScheduledFuture<?> healthCheck = null;
+
+    /**
+     * Creates a cluster of the given members. Each map holds the arguments
+     * of one member, as for {@link Service#Service(Map)}.
+     *
+     * @param members The arguments of each member.
+     */
+    public ServiceCluster(List<? extends Map<String, Object>> members) {
+        if (members == null || members.isEmpty())
+            throw new IllegalArgumentException("A cluster needs at least one member.");
+        List<Member> list = new ArrayList<Member>();
+        for (Map<String, Object> args : members) {
+            list.add(new Member(args));
+        }
+        this.members = Collections.unmodifiableList(list);
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(
+                Util.daemonThreadFactory("splunk-cluster-health"));
+        setHealthCheckInterval(DEFAULT_HEALTH_CHECK_INTERVAL);
+    }
+
+    /**
+     * Creates a cluster of the given members and, if the arguments include
+     * a username, logs in to each member.
+     *
+     * @param members The arguments of each member.
+     * @return The cluster.
+     */
+    public static ServiceCluster connect(List<? extends Map<String, Object>> members) {
+        ServiceCluster cluster = new ServiceCluster(members);
+        if (members.get(0).containsKey("username")) {
+            cluster.login();
+        }
+        return cluster;
+    }
+
+    /**
+     * Logs in to every member with the credentials it was created with.
+     * Members that cannot be reached are marked down and skipped.
+     *
+     * @return This cluster.
+     * @throws RuntimeException If no member could be logged in to.
+     */
+    public ServiceCluster login() {
+        RuntimeException failure = null;
+        int loggedIn = 0;
+        for (Member member : members) {
+            try {
+                member.login();
+                member.healthy = true;
+                loggedIn++;
+            } catch (HttpException e) {
+                int status = e.getStatus();
+                if (status == 401 || status == 403)
+                    throw e; // Rejected credentials are not a member failure.
+                member.healthy = false;
+                failure = e;
+            } catch (RuntimeException e) {
+                member.healthy = false;
+                failure = e;
+            }
+        }
+        if (loggedIn == 0)
+            throw failure;
+        return this;
+    }
+
+    /**
+     * Sets how new work is routed. The default is
+     * {@link RoutingPolicy#LEAST_OUTSTANDING}.
+     *
+     * @param policy The routing policy.
+     */
+    public void setRoutingPolicy(RoutingPolicy policy) {
+        if (policy == null)
+            throw new IllegalArgumentException("The routing policy must not be null.");
+        this.policy = policy;
+    }
+
+    /**
+     * Sets the interval between health checks, and restarts them.
+     *
+     * @param millis The interval, in milliseconds.
+     */
+    public synchronized void setHealthCheckInterval(long millis) {
+        if (millis <= 0)
+            throw new IllegalArgumentException("The health check interval must be positive.");
+        if (healthCheck != null) {
+            healthCheck.cancel(false);
+        }
+        healthCheck = healthChecker.scheduleWithFixedDelay(new Runnable() {
+            public void run() {
+                checkHealth();
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the members of this cluster.
+     *
+     * @return The members, in the order they were given.
+     */
+    public List<Service> getMembers() {
+        return Collections.<Service>unmodifiableList(members);
+    }
+
+    /**
+     * Indicates whether a member is considered reachable.
+     *
+     * @param member A member of this cluster.
+     * @return {@code true} if work is routed to the member.
+     */
+    public boolean isHealthy(Service member) {
+        return ((Member)member).healthy;
+    }
+
+    /**
+     * Returns the member that new work should go to, according to the
+     * routing policy.
+     *
+     * @return A member of this cluster.
+     */
+    public Service getService() {
+        return candidates().get(0);
+    }
+
+    /**
+     * Creates a search job on the member chosen by the routing policy. If
+     * that member cannot be reached, it is marked down and the next member
+     * is tried. A failure after the search may have reached a member, such
+     * as a read timeout, is thrown rather than risk running the search
+     * twice.
+     *
+     * @param query The search query.
+     * @return The job, bound to the member that runs it.
+     */
+    public Job createJob(String query) {
+        return createJob(query, null);
+    }
+
+    /**
+     * Creates a search job with arguments on the member chosen by the
+     * routing policy. If that member cannot be reached, or answers 503
+     * before dispatching the search, it is marked down and the next member
+     * is tried. A failure after the search may have reached a member is
+     * thrown rather than risk running the search twice.
+     *
+     * @param query The search query.
+     * @param args Additional arguments for the job (see {@link JobArgs}).
+     * @return The job, bound to the member that runs it.
+     */
+    public Job createJob(String query, Map args) {
+        RuntimeException failure = null;
+        for (Member member : candidates()) {
+            Job job;
+            try {
+                job = member.getJobs().dispatch(query, args);
+            } catch (HttpException e) {
+                if (e.getStatus() != 503) throw e;
+                member.healthy = false;
+                failure = e;
+                continue;
+            } catch (RuntimeException e) {
+                if (!neverSent(e)) throw e;
+                member.healthy = false;
+                failure = e;
+                continue;
+            }
+            // The search is running on this member from here on.
+            pin(job.getSid(), member);
+            job.refresh();
+            return member.trackJob(job);
+        }
+        throw failure;
+    }
+
+    /**
+     * Returns a job by its search ID, bound to the member that owns it.
+     * Jobs created through this cluster are found directly; other jobs are
+     * looked up on each member in turn.
+     *
+     * @param sid The search ID.
+     * @return The job, or {@code null} if no reachable member has it.
+     */
+    public Job getJob(String sid) {
+        Member owner = ownerOf(sid);
+        if (owner != null) {
+            return owner.getJob(sid);
+        }
+        for (Member member : candidates()) {
+            Job job = member.getJob(sid);
+            try {
+                job.refresh();
+            } catch (HttpException e) {
+                if (e.getStatus() == 404) continue;
+                throw e;
+            } catch (RuntimeException e) {
+                member.healthy = false;
+                continue;
+            }
+            pin(sid, member);
+            return job;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the member that owns a job created or found through this
+     * cluster.
+     *
+     * @param sid The search ID.
+     * @return The member, or {@code null} if the job is not known.
+     */
+    public Service getOwner(String sid) {
+        return ownerOf(sid);
+    }
+
+    /**
+     * Stops the health checks.
+     */
+    public void close() {
+        healthChecker.shutdownNow();
+    }
+
+    /**
+     * Indicates whether a request failed before a connection to the member
+     * was made, so that the member cannot have acted on it.
+     */
+    private static boolean neverSent(RuntimeException e) {
+        Throwable cause = e.getCause();
+        return cause instanceof ConnectException
+                || cause instanceof NoRouteToHostException
+                || cause instanceof UnknownHostException;
+    }
+
+    private Member ownerOf(String sid) {
+        synchronized (owners) {
+            return owners.get(sid);
+        }
+    }
+
+    private void pin(String sid, Member member) {
+        synchronized (owners) {
+            owners.put(sid, member);
+        }
+    }
+
+    /**
+     * Returns every member, healthy ones first in order of preference, then
+     * the others in case they have recovered since the last check.
+     */
+    private List<Member> candidates() {
+        // Rotate the starting point so that ties are spread evenly.
+        int start = Math.abs(nextMember.getAndIncrement() % members.size());
+        List<Member> healthy = new ArrayList<Member>();
+        List<Member> down = new ArrayList<Member>();
+        for (int i = 0; i < members.size(); i++) {
+            Member member = members.get((start + i) % members.size());
+            (member.healthy ? healthy : down).add(member);
+        }
+        final RoutingPolicy policy = this.policy;
+        Collections.sort(healthy, new Comparator<Member>() {
+            public int compare(Member a, Member b) {
+                if (policy == RoutingPolicy.LOWEST_LATENCY) {
+                    return Long.compare(a.latencyNanos, b.latencyNanos);
+                }
+                return Integer.compare(a.outstanding.get(), b.outstanding.get());
+            }
+        });
+        healthy.addAll(down);
+        return healthy;
+    }
+
+    private void checkHealth() {
+        for (Member member : members) {
+            try {
+                ResponseMessage response = member.get("/services/server/info");
+                response.getContent().close();
+                member.healthy = true;
+            } catch (HttpException e) {
+                // The member answered; only server errors take it out.
+                member.healthy = e.getStatus() < 500;
+            } catch (IOException e) {
+                member.healthy = true;
+            } catch (RuntimeException e) {
+                member.healthy = false;
+            }
+        }
+    }
+
+    /**
+     * A member of the cluster, which keeps count of its requests in flight
+     * and of how long its requests take.
+     */
+    private static class Member extends Service {
+        final AtomicInteger outstanding = new AtomicInteger();
+        volatile long latencyNanos = 0;
+        volatile boolean healthy = true;
+
+        Member(Map<String, Object> args) {
+            super(args);
+        }
+
+        @Override public ResponseMessage send(String path, RequestMessage request) {
+            outstanding.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                ResponseMessage response = super.send(path, request);
+                record(System.nanoTime() - start);
+                return response;
+            } catch (HttpException e) {
+                record(System.nanoTime() - start);
+                throw e;
+            } catch (RuntimeException e) {
+                healthy = false;
+                throw e;
+            } finally {
+                outstanding.decrementAndGet();
+            }
+        }
+
+        private void record(long nanos) {
+            // An exponentially weighted moving average favors recent requests.
+            long previous = latencyNanos;
+            latencyNanos = previous == 0 ? nanos : (previous * 7 + nanos) / 8;
+        }
+    }
+}
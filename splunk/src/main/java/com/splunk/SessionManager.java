@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * The {@code SessionManager} class shares login sessions among the
+ * {@code Service} instances that connect to the same server as the same
+ * user.
+ * <p>
+ * A {@code Service} joins a manager with {@link Service#setSessionManager}
+ * before it logs in. From then on:
+ * <ul>
+ * <li>Only one login per server and user is in flight at a time; every
+ * other caller waits for it and reuses its session key.</li>
+ * <li>The server's version and instance type are fetched once per session
+ * and shared, rather than by every instance.</li>
+ * <li>A session that has been idle for nearly the server's session timeout
+ * is renewed before it is used, rather than after a request fails.</li>
+ * <li>A request that fails with 401 (Unauthorized) because the session
+ * expired anyway is replayed once, after a single renewal.</li>
+ * </ul>
+ * Sessions are shared only between instances that log in with the same
+ * password. Sessions obtained through a manager do not use authentication
+ * cookies, so that all of its instances present the same session key.
+ */
+public class SessionManager {
+    private static final SessionManager DEFAULT = new SessionManager();
+
+    private final Map<String, Session> sessions = new HashMap<String, Session>();
+
+    private volatile long sessionTimeoutMillis = 60 * 60 * 1000;
+    private volatile long renewalMarginMillis = 60 * 1000;
+
+    /**
+     * Returns the process-wide session manager.
+     *
+     * @return The default session manager.
+     */
+    public static SessionManager getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Sets how long the server keeps an idle session alive. This should
+     * match {@code sessionTimeout} in the server's {@code server.conf}; the
+     * default is one hour, as it is on the server.
+     *
+     * @param millis The session timeout, in milliseconds.
+     */
+    public void setSessionTimeout(long millis) {
+        if (millis <= 0)
+            throw new IllegalArgumentException("The session timeout must be positive.");
+        this.sessionTimeoutMillis = millis;
+    }
+
+    /**
+     * Sets how long before a session would time out it is renewed. The
+     * default is one minute.
+     *
+     * @param millis The renewal margin, in milliseconds.
+     */
+    public void setRenewalMargin(long millis) {
+        if (millis < 0)
+            throw new IllegalArgumentException("The renewal margin must not be negative.");
+        this.renewalMarginMillis = millis;
+    }
+
+    /**
+     * Forgets all sessions. Instances that already joined a session keep
+     * using it until it is renewed.
+     */
+    public void clear() {
+        synchronized (sessions) {
+            sessions.clear();
+        }
+    }
+
+    /**
+     * Returns the number of sessions this manager holds.
+     *
+     * @return The number of sessions.
+     */
+    public int size() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    /**
+     * Returns the session for the given service's server and credentials,
+     * creating it (without logging in) if needed.
+     */
+    Session session(Service service, String username, String password) {
+        String key = service.getScheme() + "://" + service.getHost() + ":"
+                + service.getPort() + "\n" + username + "\n" + digest(password);
+        synchronized (sessions) {
+            Session session = sessions.get(key);
+            if (session == null) {
+                session = new Session(username, password);
+                sessions.put(key, session);
+            }
+            return session;
+        }
+    }
+
+    private static String digest(String password) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha.digest(password.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the session key from an {@code auth/login} response, stopping
+     * at the first {@code sessionKey} element rather than building a
+     * document for the whole response.
+     *
+     * @param input The response body.
+     * @return The session key.
+     */
+    static String readSessionKey(InputStream input) {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try {
+            XMLStreamReader reader = factory.createXMLStreamReader(input);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT
+                            && reader.getLocalName().equals("sessionKey")) {
+                        return reader.getElementText().trim();
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        } finally {
+            try {
+                input.close();
+            } catch (IOException e) {
+                // Nothing more to read.
+            }
+        }
+        throw new RuntimeException("The login response has no session key.");
+    }
+
+    /**
+     * A login session shared by the instances of one server and user.
+     */
+    final class Session {
+        private final String username;
+        private final String password;
+
+        private volatile String token = null;
+        private volatile long lastUsed = 0;
+        private volatile String version = null;
+        private volatile String instanceType = null;
+
+        private Session(String username, String password) {
+            this.username = username;
+            this.password = password;
+        }
+
+        /**
+         * Returns a session token that is expected to be valid, logging in
+         * first if there is none yet or if it is about to time out.
+         */
+        String token(Service service) {
+            String current = token;
+            long now = System.currentTimeMillis();
+            if (current != null && !isStale(now)) {
+                lastUsed = now;
+                return current;
+            }
+            synchronized (this) {
+                if (token == null || isStale(System.currentTimeMillis())) {
+                    login(service);
+                }
+                lastUsed = System.currentTimeMillis();
+                return token;
+            }
+        }
+
+        /**
+         * Renews the session after the server rejected {@code rejected}.
+         * If another caller has renewed it in the meantime, that session is
+         * used instead of logging in again.
+         */
+        synchronized String renew(Service service, String rejected) {
+            if (token == null || token.equals(rejected)) {
+                login(service);
+            }
+            lastUsed = System.currentTimeMillis();
+            return token;
+        }
+
+        String getVersion() {
+            return version;
+        }
+
+        String getInstanceType() {
+            return instanceType;
+        }
+
+        private boolean isStale(long now) {
+            return now - lastUsed >= sessionTimeoutMillis - renewalMarginMillis;
+        }
+
+        // Called with the session locked.
+        private void login(Service service) {
+            token = "Splunk " + service.requestSessionKey(username, password);
+            lastUsed = System.currentTimeMillis();
+            if (version == null || instanceType == null) {
+                ServiceInfo info = service.getInfo();
+                instanceType = info.getInstanceType();
+                version = info.getVersion();
+            }
+        }
+    }
+}
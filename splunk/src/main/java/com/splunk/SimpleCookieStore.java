@@ -17,20 +17,27 @@
 
 package com.splunk;
 
+import java.util.Collections;
 import java.util.List;
 import java.net.HttpCookie;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.lang.StringBuilder;
 
 /**
  * The {@code SimpleCookieStore} class stores cookies for authentication.
+ * <p>
+ * The store is safe for use by multiple threads. Cookies are kept in an
+ * immutable snapshot that is replaced whenever a cookie changes, so reads
+ * (which happen on every request) never take a lock, and the "Cookie" header
+ * string is built once per change rather than once per request.
  */
 class SimpleCookieStore {
 
     public static final String SPLUNK_AUTH_COOKIE = "splunkd_";
 
-    private Map<String, String> cookieJar = new HashMap<String, String>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
     /**
      * Adds cookies from a "Set-Cookie" header to the cookie store.
      *
@@ -39,8 +46,23 @@ class SimpleCookieStore {
     public void add(String setCookieHeader) {
         if (setCookieHeader != null) {
             List<HttpCookie> cookies = HttpCookie.parse(setCookieHeader);
-            for (HttpCookie cookie : cookies) {
-                cookieJar.put(cookie.getName(), cookie.getValue());
+            synchronized (this) {
+                Map<String, String> cookieJar = snapshot.cookieJar;
+                boolean changed = false;
+                for (HttpCookie cookie : cookies) {
+                    if (!cookie.getValue().equals(cookieJar.get(cookie.getName()))) {
+                        changed = true;
+                        break;
+                    }
+                }
+                if (!changed) {
+                    return;
+                }
+                Map<String, String> updated = new LinkedHashMap<String, String>(cookieJar);
+                for (HttpCookie cookie : cookies) {
+                    updated.put(cookie.getName(), cookie.getValue());
+                }
+                snapshot = new Snapshot(updated);
             }
         }
     }
@@ -51,15 +73,7 @@ class SimpleCookieStore {
      * @return Cookie String in the format "Key=Value; Key=Value; etc"
      */
     public String getCookies() {
-        StringBuilder cookieStringBuilder = new StringBuilder();
-
-        for (Map.Entry<String, String> cookie : cookieJar.entrySet()) {
-            cookieStringBuilder.append(cookie.getKey());
-            cookieStringBuilder.append("=");
-            cookieStringBuilder.append(cookie.getValue());
-            cookieStringBuilder.append("; ");
-        }
-        return cookieStringBuilder.toString();
+        return snapshot.header;
     }
 
     /**
@@ -68,26 +82,47 @@ class SimpleCookieStore {
      * @return Boolean for whether or not the cookie store is empty
      */
     public Boolean isEmpty() {
-        return cookieJar.isEmpty();
+        return snapshot.cookieJar.isEmpty();
     }
 
     public boolean hasSplunkAuthCookie(){
-        if(cookieJar.isEmpty()){
-            return false;
-        }
-        for(String cookie : cookieJar.keySet()){
-            if(cookie.startsWith(SPLUNK_AUTH_COOKIE)){
-                return true;
-            }
-        }
-        return false;
+        return snapshot.hasSplunkAuthCookie;
     }
 
     /**
      * Removes all cookies from SimpleCookieStore
      */
-    public void removeAll() {
-        cookieJar.clear();
+    public synchronized void removeAll() {
+        snapshot = Snapshot.EMPTY;
     }
 
+    /**
+     * An immutable view of the cookie jar, together with the values derived
+     * from it that are needed on every request.
+     */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new LinkedHashMap<String, String>());
+
+        final Map<String, String> cookieJar;
+        final String header;
+        final boolean hasSplunkAuthCookie;
+
+        Snapshot(Map<String, String> cookieJar) {
+            this.cookieJar = Collections.unmodifiableMap(cookieJar);
+
+            StringBuilder cookieStringBuilder = new StringBuilder();
+            boolean hasAuthCookie = false;
+            for (Map.Entry<String, String> cookie : cookieJar.entrySet()) {
+                cookieStringBuilder.append(cookie.getKey());
+                cookieStringBuilder.append("=");
+                cookieStringBuilder.append(cookie.getValue());
+                cookieStringBuilder.append("; ");
+                if (cookie.getKey().startsWith(SPLUNK_AUTH_COOKIE)) {
+                    hasAuthCookie = true;
+                }
+            }
+            this.header = cookieStringBuilder.toString();
+            this.hasSplunkAuthCookie = hasAuthCookie;
+        }
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shares field names, and optionally the values of some fields, between the
+ * events parsed by one reader. Not thread-safe; each reader has its own.
+ */
+final class SymbolTable {
+    // Beyond this many names, new names are kept as they are.
+    private static final int MAX_NAMES = 65536;
+
+    private final Map<String, String> names = new HashMap<String, String>();
+    private final Map<String, Map<String, String>> values;
+    private final int maxValuesPerField;
+
+    SymbolTable(ValueDictionaries dictionaries) {
+        if (dictionaries == null) {
+            values = null;
+            maxValuesPerField = 0;
+        } else {
+            values = new HashMap<String, Map<String, String>>();
+            for (String field : dictionaries.getFields()) {
+                values.put(field, new HashMap<String, String>());
+            }
+            maxValuesPerField = dictionaries.getMaxValuesPerField();
+        }
+    }
+
+    /**
+     * Returns the shared instance of a field name.
+     */
+    String name(String name) {
+        if (name == null) return null;
+        String shared = names.get(name);
+        if (shared != null) return shared;
+        if (names.size() < MAX_NAMES) names.put(name, name);
+        return name;
+    }
+
+    /**
+     * Returns the shared instance of a value of a field, if the field has a
+     * dictionary.
+     */
+    String value(String field, String value) {
+        if (values == null || value == null) return value;
+        Map<String, String> dictionary = values.get(field);
+        if (dictionary == null) return value;
+        String shared = dictionary.get(value);
+        if (shared != null) return shared;
+        if (dictionary.size() < maxValuesPerField) dictionary.put(value, value);
+        return value;
+    }
+
+    /**
+     * Shares the values of a multivalued field in place.
+     */
+    String[] values(String field, String[] values) {
+        if (this.values == null || !this.values.containsKey(field)) return values;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = value(field, values[i]);
+        }
+        return values;
+    }
+}
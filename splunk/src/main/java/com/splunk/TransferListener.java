@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+/**
+ * The {@code TransferListener} interface follows the progress of a raw
+ * transfer of results, such as {@link Job#transferResultsTo}. Callbacks are
+ * made on the thread doing the transfer, once per buffer moved.
+ */
+public interface TransferListener {
+    /**
+     * Called after each buffer of results is written to the target.
+     *
+     * @param bytesRead The number of bytes read from the server so far.
+     * @param bytesWritten The number of bytes written to the target so far,
+     * which is less than {@code bytesRead} when compressing.
+     */
+    void onProgress(long bytesRead, long bytesWritten);
+}
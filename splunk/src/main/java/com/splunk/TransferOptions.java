@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+/**
+ * The {@code TransferOptions} class configures a raw transfer of results to
+ * a file or channel, such as {@link Job#transferResultsTo} or
+ * {@link Service#exportTo}.
+ */
+public class TransferOptions {
+    /** The default size of the transfer buffer, in bytes. */
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private boolean compression = false;
+    private TransferListener listener = null;
+
+    /**
+     * Sets the size of the buffer the results are moved through. The
+     * default is 1 MB.
+     *
+     * @param bytes The buffer size, in bytes.
+     * @return This set of options.
+     */
+    public TransferOptions setBufferSize(int bytes) {
+        if (bytes <= 0)
+            throw new IllegalArgumentException("The buffer size must be positive.");
+        this.bufferSize = bytes;
+        return this;
+    }
+
+    /**
+     * Sets whether the results are gzip-compressed as they are written. The
+     * default is {@code false}.
+     *
+     * @param compression {@code true} to write gzip data.
+     * @return This set of options.
+     */
+    public TransferOptions setCompression(boolean compression) {
+        this.compression = compression;
+        return this;
+    }
+
+    /**
+     * Sets the listener that follows the progress of the transfer.
+     *
+     * @param listener The listener, or {@code null} for none.
+     * @return This set of options.
+     */
+    public TransferOptions setListener(TransferListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Returns the size of the transfer buffer.
+     *
+     * @return The buffer size, in bytes.
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Returns whether the results are gzip-compressed as they are written.
+     *
+     * @return {@code true} if compressing.
+     */
+    public boolean getCompression() {
+        return compression;
+    }
+
+    /**
+     * Returns the listener that follows the progress of the transfer.
+     *
+     * @return The listener, or {@code null} if none is set.
+     */
+    public TransferListener getListener() {
+        return listener;
+    }
+}
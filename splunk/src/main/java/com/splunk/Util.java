@@ -19,9 +19,11 @@ package com.splunk;
 import java.io.File;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * The {@code Util} class contains string utilities.
+ * The {@code Util} class contains string and threading utilities.
  */
 class Util {
     /**
@@ -117,4 +119,23 @@ class Util {
                     "An exact namespace must be provided.");
         }
     }
+
+    /**
+     * Returns a factory for daemon threads named {@code name-1},
+     * {@code name-2}, and so on, for the background work of SDK classes that
+     * must not keep the JVM running.
+     *
+     * @param name The thread name prefix.
+     * @return The thread factory.
+     */
+    static ThreadFactory daemonThreadFactory(final String name) {
+        final AtomicInteger count = new AtomicInteger();
+        return new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The {@code ValueDictionaries} class selects fields whose values a results
+ * reader should share between events, so that results held in memory keep
+ * one copy of each repeated value instead of one per row.
+ * <p>
+ * Each selected field gets a dictionary of up to a fixed number of distinct
+ * values for the reader. Values seen while the dictionary has room are
+ * shared by every later event that has the same value; once it is full, new
+ * values are kept as they are. Dictionaries suit low-cardinality fields such
+ * as {@code host} or {@code sourcetype}; on high-cardinality fields they only
+ * cost memory.
+ * <p>
+ * Field names are always shared within a reader, whether or not
+ * dictionaries are used.
+ * <p>
+ * For example:
+ * <pre>
+ * ResultsReaderXml reader = new ResultsReaderXml(
+ *         job.getResults(), ValueDictionaries.forDefaultFields());
+ * </pre>
+ */
+public final class ValueDictionaries {
+    /** The fields used by {@link #forDefaultFields()}. */
+    public static final String[] DEFAULT_FIELDS = {
+        "host", "source", "sourcetype", "index", "splunk_server", "eventtype", "linecount"
+    };
+
+    /** The default largest number of values kept for each field. */
+    public static final int DEFAULT_MAX_VALUES_PER_FIELD = 1024;
+
+    private final Set<String> fields;
+    private final int maxValuesPerField;
+
+    /**
+     * Creates dictionaries for the given fields.
+     *
+     * @param maxValuesPerField The largest number of distinct values to keep
+     * for each field.
+     * @param fields The fields.
+     */
+    public ValueDictionaries(int maxValuesPerField, String... fields) {
+        if (maxValuesPerField <= 0)
+            throw new IllegalArgumentException("The number of values must be positive.");
+        this.maxValuesPerField = maxValuesPerField;
+        this.fields = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(fields)));
+    }
+
+    /**
+     * Returns dictionaries for the {@link #DEFAULT_FIELDS}, with
+     * {@value #DEFAULT_MAX_VALUES_PER_FIELD} values per field.
+     *
+     * @return The dictionaries.
+     */
+    public static ValueDictionaries forDefaultFields() {
+        return new ValueDictionaries(DEFAULT_MAX_VALUES_PER_FIELD, DEFAULT_FIELDS);
+    }
+
+    /**
+     * Returns the fields that have dictionaries.
+     *
+     * @return The fields.
+     */
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the largest number of distinct values kept for each field.
+     *
+     * @return The number of values.
+     */
+    public int getMaxValuesPerField() {
+        return maxValuesPerField;
+    }
+}
@@ -146,13 +146,13 @@ public class WindowsActiveDirectoryInput extends Input {
     /**
      * {@inheritDoc}
      */
-    @Override public void update(Map<String, Object> args) {
+    @Override Map<String, Object> updateArgs(Map<String, Object> args) {
         // Add required arguments if not already present
         if (!args.containsKey("monitorSubtree")) {
             args = Args.create(args).add(
                 "monitorSubtree", getMonitorSubtree());
         }
-        super.update(args);
+        return args;
     }
 
     /**
@@ -140,12 +140,12 @@ public class WindowsEventLogInput extends Input {
     /**
      * {@inheritDoc}
      */
-    @Override public void update(Map<String, Object> args) {
+    @Override Map<String, Object> updateArgs(Map<String, Object> args) {
         // Add required arguments if not already present
         if (!args.containsKey("lookup_host")) {
             args = Args.create(args).add("lookup_host", getLookupHost());
         }
-        super.update(args);
+        return args;
     }
 
     /**
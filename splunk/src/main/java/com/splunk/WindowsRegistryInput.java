@@ -221,7 +221,7 @@ public class WindowsRegistryInput extends Input {
     /**
      * {@inheritDoc}
      */
-    @Override public void update(Map<String, Object> args) {
+    @Override Map<String, Object> updateArgs(Map<String, Object> args) {
         // Add required arguments if not already present
         if (!args.containsKey("baseline")) {
             args = Args.create(args).add("baseline", getBaseline());
@@ -235,7 +235,7 @@ public class WindowsRegistryInput extends Input {
         if (!args.containsKey("type")) {
             args = Args.create(args).add("type", Util.join("|", getType()));
         }
-        super.update(args);
+        return args;
     }
 
     /**
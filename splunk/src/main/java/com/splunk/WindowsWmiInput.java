@@ -242,7 +242,7 @@ public class WindowsWmiInput extends Input {
     /**
      * {@inheritDoc}
      */
-    @Override public void update(Map<String, Object> args) {
+    @Override Map<String, Object> updateArgs(Map<String, Object> args) {
         // If not present in the update keys, add required attributes
         if (!args.containsKey("classes"))
             args = Args.create(args).add("classes", getClasses());
@@ -251,7 +251,7 @@ public class WindowsWmiInput extends Input {
         if (!args.containsKey("lookup_host"))
             args = Args.create(args).add(
                 "lookup_host", getLookupHost());
-        super.update(args);
+        return args;
     }
 
     /**
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Tests the streaming aggregators.
+ */
+public class AggregationTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testGroupByInOnePass() throws IOException {
+        GroupByAggregator byHost = new GroupByAggregator("host").sum("bytes");
+        DistinctCount users = new DistinctCount("user");
+        long read = Aggregations.aggregate(reader(
+                row("a", "u1", "10"), row("b", "u2", "5"), row("a", "u2", "x"), row("a", "u3", "1")),
+                byHost, users);
+
+        Assert.assertEquals(4, read);
+        Assert.assertEquals(3, users.estimate());
+        Iterator<GroupByAggregator.Group> groups = byHost.groups();
+        GroupByAggregator.Group a = groups.next();
+        Assert.assertEquals("a", a.getValues().get(0));
+        Assert.assertEquals(3, a.getCount());
+        Assert.assertEquals(11.0, a.getSum("bytes"), 0);
+        Assert.assertEquals(1, groups.next().getCount());
+        Assert.assertFalse(groups.hasNext());
+    }
+
+    @Test
+    public void testGroupBySpillsToDisk() {
+        GroupByAggregator aggregator = new GroupByAggregator("host", "user");
+        aggregator.setMaxGroupsInMemory(10);
+        aggregator.setSpillDirectory(folder.getRoot());
+        for (int i = 0; i < 1000; i++) {
+            aggregator.add(event("host", "h" + (i % 50), "user", "u" + (i % 3)));
+        }
+        Assert.assertTrue(aggregator.getSpillCount() > 0);
+        Assert.assertTrue(folder.getRoot().list().length > 0);
+
+        int groups = 0;
+        long total = 0;
+        String previous = "";
+        for (Iterator<GroupByAggregator.Group> it = aggregator.groups(); it.hasNext(); ) {
+            GroupByAggregator.Group group = it.next();
+            String key = group.getValues().toString();
+            Assert.assertTrue(key.compareTo(previous) > 0);
+            previous = key;
+            groups++;
+            total += group.getCount();
+        }
+        Assert.assertEquals(150, groups);
+        Assert.assertEquals(1000, total);
+
+        aggregator.close();
+        Assert.assertEquals(0, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void testHeavyHitters() {
+        HeavyHitters top = new HeavyHitters("status", 10);
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            String status = i % 2 == 0 ? "200" : i % 5 == 0 ? "404" : "rare" + random.nextInt(1000);
+            top.add(event("status", status));
+        }
+        List<HeavyHitters.Item> items = top.getTop(2);
+        Assert.assertEquals("200", items.get(0).getValue());
+        Assert.assertEquals("404", items.get(1).getValue());
+        Assert.assertTrue(items.get(0).getCount() - items.get(0).getError() <= 5000);
+        Assert.assertTrue(items.get(0).getCount() >= 5000);
+        Assert.assertEquals(10000, top.getTotal());
+    }
+
+    @Test
+    public void testDistinctCountAccuracy() {
+        DistinctCount first = new DistinctCount("user");
+        DistinctCount second = new DistinctCount("user");
+        for (int i = 0; i < 100000; i++) {
+            first.add("user" + i);
+            second.add("user" + (i + 50000));
+        }
+        first.merge(second);
+        double error = Math.abs(first.estimate() - 150000) / 150000.0;
+        Assert.assertTrue("error " + error, error < 4 * first.getStandardError());
+    }
+
+    @Test
+    public void testQuantiles() {
+        QuantileSketch sketch = new QuantileSketch("latency");
+        QuantileSketch other = new QuantileSketch("latency");
+        for (int i = 1; i <= 10000; i++) {
+            (i % 2 == 0 ? sketch : other).add(i);
+        }
+        sketch.add(event("latency", "not a number"));
+        sketch.merge(other);
+
+        Assert.assertEquals(10000, sketch.getCount());
+        Assert.assertEquals(1.0, sketch.getQuantile(0), 0);
+        Assert.assertEquals(10000.0, sketch.getQuantile(1), 0);
+        Assert.assertEquals(5000, sketch.getQuantile(0.5), 5000 * 0.01);
+        Assert.assertEquals(9500, sketch.getQuantile(0.95), 9500 * 0.01);
+    }
+
+    @Test
+    public void testParallelPartialsMerge() throws IOException {
+        List<ResultsReader> readers = new ArrayList<ResultsReader>();
+        for (int part = 0; part < 4; part++) {
+            readers.add(reader(row("a", "u" + part, "1"), row("b", "u" + part, "2")));
+        }
+        GroupByAggregator result = Aggregations.aggregateInParallel(readers,
+                new Supplier<GroupByAggregator>() {
+                    public GroupByAggregator get() {
+                        return new GroupByAggregator("host").sum("bytes");
+                    }
+                }, 2);
+
+        Iterator<GroupByAggregator.Group> groups = result.groups();
+        GroupByAggregator.Group a = groups.next();
+        Assert.assertEquals(4, a.getCount());
+        Assert.assertEquals(4.0, a.getSum("bytes"), 0);
+        Assert.assertEquals(8.0, groups.next().getSum("bytes"), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeRejectsDifferentSettings() {
+        new DistinctCount(10, "user").merge(new DistinctCount(12, "user"));
+    }
+
+    private static Event event(String... keysAndValues) {
+        Event event = new Event();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            event.putSingleOrDelimited(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return event;
+    }
+
+    private static String row(String host, String user, String bytes) {
+        return "{\"host\":\"" + host + "\",\"user\":\"" + user + "\",\"bytes\":\"" + bytes + "\"}";
+    }
+
+    private static ResultsReader reader(String... rows) throws IOException {
+        StringBuilder json = new StringBuilder("{\"preview\":false,\"init_offset\":0,\"messages\":[],\"results\":[");
+        for (int i = 0; i < rows.length; i++) {
+            if (i > 0) json.append(',');
+            json.append(rows[i]);
+        }
+        json.append("]}");
+        return new ResultsReaderJson(new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests watching collections for new and removed entries against a local
+ * stand-in server.
+ */
+public class CollectionWatcherTest {
+    private LocalHttpServer server;
+    private Service service;
+
+    // Entry name to creation time.
+    private final Map<String, Long> entries = new ConcurrentHashMap<String, Long>();
+    private final List<String> queries = Collections.synchronizedList(new ArrayList<String>());
+
+    private final List<String> added = new ArrayList<String>();
+    private final List<String> removed = new ArrayList<String>();
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LocalHttpServer();
+        LocalHttpServer.Responder responder = new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                queries.add(query);
+                return new LocalHttpServer.Response(200, feed(path, LocalHttpServer.parseForm(query)));
+            }
+        };
+        server.on("/services/messages", responder);
+        server.on("/services/alerts/fired_alerts", responder);
+        service = server.service();
+        entries.put("disk", 100L);
+        entries.put("license", 200L);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testReadsOnlyNewEntries() {
+        CollectionWatcher<Message> watcher = new CollectionWatcher<Message>(
+                service.getMessages(), "timeCreated_epochSecs", listener());
+        watcher.setPageSize(3);
+        watcher.check();
+        Assert.assertTrue(added.isEmpty());
+
+        // Nothing new: one page, no listing of names.
+        queries.clear();
+        watcher.check();
+        Assert.assertEquals(1, queries.size());
+        Assert.assertTrue(queries.get(0).contains("sort_key=timeCreated_epochSecs"));
+        Assert.assertTrue(added.isEmpty());
+
+        entries.put("restart", 300L);
+        entries.put("bundle", 400L);
+        entries.put("peer", 500L);
+        queries.clear();
+        watcher.check();
+        // Two pages: the second reaches entries that are not newer.
+        Assert.assertEquals(2, queries.size());
+        Assert.assertEquals(java.util.Arrays.asList("peer", "bundle", "restart"), added);
+        Assert.assertTrue(removed.isEmpty());
+    }
+
+    @Test
+    public void testReportsRemovedEntries() {
+        CollectionWatcher<Message> watcher = new CollectionWatcher<Message>(
+                service.getMessages(), "timeCreated_epochSecs", listener());
+        watcher.check();
+        entries.remove("disk");
+        entries.put("restart", 300L);
+        watcher.check();
+        Assert.assertEquals(Collections.singletonList("restart"), added);
+        Assert.assertEquals(Collections.singletonList("disk"), removed);
+    }
+
+    @Test
+    public void testWatchesByNameWithoutSortKey() {
+        CollectionWatcher<FiredAlertGroup> watcher = new CollectionWatcher<FiredAlertGroup>(
+                service.getFiredAlertGroups(), null, new CollectionChangeListener<FiredAlertGroup>() {
+                    public void onChanges(List<FiredAlertGroup> a, List<String> r) {
+                        for (FiredAlertGroup group : a) added.add(group.getPath());
+                        removed.addAll(r);
+                    }
+
+                    public void onError(Exception e) {
+                        throw new AssertionError(e);
+                    }
+                });
+        watcher.check();
+        entries.put("errors", 300L);
+        entries.remove("license");
+        watcher.check();
+        Assert.assertEquals(Collections.singletonList("/services/alerts/fired_alerts/errors"), added);
+        Assert.assertEquals(Collections.singletonList("license"), removed);
+        Assert.assertTrue(queries.get(queries.size() - 1).contains("f=title"));
+    }
+
+    @Test
+    public void testRunsInBackground() throws Exception {
+        final CountDownLatch changed = new CountDownLatch(1);
+        CollectionWatcher<Message> watcher = service.getMessages().watch(new CollectionChangeListener<Message>() {
+            public void onChanges(List<Message> a, List<String> r) {
+                Assert.assertEquals("600", a.get(0).getString("timeCreated_epochSecs"));
+                changed.countDown();
+            }
+
+            public void onError(Exception e) {
+                throw new AssertionError(e);
+            }
+        });
+        watcher.setPollInterval(20);
+        Thread.sleep(100);
+        entries.put("late", 600L);
+        Assert.assertTrue(changed.await(5, TimeUnit.SECONDS));
+        watcher.close();
+        Assert.assertTrue(watcher.isClosed());
+    }
+
+    private CollectionChangeListener<Message> listener() {
+        return new CollectionChangeListener<Message>() {
+            public void onChanges(List<Message> a, List<String> r) {
+                for (Message message : a) added.add(message.getName());
+                removed.addAll(r);
+            }
+
+            public void onError(Exception e) {
+                throw new AssertionError(e);
+            }
+        };
+    }
+
+    private String feed(String path, Map<String, String> args) {
+        List<Map.Entry<String, Long>> sorted = new ArrayList<Map.Entry<String, Long>>(entries.entrySet());
+        Collections.sort(sorted, new Comparator<Map.Entry<String, Long>>() {
+            public int compare(Map.Entry<String, Long> a, Map.Entry<String, Long> b) {
+                return Long.compare(b.getValue(), a.getValue());
+            }
+        });
+        int offset = args.containsKey("offset") ? Integer.parseInt(args.get("offset")) : 0;
+        int count = args.containsKey("count") ? Integer.parseInt(args.get("count")) : 30;
+        int end = count == 0 ? sorted.size() : Math.min(sorted.size(), offset + count);
+
+        StringBuilder feed = new StringBuilder();
+        feed.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        feed.append("<feed xmlns=\"http://www.w3.org/2005/Atom\" xmlns:s=\"http://dev.splunk.com/ns/rest\"");
+        feed.append(" xmlns:opensearch=\"http://a9.com/-/spec/opensearch/1.1/\">\n");
+        feed.append("  <title>entries</title>\n");
+        feed.append("  <opensearch:totalResults>").append(sorted.size()).append("</opensearch:totalResults>\n");
+        for (int i = Math.min(offset, end); i < end; i++) {
+            String name = sorted.get(i).getKey();
+            feed.append("  <entry>\n");
+            feed.append("    <title>").append(name).append("</title>\n");
+            feed.append("    <id>https://localhost:8089").append(path).append('/').append(name).append("</id>\n");
+            feed.append("    <updated>2026-01-01T00:00:00-08:00</updated>\n");
+            feed.append("    <link href=\"").append(path).append('/').append(name).append("\" rel=\"alternate\"/>\n");
+            feed.append("    <content type=\"text/xml\">\n      <s:dict>\n");
+            feed.append("        <s:key name=\"").append(name).append("\">text</s:key>\n");
+            feed.append("        <s:key name=\"timeCreated_epochSecs\">").append(sorted.get(i).getValue())
+                    .append("</s:key>\n");
+            feed.append("      </s:dict>\n    </content>\n  </entry>\n");
+        }
+        feed.append("</feed>\n");
+        return feed.toString();
+    }
+}
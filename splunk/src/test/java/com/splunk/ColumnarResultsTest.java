@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Tests writing and reading results in the columnar format.
+ */
+public class ColumnarResultsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testXmlResultsRoundTrip() throws IOException {
+        for (String resource : new String[] { "/results.xml", "/resultsMV.xml" }) {
+            List<Event> expected = readAll(new ResultsReaderXml(SDKTestCase.openResource(resource)));
+            File file = folder.newFile();
+            ColumnarResultsWriter writer = new ColumnarResultsWriter(file);
+            Assert.assertEquals(expected.size(),
+                    writer.write(new ResultsReaderXml(SDKTestCase.openResource(resource))));
+            writer.close();
+
+            ColumnarResultsReader reader = new ColumnarResultsReader(file);
+            List<Event> actual = readAll(reader);
+            Assert.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertEquals(expected.get(i), actual.get(i));
+                for (String field : expected.get(i).keySet()) {
+                    Assert.assertArrayEquals(expected.get(i).getArray(field), actual.get(i).getArray(field));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTypedColumnsAndRowGroups() throws IOException {
+        File file = folder.newFile();
+        ColumnarResultsWriter writer = new ColumnarResultsWriter(file);
+        writer.setRowGroupSize(100);
+        for (int i = 0; i < 1000; i++) {
+            Event event = new Event();
+            event.putSingleOrDelimited("count", String.valueOf(i - 500));
+            event.putSingleOrDelimited("ratio", String.valueOf(i / 8.0));
+            event.putSingleOrDelimited("host", "host" + (i % 4));
+            if (i % 3 == 0) event.putSingleOrDelimited("status", i % 2 == 0 ? "007" : "200");
+            if (i == 999) event.putArray("tags", new String[] { "a", "b" });
+            writer.write(event);
+        }
+        writer.close();
+
+        ColumnarResultsReader reader = new ColumnarResultsReader(file);
+        Assert.assertEquals(1000, reader.getRowCount());
+        Assert.assertEquals(10, reader.getRowGroupCount());
+        Assert.assertEquals(new HashSet<String>(Arrays.asList("count", "ratio", "host", "status", "tags")),
+                new HashSet<String>(reader.getFields()));
+        List<Event> events = readAll(reader);
+        Assert.assertEquals("-500", events.get(0).get("count"));
+        Assert.assertEquals("0.0", events.get(0).get("ratio"));
+        Assert.assertEquals("007", events.get(0).get("status")); // Not turned into 7
+        Assert.assertNull(events.get(1).get("status"));
+        Assert.assertEquals("124.875", events.get(999).get("ratio"));
+        Assert.assertArrayEquals(new String[] { "a", "b" }, events.get(999).getArray("tags"));
+
+        // Numbers and repeated strings take far less room than text.
+        Assert.assertTrue(file.length() < 1000 * 20);
+    }
+
+    @Test
+    public void testSelectedFieldsOnly() throws IOException {
+        File file = folder.newFile();
+        ColumnarResultsWriter writer = new ColumnarResultsWriter(file);
+        for (int i = 0; i < 10; i++) {
+            Event event = new Event();
+            event.putSingleOrDelimited("host", "h" + i);
+            event.putSingleOrDelimited("_raw", "a long raw event " + i);
+            writer.write(event);
+        }
+        writer.close();
+
+        ColumnarResultsReader reader = new ColumnarResultsReader(file);
+        reader.selectFields("host");
+        for (Event event : readAll(reader)) {
+            Assert.assertEquals(1, event.size());
+            Assert.assertNotNull(event.get("host"));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsOtherFiles() throws IOException {
+        File file = folder.newFile();
+        FileOutputStream out = new FileOutputStream(file);
+        out.write("<results></results>".getBytes("UTF-8"));
+        out.close();
+        new ColumnarResultsReader(file);
+    }
+
+    private static List<Event> readAll(ResultsReader reader) throws IOException {
+        List<Event> events = new ArrayList<Event>();
+        try {
+            Event event;
+            while ((event = reader.getNextEvent()) != null) {
+                events.add(event);
+            }
+        } finally {
+            reader.close();
+        }
+        return events;
+    }
+}
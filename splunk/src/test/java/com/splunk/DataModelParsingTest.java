@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tests how data model descriptions are parsed and reused across refreshes,
+ * against a local stand-in server.
+ */
+public class DataModelParsingTest {
+    private LocalHttpServer server;
+    private DataModel model;
+    private volatile String definition;
+
+    @Before
+    public void setUp() throws Exception {
+        definition = SDKTestCase.streamToString(
+                SDKTestCase.openResource("/data/datamodels/data_model_for_pivot.json"));
+        server = new LocalHttpServer().withServerInfo("9.1.0");
+        server.on("/services/datamodel/model/", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                Map<String, String> content = new LinkedHashMap<String, String>();
+                content.put("description", LocalHttpServer.xmlEscape(definition));
+                content.put("acceleration", "{\"enabled\":1,\"earliest_time\":\"-1mon\"}");
+                return new LocalHttpServer.Response(200,
+                        LocalHttpServer.atomFeed("pivot_test", content));
+            }
+        });
+        model = new DataModel(server.service(), "datamodel/model/pivot_test");
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testDescriptionFields() {
+        Assert.assertEquals("pivot test data", model.getDisplayName());
+        Assert.assertEquals("pivot_test_data", model.getString("modelName"));
+        Assert.assertEquals("", model.getDescription());
+        Assert.assertTrue(model.isAccelerated());
+        Assert.assertEquals("-1mon", model.getEarliestAcceleratedTime());
+
+        Assert.assertEquals(2, model.getObjects().size());
+        Assert.assertTrue(model.containsObject("test_data"));
+        Assert.assertSame(model, model.getObject("test_data").getDataModel());
+    }
+
+    @Test
+    public void testUnchangedDescriptionKeepsObjects() {
+        DataModelObject before = model.getObject("test_data");
+        model.refresh();
+
+        Assert.assertSame(before, model.getObject("test_data"));
+        Assert.assertEquals("pivot test data", model.getDisplayName());
+        Assert.assertEquals("pivot_test_data", model.getString("modelName"));
+    }
+
+    @Test
+    public void testChangedDescriptionIsParsedAgain() {
+        DataModelObject before = model.getObject("test_data");
+        definition = definition.replace("\"pivot test data\"", "\"renamed\"");
+        model.refresh();
+
+        Assert.assertEquals("renamed", model.getDisplayName());
+        Assert.assertNotSame(before, model.getObject("test_data"));
+        Assert.assertEquals(before.getFields().size(), model.getObject("test_data").getFields().size());
+    }
+}
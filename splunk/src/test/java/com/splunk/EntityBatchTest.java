@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests batch creation, update, and removal of entities against a local
+ * stand-in server.
+ */
+public class EntityBatchTest {
+    private static final String PATH = "/services/things";
+
+    private LocalHttpServer server;
+    private EntityCollection<Entity> things;
+
+    // Entity name to value.
+    private final Map<String, String> stored = new ConcurrentSkipListMap<String, String>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LocalHttpServer();
+        server.on(PATH, new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                if (method.equals("GET")) {
+                    return new LocalHttpServer.Response(200, feed(PATH, "value", stored));
+                }
+                Map<String, String> args = LocalHttpServer.parseForm(new String(body, StandardCharsets.UTF_8));
+                String name = args.get("name");
+                if (name.startsWith("bad")) {
+                    return new LocalHttpServer.Response(409,
+                            "<response><messages><msg type=\"ERROR\">Conflict</msg></messages></response>");
+                }
+                track();
+                stored.put(name, args.get("value"));
+                return new LocalHttpServer.Response(201, feed(PATH, "value", single(name)));
+            }
+        });
+        server.on(PATH + "/", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                String name = path.substring(PATH.length() + 1);
+                if (method.equals("DELETE")) {
+                    stored.remove(name);
+                    return new LocalHttpServer.Response(200, "");
+                }
+                stored.put(name, LocalHttpServer.parseForm(new String(body, StandardCharsets.UTF_8)).get("value"));
+                return new LocalHttpServer.Response(200, feed(PATH, "value", single(name)));
+            }
+        });
+        stored.put("a", "1");
+        stored.put("b", "2");
+        things = new EntityCollection<Entity>(server.service(), "things", Entity.class, null);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testCreatesWithoutReloadingCollection() {
+        Assert.assertEquals(2, things.size());
+        Map<String, Map<String, Object>> created = new LinkedHashMap<String, Map<String, Object>>();
+        for (int i = 0; i < 20; i++) {
+            created.put("t" + i, new Args("value", "v" + i));
+        }
+        created.put("bad", new Args("value", "x"));
+
+        List<BatchResult<Entity>> results = things.createAll(created, 4);
+        Assert.assertEquals(21, results.size());
+        Assert.assertEquals("t0", results.get(0).getName());
+        Assert.assertEquals("v0", results.get(0).getEntity().getString("value"));
+        Assert.assertFalse(results.get(20).isSuccess());
+        Assert.assertEquals(409, ((HttpException)results.get(20).getError()).getStatus());
+
+        // The new entities are in the collection without listing it again.
+        Assert.assertEquals(22, things.size());
+        Assert.assertEquals("v7", things.get("t7").getString("value"));
+        Assert.assertEquals(1, server.hits(PATH) - 21);
+        Assert.assertTrue(maxInFlight.get() <= 4);
+    }
+
+    @Test
+    public void testUpdatesAndRemoves() {
+        Map<String, Map<String, Object>> updates = new LinkedHashMap<String, Map<String, Object>>();
+        updates.put("a", new Args("value", "10"));
+        updates.put("missing", new Args("value", "0"));
+        List<BatchResult<Entity>> updated = things.updateAll(updates);
+        Assert.assertTrue(updated.get(0).isSuccess());
+        Assert.assertTrue(updated.get(1).getError() instanceof IllegalArgumentException);
+        Assert.assertEquals("10", things.get("a").getString("value"));
+
+        List<BatchResult<Entity>> removed = things.removeAll(Arrays.asList("b", "missing"), 2);
+        Assert.assertTrue(removed.get(0).isSuccess());
+        Assert.assertFalse(removed.get(1).isSuccess());
+        Assert.assertFalse(things.containsKey("b"));
+        Assert.assertFalse(stored.containsKey("b"));
+        Assert.assertEquals(1, things.size());
+
+        // One listing for the whole session.
+        Assert.assertEquals(1, server.hits(PATH));
+    }
+
+    @Test
+    public void testSavedSearchUpdatesKeepTheirSearch() {
+        final String searches = "/services/saved/searches";
+        final Map<String, String> search = new HashMap<String, String>();
+        search.put("s1", "error");
+        final List<String> edits = new ArrayList<String>();
+        server.on(searches, 200, feed(searches, "search", search));
+        server.on(searches + "/", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                if (method.equals("POST")) edits.add(new String(body, StandardCharsets.UTF_8));
+                return new LocalHttpServer.Response(200, feed(searches, "search", search));
+            }
+        });
+        SavedSearchCollection collection = new SavedSearchCollection(server.service());
+        Map<String, Map<String, Object>> updates = new LinkedHashMap<String, Map<String, Object>>();
+        updates.put("s1", new Args("description", "daily"));
+
+        Assert.assertTrue(collection.updateAll(updates).get(0).isSuccess());
+        // The server requires the search with every edit.
+        Map<String, String> edit = LocalHttpServer.parseForm(edits.get(0));
+        Assert.assertEquals("error", edit.get("search"));
+        Assert.assertEquals("daily", edit.get("description"));
+    }
+
+    @Test
+    public void testInputsAreCreatedAtTheEndpointOfTheirKind() {
+        final String tcp = "/services/data/inputs/tcp/raw";
+        final List<String> posts = new ArrayList<String>();
+        server.on(tcp, new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                Map<String, String> args = LocalHttpServer.parseForm(new String(body, StandardCharsets.UTF_8));
+                posts.add(args.get("name"));
+                return new LocalHttpServer.Response(201,
+                        feed(tcp, "index", Collections.singletonMap(args.get("name"), args.get("index"))));
+            }
+        });
+        InputCollection inputs = new InputCollection(server.service());
+        Map<String, Map<String, Object>> created = new LinkedHashMap<String, Map<String, Object>>();
+        created.put("9997", new Args("index", "main"));
+        created.put("9998", new Args("index", "main"));
+        try {
+            inputs.createAll(created);
+            Assert.fail("Expected inputs to need a kind.");
+        } catch (UnsupportedOperationException e) {
+            // As for create(String, Map).
+        }
+        Assert.assertTrue(posts.isEmpty());
+
+        List<BatchResult<Input>> results = inputs.createAll(created, InputKind.Tcp);
+        Assert.assertEquals(2, results.size());
+        Assert.assertTrue(results.get(1).isSuccess());
+        Assert.assertEquals("main", results.get(1).getEntity().getString("index"));
+        Assert.assertEquals(2, server.hits(tcp));
+        Assert.assertTrue(posts.containsAll(Arrays.asList("9997", "9998")));
+    }
+
+    private void track() {
+        int now = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(now, Math::max);
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        inFlight.decrementAndGet();
+    }
+
+    private Map<String, String> single(String name) {
+        Map<String, String> one = new HashMap<String, String>();
+        one.put(name, stored.get(name));
+        return one;
+    }
+
+    private static String feed(String path, String key, Map<String, String> entries) {
+        StringBuilder feed = new StringBuilder();
+        feed.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        feed.append("<feed xmlns=\"http://www.w3.org/2005/Atom\" xmlns:s=\"http://dev.splunk.com/ns/rest\">\n");
+        feed.append("  <title>things</title>\n");
+        feed.append("  <updated>2026-01-01T00:00:00-08:00</updated>\n");
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            feed.append("  <entry>\n");
+            feed.append("    <title>").append(entry.getKey()).append("</title>\n");
+            feed.append("    <id>https://localhost:8089").append(path).append('/').append(entry.getKey()).append("</id>\n");
+            feed.append("    <updated>2026-01-01T00:00:00-08:00</updated>\n");
+            feed.append("    <link href=\"").append(path).append('/').append(entry.getKey())
+                    .append("\" rel=\"alternate\"/>\n");
+            feed.append("    <content type=\"text/xml\">\n      <s:dict>\n");
+            feed.append("        <s:key name=\"").append(key).append("\">").append(entry.getValue()).append("</s:key>\n");
+            feed.append("      </s:dict>\n    </content>\n  </entry>\n");
+        }
+        feed.append("</feed>\n");
+        return feed.toString();
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Tests the HTTP Event Collector client against local stand-in servers.
+ */
+public class HttpEventCollectorTest {
+    private LocalHttpServer first;
+    private LocalHttpServer second;
+    private final List<String> bodies = Collections.synchronizedList(new ArrayList<String>());
+    private final List<String> queries = Collections.synchronizedList(new ArrayList<String>());
+
+    @Before
+    public void setUp() throws Exception {
+        first = new LocalHttpServer();
+        second = new LocalHttpServer();
+    }
+
+    @After
+    public void tearDown() {
+        first.stop();
+        second.stop();
+    }
+
+    @Test
+    public void testSendsCompressedBatches() throws Exception {
+        first.on(HttpEventCollector.EVENT_PATH, recorder(200, "{\"text\":\"Success\",\"code\":0}"));
+        HttpEventCollector collector = new HttpEventCollector("abc", url(first));
+        collector.setBatchSize(2);
+
+        Map<String, Object> event = new HashMap<String, Object>();
+        event.put("user", "alice");
+        collector.send(event, new Args("sourcetype", "auth"));
+        collector.send("second");
+        Assert.assertEquals(1, first.hits(HttpEventCollector.EVENT_PATH));
+        collector.send("third");
+        collector.close();
+
+        Assert.assertEquals(2, first.hits(HttpEventCollector.EVENT_PATH));
+        Assert.assertEquals(3, collector.getEventsSent());
+        Assert.assertEquals(2, collector.getBatchesSent());
+        String[] lines = bodies.get(0).split("\n");
+        Assert.assertEquals("{\"sourcetype\":\"auth\",\"event\":{\"user\":\"alice\"}}", lines[0]);
+        Assert.assertEquals("{\"event\":\"second\"}", lines[1]);
+        Assert.assertEquals("{\"event\":\"third\"}", bodies.get(1).trim());
+    }
+
+    @Test
+    public void testSendsRawDataWithMetadata() throws Exception {
+        first.on(HttpEventCollector.RAW_PATH, recorder(200, "{\"text\":\"Success\",\"code\":0}"));
+        HttpEventCollector collector = new HttpEventCollector("abc", url(first));
+        collector.setCompression(false);
+        collector.sendRaw("line one", new Args("sourcetype", "syslog"));
+        collector.sendRaw("line two\n", new Args("sourcetype", "syslog"));
+        // Different metadata starts a new batch.
+        collector.sendRaw("line three", null);
+        collector.flush();
+
+        Assert.assertEquals(2, bodies.size());
+        Assert.assertEquals("line one\nline two\n", bodies.get(0));
+        Assert.assertEquals("sourcetype=syslog", queries.get(0));
+        Assert.assertNull(queries.get(1));
+    }
+
+    @Test
+    public void testResendsUnacknowledgedBatches() throws Exception {
+        final AtomicInteger nextAckId = new AtomicInteger();
+        first.on(HttpEventCollector.EVENT_PATH, new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                Assert.assertNotNull(LocalHttpServer.requestHeader("X-Splunk-Request-Channel"));
+                return new LocalHttpServer.Response(200,
+                        "{\"text\":\"Success\",\"code\":0,\"ackId\":" + nextAckId.getAndIncrement() + "}");
+            }
+        });
+        // The first batch is lost before it is indexed; its resend is not.
+        first.on(HttpEventCollector.ACK_PATH, new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                String request = new String(body, StandardCharsets.UTF_8);
+                String id = request.replaceAll("[^0-9,]", "").split(",")[0];
+                return new LocalHttpServer.Response(200,
+                        "{\"acks\":{\"" + id + "\":" + !id.equals("0") + "}}");
+            }
+        });
+        HttpEventCollector collector = new HttpEventCollector("abc", url(first));
+        collector.setAcknowledgement(true);
+        collector.setAckTimeout(100, 20, 3);
+        collector.send("event");
+        collector.flush();
+
+        Assert.assertEquals(0, collector.getUnacknowledgedCount());
+        Assert.assertEquals(1, collector.getResends());
+        Assert.assertEquals(2, first.hits(HttpEventCollector.EVENT_PATH));
+    }
+
+    @Test
+    public void testSkipsBusyEndpoints() throws Exception {
+        first.on(HttpEventCollector.EVENT_PATH, 503, "{\"text\":\"Server is busy\",\"code\":9}");
+        second.on(HttpEventCollector.EVENT_PATH, 200, "{\"text\":\"Success\",\"code\":0}");
+        HttpEventCollector collector = new HttpEventCollector("abc", url(first), url(second));
+        collector.setBatchSize(1);
+        for (int i = 0; i < 4; i++) {
+            collector.send("event " + i);
+        }
+        // The busy endpoint is tried once, then skipped.
+        Assert.assertEquals(1, first.hits(HttpEventCollector.EVENT_PATH));
+        Assert.assertEquals(4, second.hits(HttpEventCollector.EVENT_PATH));
+
+        // Rejected data is not sent elsewhere.
+        second.on(HttpEventCollector.EVENT_PATH, 400, "{\"text\":\"Invalid data format\",\"code\":6}");
+        try {
+            collector.send("bad");
+            Assert.fail("Expected the rejection.");
+        } catch (HttpException e) {
+            Assert.assertEquals(400, e.getStatus());
+        }
+        Assert.assertEquals(1, first.hits(HttpEventCollector.EVENT_PATH));
+    }
+
+    @Test
+    public void testTriesEachEndpointOncePerBatch() throws Exception {
+        first.on(HttpEventCollector.EVENT_PATH, 503, "{\"text\":\"Server is busy\",\"code\":9}");
+        HttpEventCollector collector = new HttpEventCollector("abc", url(first));
+        collector.setBatchSize(1);
+        try {
+            collector.send("event");
+            Assert.fail("Expected the endpoint to be busy.");
+        } catch (HttpException e) {
+            Assert.assertEquals(503, e.getStatus());
+        }
+        Assert.assertEquals(1, first.hits(HttpEventCollector.EVENT_PATH));
+    }
+
+    @Test
+    public void testDropsBatchesNeverAcknowledged() throws Exception {
+        final AtomicInteger nextAckId = new AtomicInteger();
+        first.on(HttpEventCollector.EVENT_PATH, new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                return new LocalHttpServer.Response(200,
+                        "{\"text\":\"Success\",\"code\":0,\"ackId\":" + nextAckId.getAndIncrement() + "}");
+            }
+        });
+        first.on(HttpEventCollector.ACK_PATH, 200, "{\"acks\":{}}");
+        HttpEventCollector collector = new HttpEventCollector("abc", url(first));
+        collector.setBatchSize(1);
+        collector.setAcknowledgement(true);
+        collector.setAckTimeout(1, 1, 0);
+        // More batches than may wait for acknowledgement at once.
+        for (int i = 0; i < 150; i++) {
+            collector.send("event " + i);
+        }
+        Assert.assertTrue(collector.getUnacknowledgedCount() < 100);
+        Assert.assertTrue(collector.getBatchesLost() > 0);
+        try {
+            collector.flush();
+            Assert.fail("Expected the lost batches to be reported.");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getMessage().contains("not acknowledged"));
+        }
+        Assert.assertEquals(150, collector.getBatchesLost());
+        Assert.assertEquals(0, collector.getUnacknowledgedCount());
+    }
+
+    @Test
+    public void testSendsWhileAnotherThreadFlushes() throws Exception {
+        final AtomicInteger nextAckId = new AtomicInteger();
+        final AtomicBoolean indexed = new AtomicBoolean(false);
+        first.on(HttpEventCollector.EVENT_PATH, new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                return new LocalHttpServer.Response(200,
+                        "{\"text\":\"Success\",\"code\":0,\"ackId\":" + nextAckId.getAndIncrement() + "}");
+            }
+        });
+        // The first batch is acknowledged only once the test allows it.
+        first.on(HttpEventCollector.ACK_PATH, new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                StringBuilder acks = new StringBuilder();
+                for (String id : new String(body, StandardCharsets.UTF_8).replaceAll("[^0-9,]", "").split(",")) {
+                    if (acks.length() > 0) acks.append(",");
+                    acks.append("\"").append(id).append("\":").append(!id.equals("0") || indexed.get());
+                }
+                return new LocalHttpServer.Response(200, "{\"acks\":{" + acks + "}}");
+            }
+        });
+        final HttpEventCollector collector = new HttpEventCollector("abc", url(first));
+        collector.setBatchSize(1);
+        collector.setAcknowledgement(true);
+        collector.setAckTimeout(60000, 10, 3);
+        collector.send("event 0");
+
+        Thread flusher = new Thread(new Runnable() {
+            public void run() {
+                collector.flush();
+            }
+        });
+        flusher.start();
+        while (flusher.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(5);
+        }
+        // The waiting flush does not keep another thread from sending.
+        Thread sender = new Thread(new Runnable() {
+            public void run() {
+                collector.send("event 1");
+            }
+        });
+        sender.start();
+        sender.join(5000);
+        Assert.assertFalse(sender.isAlive());
+        Assert.assertEquals(2, first.hits(HttpEventCollector.EVENT_PATH));
+        Assert.assertTrue(flusher.isAlive());
+
+        indexed.set(true);
+        flusher.join(5000);
+        Assert.assertFalse(flusher.isAlive());
+        collector.close();
+        Assert.assertEquals(0, collector.getUnacknowledgedCount());
+    }
+
+    private LocalHttpServer.Responder recorder(final int status, final String response) {
+        return new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                Assert.assertEquals("Splunk abc", LocalHttpServer.requestHeader("Authorization"));
+                try {
+                    boolean gzip = "gzip".equals(LocalHttpServer.requestHeader("Content-Encoding"));
+                    byte[] bytes = gzip
+                            ? LocalHttpServer.readAll(new GZIPInputStream(new ByteArrayInputStream(body)))
+                            : body;
+                    bodies.add(new String(bytes, StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+                queries.add(query);
+                return new LocalHttpServer.Response(status, response);
+            }
+        };
+    }
+
+    private static String url(LocalHttpServer server) {
+        return "http://127.0.0.1:" + server.getPort();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Tests sampling index metrics against a local stand-in server.
+ */
+public class IndexMetricsSamplerTest {
+    private LocalHttpServer server;
+    private Service service;
+    private volatile String lastQuery;
+
+    // Index name to its event count; the size in MB is a tenth of it.
+    private final Map<String, Long> counts = new ConcurrentSkipListMap<String, Long>();
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LocalHttpServer();
+        server.on("/services/data/indexes", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                lastQuery = query;
+                return new LocalHttpServer.Response(200, feed());
+            }
+        });
+        service = server.service();
+        counts.put("main", 1000L);
+        counts.put("_internal", 50L);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testSamplesAllIndexesInOneProjectedRequest() throws Exception {
+        IndexMetricsSampler sampler = new IndexMetricsSampler(service);
+        sampler.sample();
+        Assert.assertEquals(1, server.hits("/services/data/indexes"));
+        Assert.assertTrue(lastQuery.contains("summarize=true"));
+        Assert.assertTrue(lastQuery.contains("count=0"));
+        Assert.assertTrue(lastQuery.contains("totalEventCount"));
+        Assert.assertTrue(lastQuery.contains("currentDBSizeMB"));
+
+        Thread.sleep(50);
+        counts.put("main", 2000L);
+        counts.remove("_internal");
+        sampler.sample();
+
+        Assert.assertEquals(1, sampler.getIndexNames().size());
+        Assert.assertNull(sampler.getSeries("_internal"));
+        IndexMetricsSampler.Series main = sampler.getSeries("main");
+        Assert.assertEquals(2, main.size());
+        Assert.assertEquals(1000, main.getEventCount(0));
+        Assert.assertEquals(200, main.getSizeMB(1));
+        Assert.assertTrue(main.getEventsPerSecond() > 0);
+    }
+
+    @Test
+    public void testRingKeepsNewestSamples() {
+        IndexMetricsSampler sampler = new IndexMetricsSampler(service);
+        sampler.setCapacity(3);
+        for (long count = 1; count <= 5; count++) {
+            counts.put("main", count);
+            sampler.sample();
+        }
+        IndexMetricsSampler.Series main = sampler.getSeries("main");
+        Assert.assertEquals(3, main.size());
+        Assert.assertEquals(3, main.getEventCount(0));
+        Assert.assertEquals(5, main.getEventCount(2));
+    }
+
+    @Test
+    public void testRates() {
+        IndexMetricsSampler.Series series = new IndexMetricsSampler.Series(
+                new long[] { 0, 10000, 20000, 30000 },
+                new long[] { 0, 100, 300, 600 },
+                new long[] { 10, 10, 11, 12 });
+        Assert.assertEquals(20.0, series.getEventsPerSecond(), 1e-9);
+        // The last 10 seconds hold the last two samples.
+        Assert.assertEquals(30.0, series.getEventsPerSecond(10000), 1e-9);
+        Assert.assertEquals(240.0, series.getMegabytesPerHour(), 1e-9);
+        Assert.assertEquals(0.0, series.getEventsPerSecond(5000), 1e-9);
+    }
+
+    @Test
+    public void testSamplesOnSchedule() throws Exception {
+        IndexMetricsSampler sampler = service.sampleIndexMetrics(20);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (sampler.getSeries("main") == null || sampler.getSeries("main").size() < 3) {
+            Assert.assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+        sampler.close();
+        Assert.assertNull(sampler.getLastError());
+    }
+
+    private String feed() {
+        StringBuilder feed = new StringBuilder();
+        feed.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        feed.append("<feed xmlns=\"http://www.w3.org/2005/Atom\" xmlns:s=\"http://dev.splunk.com/ns/rest\">\n");
+        feed.append("  <title>indexes</title>\n");
+        feed.append("  <updated>2026-01-01T00:00:00-08:00</updated>\n");
+        for (Map.Entry<String, Long> index : counts.entrySet()) {
+            feed.append("  <entry>\n");
+            feed.append("    <title>").append(index.getKey()).append("</title>\n");
+            feed.append("    <updated>2026-01-01T00:00:00-08:00</updated>\n");
+            feed.append("    <link href=\"/services/data/indexes/").append(index.getKey())
+                    .append("\" rel=\"alternate\"/>\n");
+            feed.append("    <content type=\"text/xml\">\n      <s:dict>\n");
+            feed.append("        <s:key name=\"totalEventCount\">").append(index.getValue()).append("</s:key>\n");
+            feed.append("        <s:key name=\"currentDBSizeMB\">").append(index.getValue() / 10).append("</s:key>\n");
+            feed.append("        <s:key name=\"homePath\">$SPLUNK_DB/").append(index.getKey()).append("</s:key>\n");
+            feed.append("      </s:dict>\n    </content>\n  </entry>\n");
+        }
+        feed.append("</feed>\n");
+        return feed.toString();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests following a running job against a local stand-in server.
+ */
+public class JobFollowerTest {
+    private static final String EVENTS_PATH = "/services/search/v2/jobs/f1/events";
+
+    private LocalHttpServer server;
+    private Service service;
+
+    private final AtomicInteger available = new AtomicInteger();
+    private volatile boolean done = false;
+    private volatile boolean paused = false;
+    private final List<String> requestedOffsets = new ArrayList<String>();
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LocalHttpServer().withServerInfo("9.1.0");
+        server.on("/services/search/jobs/f1", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                Map<String, String> content = new LinkedHashMap<String, String>();
+                content.put("sid", "f1");
+                content.put("dispatchState", done ? "DONE" : paused ? "PAUSED" : "RUNNING");
+                content.put("isDone", done ? "1" : "0");
+                content.put("isPaused", paused ? "1" : "0");
+                content.put("eventAvailableCount", String.valueOf(available.get()));
+                return new LocalHttpServer.Response(200, LocalHttpServer.atomEntry("f1", content));
+            }
+        });
+        server.on(EVENTS_PATH, new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                Map<String, String> args = LocalHttpServer.parseForm(query);
+                args.putAll(LocalHttpServer.parseForm(new String(body, StandardCharsets.UTF_8)));
+                int offset = Integer.parseInt(args.get("offset"));
+                int count = Integer.parseInt(args.get("count"));
+                synchronized (requestedOffsets) {
+                    requestedOffsets.add(args.get("offset"));
+                }
+                StringBuilder rows = new StringBuilder();
+                for (int i = offset; i < Math.min(offset + count, available.get()); i++) {
+                    if (i > offset) rows.append(',');
+                    rows.append("{\"n\":\"").append(i).append("\"}");
+                }
+                return new LocalHttpServer.Response(200,
+                        "{\"preview\":false,\"init_offset\":" + offset + ",\"messages\":[],\"results\":[" + rows + "]}");
+            }
+        });
+        service = server.service();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testFetchesOnlyNewEvents() throws Exception {
+        available.set(3);
+        JobFollower follower = service.getJob("f1").followEvents();
+        follower.setBatchSize(2);
+        follower.setPollInterval(10, 40);
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(String.valueOf(i), follower.next().get("n"));
+        }
+        // The job produces more while the caller is waiting.
+        new Thread(new Runnable() {
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                    available.set(5);
+                    Thread.sleep(100);
+                    done = true;
+                } catch (InterruptedException e) {
+                    // Ends the test early.
+                }
+            }
+        }).start();
+        Assert.assertEquals("3", follower.next().get("n"));
+        Assert.assertEquals("4", follower.next().get("n"));
+        Assert.assertFalse(follower.hasNext());
+        Assert.assertEquals(5, follower.getOffset());
+
+        // Each offset is requested once: 0 and 2 for the first batches, then 3.
+        synchronized (requestedOffsets) {
+            Assert.assertEquals(3, requestedOffsets.size());
+            Assert.assertEquals("3", requestedOffsets.get(2));
+        }
+    }
+
+    @Test
+    public void testBacksOffWhilePaused() throws Exception {
+        paused = true;
+        JobFollower follower = service.getJob("f1").followEvents();
+        follower.setPollInterval(10, 300);
+        int before = server.hits("/services/search/jobs/f1");
+        new Thread(new Runnable() {
+            public void run() {
+                try {
+                    Thread.sleep(500);
+                    paused = false;
+                    done = true;
+                } catch (InterruptedException e) {
+                    // Ends the test early.
+                }
+            }
+        }).start();
+        Assert.assertFalse(follower.hasNext());
+        // Polling at the 10ms minimum would have refreshed many more times.
+        Assert.assertTrue(server.hits("/services/search/jobs/f1") - before <= 4);
+        Assert.assertEquals(0, server.hits(EVENTS_PATH));
+    }
+
+    @Test
+    public void testCloseStopsIteration() throws Exception {
+        available.set(2);
+        JobFollower follower = service.getJob("f1").followEvents();
+        Assert.assertTrue(follower.hasNext());
+        follower.close();
+        Assert.assertFalse(follower.hasNext());
+    }
+}
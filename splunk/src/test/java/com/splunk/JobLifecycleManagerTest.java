@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests tracking, touching, and cancelling jobs against a local stand-in
+ * server.
+ */
+public class JobLifecycleManagerTest {
+    private static final String JOBS_PATH = "/services/search/jobs";
+
+    private LocalHttpServer server;
+    private Service service;
+    private JobLifecycleManager manager;
+
+    private final AtomicInteger nextSid = new AtomicInteger();
+    // Sid to time to live; a job missing from it is gone from the server.
+    private final Map<String, String> ttls = new ConcurrentHashMap<String, String>();
+    private final List<String> touched = Collections.synchronizedList(new ArrayList<String>());
+    private final List<String> cancelled = Collections.synchronizedList(new ArrayList<String>());
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LocalHttpServer().withServerInfo("8.2.0");
+        server.on(JOBS_PATH, new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                String sid = "sid" + nextSid.incrementAndGet();
+                ttls.put(sid, new String(body).contains("ttl_1") ? "1" : "600");
+                return new LocalHttpServer.Response(201, "<response><sid>" + sid + "</sid></response>");
+            }
+        });
+        server.on(JOBS_PATH + "/", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                String[] parts = path.substring(JOBS_PATH.length() + 1).split("/");
+                String sid = parts[0];
+                if (!ttls.containsKey(sid)) {
+                    return new LocalHttpServer.Response(404,
+                            "<response><messages><msg type=\"ERROR\">Unknown sid.</msg></messages></response>");
+                }
+                if (parts.length > 1) {
+                    String form = new String(body);
+                    if (form.contains("action=touch")) touched.add(sid);
+                    if (form.contains("action=cancel")) cancelled.add(sid);
+                    return new LocalHttpServer.Response(200, "<response></response>");
+                }
+                Map<String, String> content = new LinkedHashMap<String, String>();
+                content.put("sid", sid);
+                content.put("dispatchState", "RUNNING");
+                content.put("ttl", ttls.get(sid));
+                return new LocalHttpServer.Response(200, LocalHttpServer.atomEntry(sid, content));
+            }
+        });
+        service = server.service();
+        manager = new JobLifecycleManager(service);
+        service.setJobLifecycleManager(manager);
+    }
+
+    @After
+    public void tearDown() {
+        manager.close();
+        server.stop();
+    }
+
+    @Test
+    public void testAbandonedJobsAreCancelledOnClose() throws Exception {
+        service.search("search index=main");
+        service.search("search index=_internal");
+        Job released = service.search("search index=_audit");
+        Assert.assertEquals(3, manager.getTrackedCount());
+
+        try (Job job = service.search("search error")) {
+            Assert.assertEquals(4, manager.getTrackedCount());
+        }
+        Assert.assertEquals(Collections.singletonList("sid4"), cancelled);
+        Assert.assertEquals(3, manager.getTrackedCount());
+
+        manager.release(released);
+        manager.close();
+        Assert.assertEquals(3, cancelled.size());
+        Assert.assertFalse(cancelled.contains("sid3"));
+        Assert.assertNull(service.getJobLifecycleManager());
+    }
+
+    @Test
+    public void testTouchesOnlyJobsAboutToExpire() {
+        manager.setTouchInterval(1000);
+        service.search("search index=main");
+        service.search("search ttl_1");
+        service.search("search ttl_1");
+        // The third job is cancelled behind the manager's back.
+        ttls.remove("sid3");
+
+        manager.touchDue();
+        Assert.assertEquals(Collections.singletonList("sid2"), touched);
+        Assert.assertEquals(2, manager.getTrackedCount());
+    }
+
+    @Test
+    public void testTouchesOnSchedule() throws Exception {
+        manager.setTouchInterval(20);
+        manager.start();
+        service.search("search ttl_1");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (touched.size() < 2) {
+            Assert.assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+        manager.close();
+        Assert.assertEquals(Collections.singletonList("sid1"), cancelled);
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the on-disk cache of job results against a local stand-in server.
+ */
+public class JobResultsCacheTest {
+    private static final String RESULTS_PATH = "/services/search/v2/jobs/sid1/results";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LocalHttpServer server;
+    private Service service;
+    private JobResultsCache cache;
+    private final AtomicInteger resultCount = new AtomicInteger(3);
+    private volatile String ttl = "600";
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LocalHttpServer().withServerInfo("9.1.0");
+        server.on("/services/search/jobs/", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                Map<String, String> content = new LinkedHashMap<String, String>();
+                content.put("sid", "sid1");
+                content.put("dispatchState", "DONE");
+                content.put("isDone", "1");
+                content.put("ttl", ttl);
+                content.put("resultCount", String.valueOf(resultCount.get()));
+                return new LocalHttpServer.Response(200, LocalHttpServer.atomEntry("sid1", content));
+            }
+        });
+        server.on(RESULTS_PATH, new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                String mode = new String(body).contains("output_mode=json") ? "json" : "xml";
+                return new LocalHttpServer.Response(200, mode + ":" + repeat("row;", resultCount.get() * 100));
+            }
+        });
+        service = server.service();
+        cache = new JobResultsCache(folder.newFolder("cache"), 1024 * 1024);
+        service.setResultsCache(cache);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testRepeatedReadsAreServedFromDisk() throws Exception {
+        Job job = service.getJob("sid1").refresh();
+        String first = read(job.getResults(new JobResultsArgs()));
+        String second = read(job.getResults(new JobResultsArgs()));
+
+        Assert.assertEquals(first, second);
+        Assert.assertTrue(first.startsWith("xml:row;"));
+        Assert.assertEquals(1, server.hits(RESULTS_PATH));
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(first.length(), cache.getSizeInBytes());
+    }
+
+    @Test
+    public void testArgumentsAreKeyedSeparately() throws Exception {
+        Job job = service.getJob("sid1").refresh();
+        JobResultsArgs json = new JobResultsArgs();
+        json.setOutputMode(JobResultsArgs.OutputMode.JSON);
+
+        Assert.assertTrue(read(job.getResults(new JobResultsArgs())).startsWith("xml:"));
+        Assert.assertTrue(read(job.getResults(json)).startsWith("json:"));
+        Assert.assertTrue(read(job.getResults(json)).startsWith("json:"));
+        // Passing a default explicitly shares the entry of leaving it out.
+        Args xml = new Args("output_mode", "xml");
+        Assert.assertTrue(read(job.getResults(xml)).startsWith("xml:"));
+
+        Assert.assertEquals(2, server.hits(RESULTS_PATH));
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testDownloadClosedEarlyIsReadToTheEndAndStored() throws Exception {
+        Job job = service.getJob("sid1").refresh();
+        InputStream stream = job.getResults(new JobResultsArgs());
+        stream.read(new byte[10]);
+        stream.close();
+
+        Assert.assertEquals(1, cache.size());
+        String cached = read(job.getResults(new JobResultsArgs()));
+        Assert.assertEquals("xml:".length() + 300 * "row;".length(), cached.length());
+        Assert.assertEquals(1, server.hits(RESULTS_PATH));
+        // Only the stored file is left behind in the directory.
+        Assert.assertEquals(1, folder.getRoot().toPath().resolve("cache").toFile().list().length);
+    }
+
+    @Test
+    public void testDownloadAbandonedMidwayIsDiscarded() throws Exception {
+        resultCount.set(300);
+        Job job = service.getJob("sid1").refresh();
+        InputStream stream = job.getResults(new JobResultsArgs());
+        stream.read(new byte[10]);
+        stream.close();
+
+        Assert.assertTrue(300 * 100 * "row;".length() > JobResultsCache.DRAIN_LIMIT);
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, folder.getRoot().toPath().resolve("cache").toFile().list().length);
+    }
+
+    @Test
+    public void testResultsReadByReaderAreStored() throws Exception {
+        byte[] json = Files.readAllBytes(new File("src/test/resources/results5.json").toPath());
+        server.on(RESULTS_PATH, 200, new String(json, "UTF-8"));
+        JobResultsArgs args = new JobResultsArgs();
+        args.setOutputMode(JobResultsArgs.OutputMode.JSON);
+        Job job = service.getJob("sid1").refresh();
+
+        int first = count(new ResultsReaderJson(job.getResults(args)));
+        int second = count(new ResultsReaderJson(job.getResults(args)));
+
+        Assert.assertTrue(first > 0);
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(1, server.hits(RESULTS_PATH));
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(json.length, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void testOtherFilesInDirectoryAreKept() throws Exception {
+        File shared = folder.newFolder("shared");
+        File mine = new File(shared, "report.results");
+        Assert.assertTrue(mine.createNewFile());
+        cache = new JobResultsCache(shared, 1024 * 1024);
+        service.setResultsCache(cache);
+        read(service.getJob("sid1").refresh().getResults(new JobResultsArgs()));
+
+        // A new cache over the same directory removes only its own files.
+        new JobResultsCache(shared, 1024 * 1024);
+        Assert.assertTrue(mine.exists());
+        Assert.assertEquals(1, shared.list().length);
+    }
+
+    @Test
+    public void testRerunJobInvalidatesEntries() throws Exception {
+        read(service.getJob("sid1").refresh().getResults(new JobResultsArgs()));
+        resultCount.set(5);
+        String rerun = read(service.getJob("sid1").refresh().getResults(new JobResultsArgs()));
+
+        Assert.assertEquals(2, server.hits(RESULTS_PATH));
+        Assert.assertEquals("xml:".length() + 500 * "row;".length(), rerun.length());
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws Exception {
+        cache = new JobResultsCache(folder.newFolder("small"), 2500);
+        service.setResultsCache(cache);
+        Job job = service.getJob("sid1").refresh();
+        Args a = new Args("count", 1);
+        Args b = new Args("count", 2);
+        Args c = new Args("count", 3);
+
+        read(job.getResults(a));
+        read(job.getResults(b));
+        read(job.getResults(a)); // b is now the least recently used
+        read(job.getResults(c));
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        read(job.getResults(a));
+        Assert.assertEquals(3, server.hits(RESULTS_PATH));
+        read(job.getResults(b));
+        Assert.assertEquals(4, server.hits(RESULTS_PATH));
+    }
+
+    @Test
+    public void testEntriesExpire() throws Exception {
+        ttl = "0";
+        cache.setDefaultTtl(50);
+        Job job = service.getJob("sid1").refresh();
+        read(job.getResults(new JobResultsArgs()));
+        Thread.sleep(100);
+        read(job.getResults(new JobResultsArgs()));
+
+        Assert.assertEquals(2, server.hits(RESULTS_PATH));
+        Assert.assertEquals(0, cache.getHitCount());
+    }
+
+    private static int count(ResultsReader reader) throws Exception {
+        try {
+            int events = 0;
+            while (reader.getNextEvent() != null) {
+                events++;
+            }
+            return events;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static String read(InputStream stream) throws Exception {
+        try {
+            return new String(LocalHttpServer.readAll(stream), "UTF-8");
+        } finally {
+            stream.close();
+        }
+    }
+
+    private static String repeat(String s, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(s);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tests job status snapshots against a local stand-in server.
+ */
+public class JobStatusTest {
+    private LocalHttpServer server;
+    private Service service;
+    private volatile String state = "RUNNING";
+    private volatile String progress = "0.25";
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LocalHttpServer().withServerInfo("8.2.0");
+        server.on("/services/search/jobs/s1", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                return new LocalHttpServer.Response(200, LocalHttpServer.atomEntry("s1", content("s1", state, progress)));
+            }
+        });
+        StringBuilder feed = new StringBuilder();
+        feed.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        feed.append("<feed xmlns=\"http://www.w3.org/2005/Atom\" xmlns:s=\"http://dev.splunk.com/ns/rest\">\n");
+        feed.append("  <title>jobs</title>\n");
+        feed.append(LocalHttpServer.atomEntry("s1", content("s1", "RUNNING", "0.5")));
+        feed.append(LocalHttpServer.atomEntry("s2", content("s2", "DONE", "1.0")));
+        feed.append("</feed>\n");
+        server.on("/services/search/jobs", 200, feed.toString());
+        service = server.service();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testSnapshotIsParsedOnce() {
+        Job job = service.getJob("s1");
+        int before = server.hits("/services/search/jobs/s1");
+        JobStatus status = job.getStatus();
+        Assert.assertEquals(before + 1, server.hits("/services/search/jobs/s1"));
+
+        Assert.assertEquals("s1", status.getSid());
+        Assert.assertEquals("RUNNING", status.getDispatchState());
+        Assert.assertFalse(status.isDone());
+        Assert.assertEquals(0.25f, status.getDoneProgress(), 0);
+        Assert.assertEquals(12345678901L, status.getScanCount());
+        Assert.assertEquals(42, status.getResultCount());
+        Assert.assertEquals(1.5f, status.getRunDuration(), 0);
+        // 2026-01-01T00:00:00.000-08:00
+        Assert.assertEquals(1767254400000L, status.getCursorTime().getTime());
+        Assert.assertNull(status.getLatestTime());
+        Assert.assertEquals(before + 1, server.hits("/services/search/jobs/s1"));
+    }
+
+    @Test
+    public void testChangesSincePreviousSnapshot() {
+        Job job = service.getJob("s1");
+        JobStatus first = job.getStatus();
+        Assert.assertEquals(first, job.getStatus());
+        Assert.assertTrue(job.getStatus().changesSince(first).isEmpty());
+
+        state = "DONE";
+        progress = "1.0";
+        JobStatus second = job.getStatus();
+        Assert.assertEquals(new HashSet<String>(Arrays.asList("dispatchState", "isDone", "doneProgress")),
+                second.changesSince(first));
+        Assert.assertNotEquals(first, second);
+        Assert.assertTrue(second.changesSince(null).contains("sid"));
+    }
+
+    @Test
+    public void testStatusesFromOneListing() {
+        Map<String, JobStatus> statuses = service.getJobStatuses();
+        Assert.assertEquals(1, server.hits("/services/search/jobs"));
+        Assert.assertEquals(Arrays.asList("s1", "s2"), Arrays.asList(statuses.keySet().toArray()));
+        Assert.assertEquals(0.5f, statuses.get("s1").getDoneProgress(), 0);
+        Assert.assertTrue(statuses.get("s2").isDone());
+    }
+
+    private static Map<String, String> content(String sid, String state, String progress) {
+        Map<String, String> content = new LinkedHashMap<String, String>();
+        content.put("sid", sid);
+        content.put("dispatchState", state);
+        content.put("isDone", state.equals("DONE") ? "1" : "0");
+        content.put("doneProgress", progress);
+        content.put("scanCount", "12345678901");
+        content.put("resultCount", "42");
+        content.put("runDuration", "1.5");
+        content.put("cursorTime", "2026-01-01T00:00:00.000-08:00");
+        return content;
+    }
+}
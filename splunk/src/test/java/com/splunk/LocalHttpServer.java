@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A stand-in HTTP server bound to a free local port, used by tests that
+ * exercise the client without a running Splunk instance. Responses are
+ * registered per path, or per path prefix when the registered path ends with
+ * a slash; every request is counted per path.
+ */
+class LocalHttpServer {
+    /**
+     * Produces the response for a request.
+     */
+    interface Responder {
+        /**
+         * Returns the response for a request.
+         *
+         * @param method The request method.
+         * @param path The request path, without the query string.
+         * @param query The raw query string, or {@code null}.
+         * @param body The request body.
+         * @return The response.
+         */
+        Response respond(String method, String path, String query, byte[] body);
+    }
+
+    /**
+     * A canned response.
+     */
+    static class Response {
+        final int status;
+        final byte[] body;
+        final Map<String, String> headers = new ConcurrentHashMap<String, String>();
+
+        Response(int status, String body) {
+            this(status, body.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+        }
+
+        Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        Response header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+    }
+
+    private final HttpServer server;
+    private final Map<String, Responder> responders = new ConcurrentHashMap<String, Responder>();
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<String, AtomicInteger>();
+    private static final ThreadLocal<HttpExchange> current = new ThreadLocal<HttpExchange>();
+
+    LocalHttpServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", new HttpHandler() {
+            public void handle(HttpExchange exchange) throws IOException {
+                dispatch(exchange);
+            }
+        });
+        server.start();
+    }
+
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Registers a fixed response for a path.
+     */
+    LocalHttpServer on(String path, final int status, final String body) {
+        return on(path, new Responder() {
+            public Response respond(String method, String p, String query, byte[] requestBody) {
+                return new Response(status, body);
+            }
+        });
+    }
+
+    /**
+     * Registers a responder for a path.
+     */
+    LocalHttpServer on(String path, Responder responder) {
+        responders.put(path, responder);
+        return this;
+    }
+
+    /**
+     * Returns how many requests have been received for a path.
+     */
+    int hits(String path) {
+        AtomicInteger count = hits.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Returns a {@code Service} pointing at this server over plain HTTP,
+     * already holding a session token so that no login is needed.
+     */
+    Service service() {
+        Service service = new Service("127.0.0.1", getPort(), "http");
+        service.setToken("Splunk test-token");
+        return service;
+    }
+
+    /**
+     * Returns a header of the request being answered, for use by responders.
+     */
+    static String requestHeader(String name) {
+        HttpExchange exchange = current.get();
+        return exchange == null ? null : exchange.getRequestHeaders().getFirst(name);
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        AtomicInteger count = hits.get(path);
+        if (count == null) {
+            hits.putIfAbsent(path, new AtomicInteger());
+            count = hits.get(path);
+        }
+        count.incrementAndGet();
+
+        byte[] body = readAll(exchange.getRequestBody());
+        Responder responder = responderFor(path);
+        Response response;
+        current.set(exchange);
+        try {
+            response = responder == null
+                    ? new Response(404, "<response><messages><msg type=\"ERROR\">Not Found</msg></messages></response>")
+                    : responder.respond(exchange.getRequestMethod(), path,
+                            exchange.getRequestURI().getRawQuery(), body);
+        } finally {
+            current.remove();
+        }
+        for (Map.Entry<String, String> header : response.headers.entrySet()) {
+            exchange.getResponseHeaders().add(header.getKey(), header.getValue());
+        }
+        exchange.sendResponseHeaders(response.status,
+                response.body.length == 0 ? -1 : response.body.length);
+        OutputStream out = exchange.getResponseBody();
+        out.write(response.body);
+        out.close();
+    }
+
+    private Responder responderFor(String path) {
+        Responder responder = responders.get(path);
+        if (responder != null) return responder;
+        String longest = null;
+        for (String registered : responders.keySet()) {
+            if (registered.endsWith("/") && path.startsWith(registered)
+                    && (longest == null || registered.length() > longest.length())) {
+                longest = registered;
+            }
+        }
+        return longest == null ? null : responders.get(longest);
+    }
+
+    static byte[] readAll(InputStream input) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int n;
+        while ((n = input.read(chunk)) != -1) {
+            buffer.write(chunk, 0, n);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Returns the decoded arguments of a form body or query string, which
+     * may be {@code null}.
+     */
+    static Map<String, String> parseForm(String form) {
+        Map<String, String> args = new HashMap<String, String>();
+        if (form == null || form.isEmpty()) return args;
+        for (String pair : form.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            try {
+                args.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), "UTF-8"));
+            } catch (UnsupportedEncodingException e) {
+                throw new AssertionError(e);
+            }
+        }
+        return args;
+    }
+
+    /**
+     * Escapes text for use as the content of an XML element.
+     */
+    static String xmlEscape(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    /**
+     * Returns an Atom feed holding one entry with the given content keys.
+     */
+    static String atomFeed(String title, Map<String, String> content) {
+        StringBuilder feed = new StringBuilder();
+        feed.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        feed.append("<feed xmlns=\"http://www.w3.org/2005/Atom\" xmlns:s=\"http://dev.splunk.com/ns/rest\">\n");
+        feed.append("  <title>").append(title).append("</title>\n");
+        feed.append(atomEntry(title, content));
+        feed.append("</feed>\n");
+        return feed.toString();
+    }
+
+    /**
+     * Returns a single Atom entry with the given content keys.
+     */
+    static String atomEntry(String title, Map<String, String> content) {
+        StringBuilder entry = new StringBuilder();
+        entry.append("  <entry xmlns=\"http://www.w3.org/2005/Atom\" xmlns:s=\"http://dev.splunk.com/ns/rest\">\n");
+        entry.append("    <title>").append(title).append("</title>\n");
+        entry.append("    <id>https://localhost:8089/services/").append(title).append("</id>\n");
+        entry.append("    <updated>2026-01-01T00:00:00-08:00</updated>\n");
+        entry.append("    <link href=\"/services/").append(title).append("\" rel=\"alternate\"/>\n");
+        entry.append("    <content type=\"text/xml\">\n      <s:dict>\n");
+        for (Map.Entry<String, String> key : content.entrySet()) {
+            entry.append("        <s:key name=\"").append(key.getKey()).append("\">")
+                    .append(key.getValue()).append("</s:key>\n");
+        }
+        entry.append("      </s:dict>\n    </content>\n  </entry>\n");
+        return entry.toString();
+    }
+
+    /**
+     * Registers a {@code server/info} response for the given version.
+     */
+    LocalHttpServer withServerInfo(String version) {
+        Map<String, String> info = new java.util.LinkedHashMap<String, String>();
+        info.put("version", version);
+        info.put("instance_type", "");
+        return on("/services/server/info", 200, atomFeed("server-info", info));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests time-sliced parallel exports against a local stand-in server.
+ */
+public class ParallelExportTest {
+    private static final String EXPORT_PATH = "/services/search/jobs/export";
+
+    private LocalHttpServer server;
+    private Service service;
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LocalHttpServer().withServerInfo("8.2.0");
+        server.on(EXPORT_PATH, new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                Map<String, String> args = LocalHttpServer.parseForm(new String(body, StandardCharsets.UTF_8));
+                int earliest = (int)Double.parseDouble(args.get("earliest_time"));
+                int latest = (int)Double.parseDouble(args.get("latest_time"));
+                if (earliest == 50 && failuresLeft.getAndDecrement() > 0) {
+                    return new LocalHttpServer.Response(503, "busy");
+                }
+                // Newest first, like the export endpoint.
+                StringBuilder rows = new StringBuilder();
+                for (int t = latest - 1; t >= earliest; t--) {
+                    rows.append("{\"preview\":false,\"offset\":").append(latest - 1 - t);
+                    if (t == earliest) rows.append(",\"lastrow\":true");
+                    rows.append(",\"result\":{\"_time\":\"").append(t).append("\",\"n\":\"").append(t).append("\"}}\n");
+                }
+                return new LocalHttpServer.Response(200, rows.toString());
+            }
+        });
+        service = server.service();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testUnorderedDeliversEverySliceOnce() {
+        ParallelExport export = service.exportInParallel("search *", range(0, 100));
+        export.setSlices(4);
+        Set<String> seen = new HashSet<String>();
+        int count = 0;
+        for (Event event : export) {
+            seen.add(event.get("n"));
+            count++;
+        }
+        export.close();
+        Assert.assertEquals(100, count);
+        Assert.assertEquals(100, seen.size());
+        Assert.assertEquals(4, server.hits(EXPORT_PATH));
+    }
+
+    @Test
+    public void testOrderedMergeWithinMemoryBudget() {
+        ParallelExport export = service.exportInParallel("search *", range(0, 100));
+        export.setSlices(5);
+        export.setOrdered(true);
+        // Smaller than one event: each slice holds one at a time.
+        export.setMemoryBudget(1);
+        List<Integer> times = new ArrayList<Integer>();
+        for (Event event : export) {
+            times.add(Integer.parseInt(event.get("_time")));
+        }
+        export.close();
+        Assert.assertEquals(100, times.size());
+        for (int i = 0; i < times.size(); i++) {
+            Assert.assertEquals(99 - i, (int)times.get(i));
+        }
+    }
+
+    @Test
+    public void testFailedSliceIsRetried() {
+        failuresLeft.set(1);
+        ParallelExport export = service.exportInParallel("search *", range(0, 100));
+        export.setSlices(2);
+        export.setRetries(2, 10);
+        int count = 0;
+        for (Event event : export) {
+            count++;
+        }
+        Assert.assertEquals(100, count);
+        Assert.assertEquals(3, server.hits(EXPORT_PATH));
+    }
+
+    @Test
+    public void testFailureAfterRetriesIsReported() {
+        failuresLeft.set(10);
+        ParallelExport export = service.exportInParallel("search *", range(0, 100));
+        export.setSlices(2);
+        export.setRetries(1, 10);
+        try {
+            while (export.hasNext()) {
+                export.next();
+            }
+            Assert.fail("Expected the failed slice to be reported.");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getCause() instanceof HttpException);
+        } finally {
+            export.close();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRelativeTimesAreRejected() {
+        Map<String, Object> args = new HashMap<String, Object>();
+        args.put("earliest_time", "-30d");
+        service.exportInParallel("search *", args).start();
+    }
+
+    private static Map<String, Object> range(int earliest, int latest) {
+        Map<String, Object> args = new HashMap<String, Object>();
+        args.put("earliest_time", String.valueOf(earliest));
+        args.put("latest_time", String.valueOf(latest));
+        return args;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the cache of compiled pivots against a local stand-in server.
+ */
+public class PivotCacheTest {
+    private static final String PIVOT_PATH = "/services/datamodel/pivot/pivot_test";
+
+    private LocalHttpServer server;
+    private Service service;
+    private DataModelObject dataModelObject;
+    private final AtomicInteger compiled = new AtomicInteger();
+    private volatile String acceleration = "{\"enabled\":false}";
+
+    @Before
+    public void setUp() throws Exception {
+        final String definition = LocalHttpServer.xmlEscape(SDKTestCase.streamToString(
+                SDKTestCase.openResource("/data/datamodels/data_model_for_pivot.json")));
+        server = new LocalHttpServer().withServerInfo("9.1.0");
+        server.on("/services/datamodel/model/", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                if (method.equals("POST")) {
+                    return new LocalHttpServer.Response(200, "<response/>");
+                }
+                Map<String, String> content = new LinkedHashMap<String, String>();
+                content.put("description", definition);
+                content.put("acceleration", LocalHttpServer.xmlEscape(acceleration));
+                return new LocalHttpServer.Response(200,
+                        LocalHttpServer.atomFeed("pivot_test", content));
+            }
+        });
+        server.on(PIVOT_PATH, new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                int n = compiled.incrementAndGet();
+                Map<String, String> content = new LinkedHashMap<String, String>();
+                content.put("pivot_search", "| pivot pivot_test test_data count(test_data) AS n" + n);
+                content.put("search", "search n" + n);
+                content.put("open_in_search", "| pivot n" + n);
+                content.put("drilldown_search", "search drilldown n" + n);
+                return new LocalHttpServer.Response(200, LocalHttpServer.atomFeed("pivot", content));
+            }
+        });
+        service = server.service();
+        DataModel model = new DataModel(service, "datamodel/model/pivot_test");
+        dataModelObject = model.getObject("test_data");
+        Assert.assertNotNull(dataModelObject);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testSameSpecificationIsCompiledOnce() {
+        PivotCache cache = service.getPivotCache();
+        Pivot first = cache.get(spec());
+        Pivot second = cache.get(spec());
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, server.hits(PIVOT_PATH));
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+
+        cache.get(spec().addRowSplit("host", "Host"));
+        Assert.assertEquals(2, server.hits(PIVOT_PATH));
+    }
+
+    @Test
+    public void testWarmUp() {
+        PivotCache cache = service.getPivotCache();
+        int compiledCount = cache.warmUp(Arrays.asList(
+                spec(), spec(), spec().addRowSplit("host", "Host")));
+
+        Assert.assertEquals(2, compiledCount);
+        Assert.assertEquals(2, cache.size());
+        Assert.assertTrue(cache.contains(spec()));
+        cache.get(spec());
+        Assert.assertEquals(2, server.hits(PIVOT_PATH));
+    }
+
+    @Test
+    public void testUpdatingTheDataModelInvalidates() {
+        PivotCache cache = service.getPivotCache();
+        cache.get(spec());
+        dataModelObject.getDataModel().setManualRebuilds(true);
+        dataModelObject.getDataModel().update();
+
+        Assert.assertEquals(0, cache.size());
+        cache.get(spec());
+        Assert.assertEquals(2, server.hits(PIVOT_PATH));
+    }
+
+    @Test
+    public void testNewDataModelVersionMisses() {
+        PivotCache cache = service.getPivotCache();
+        Pivot before = cache.get(spec());
+        acceleration = "{\"enabled\":true}";
+        dataModelObject.getDataModel().refresh();
+        Pivot after = cache.get(spec());
+
+        Assert.assertNotSame(before, after);
+        Assert.assertEquals(2, server.hits(PIVOT_PATH));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        PivotCache cache = service.getPivotCache();
+        cache.setMaxEntries(2);
+        cache.get(spec());
+        cache.get(spec().addRowSplit("host", "Host"));
+        cache.get(spec());
+        cache.get(spec().addRowSplit("source", "Source"));
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertTrue(cache.contains(spec()));
+        Assert.assertFalse(cache.contains(spec().addRowSplit("host", "Host")));
+    }
+
+    @Test
+    public void testCanonicalJsonIgnoresKeyOrder() {
+        com.google.gson.JsonParser parser = new com.google.gson.JsonParser();
+        Assert.assertEquals(
+                PivotCache.canonical(parser.parse("{\"b\":[1,{\"y\":1,\"x\":2}],\"a\":\"s\"}")),
+                PivotCache.canonical(parser.parse("{\"a\":\"s\",\"b\":[1,{\"x\":2,\"y\":1}]}")));
+    }
+
+    private PivotSpecification spec() {
+        return dataModelObject.createPivotSpecification()
+                .addCellValue("host", "Count", StatsFunction.COUNT);
+    }
+}
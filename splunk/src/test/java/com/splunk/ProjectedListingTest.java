@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests projected listings of collections against a local stand-in server.
+ */
+public class ProjectedListingTest {
+    private static final String INDEXES =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+        "<feed xmlns=\"http://www.w3.org/2005/Atom\" xmlns:s=\"http://dev.splunk.com/ns/rest\">\n" +
+        "  <title>indexes</title>\n" +
+        entry("main", "<s:key name=\"totalEventCount\">42</s:key>" +
+                "<s:key name=\"maxTotalDataSizeMB\">500000</s:key>" +
+                "<s:key name=\"disabled\">0</s:key>" +
+                "<s:key name=\"eai:acl\"><s:dict><s:key name=\"app\">search</s:key>" +
+                "<s:key name=\"perms\"><s:dict><s:key name=\"read\"><s:list><s:item>*</s:item></s:list></s:key></s:dict></s:key>" +
+                "</s:dict></s:key>") +
+        entry("_internal", "<s:key name=\"totalEventCount\">7</s:key>" +
+                "<s:key name=\"disabled\">1</s:key>") +
+        "</feed>\n";
+
+    private LocalHttpServer server;
+    private Service service;
+    private final AtomicReference<String> lastQuery = new AtomicReference<String>();
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LocalHttpServer().withServerInfo("9.1.0");
+        server.on("/services/data/indexes", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                lastQuery.set(query);
+                return new LocalHttpServer.Response(200, INDEXES);
+            }
+        });
+        service = server.service();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testOnlyRequestedFieldsAreKept() {
+        List<EntityView> views = service.getIndexes().listProjected("totalEventCount", "disabled");
+
+        Assert.assertTrue(lastQuery.get().contains("f=totalEventCount"));
+        Assert.assertTrue(lastQuery.get().contains("f=disabled"));
+        Assert.assertEquals(2, views.size());
+
+        EntityView main = views.get(0);
+        Assert.assertEquals("main", main.getName());
+        Assert.assertEquals("/services/data/indexes/main", main.getPath());
+        Assert.assertEquals(42, main.getInteger("totalEventCount", -1));
+        Assert.assertFalse(main.getBoolean("disabled", true));
+        // Keys the server sent but that were not asked for are dropped.
+        Assert.assertFalse(main.containsKey("maxTotalDataSizeMB"));
+        Assert.assertFalse(main.containsKey("eai:acl"));
+        Assert.assertEquals(-1L, main.getLong("maxTotalDataSizeMB", -1));
+
+        Assert.assertEquals("_internal", views.get(1).getName());
+        Assert.assertTrue(views.get(1).getBoolean("disabled", false));
+    }
+
+    @Test
+    public void testWildcardAndNestedFields() {
+        List<EntityView> views = service.getIndexes().listProjected("eai:*");
+
+        Map<?, ?> acl = (Map<?, ?>)views.get(0).get("eai:acl");
+        Assert.assertEquals("search", acl.get("app"));
+        Assert.assertEquals(1, views.get(0).keySet().size());
+        try {
+            views.get(0).keySet().clear();
+            Assert.fail("Expected the view to be read-only.");
+        } catch (UnsupportedOperationException e) {}
+        try {
+            acl.clear();
+            Assert.fail("Expected nested values to be read-only.");
+        } catch (UnsupportedOperationException e) {}
+    }
+
+    @Test
+    public void testNamesOnlyAndSummary() {
+        List<EntityView> views = service.getIndexes().listSummary();
+
+        Assert.assertTrue(lastQuery.get().contains("summarize=true"));
+        Assert.assertTrue(lastQuery.get().contains("f=title"));
+        Assert.assertEquals(2, views.size());
+        Assert.assertTrue(views.get(0).keySet().isEmpty());
+        Assert.assertEquals("main", views.get(0).getName());
+    }
+
+    private static String entry(String title, String keys) {
+        return "  <entry>\n" +
+               "    <title>" + title + "</title>\n" +
+               "    <id>https://localhost:8089/services/data/indexes/" + title + "</id>\n" +
+               "    <updated>2026-01-01T00:00:00-08:00</updated>\n" +
+               "    <link href=\"/services/data/indexes/" + title + "\" rel=\"alternate\"/>\n" +
+               "    <content type=\"text/xml\"><s:dict>" + keys + "</s:dict></content>\n" +
+               "  </entry>\n";
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Tests raw transfers of results to files and channels against a local
+ * stand-in server.
+ */
+public class RawTransferTest {
+    private static final String RESULTS_PATH = "/services/search/jobs/sid1/results";
+    private static final String EXPORT_PATH = "/services/search/jobs/export";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LocalHttpServer server;
+    private Service service;
+    private String results;
+
+    @Before
+    public void setUp() throws Exception {
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            rows.append("<result><field k=\"n\"><value><text>").append(i).append("</text></value></field></result>\n");
+        }
+        results = rows.toString();
+
+        server = new LocalHttpServer().withServerInfo("8.2.0");
+        server.on("/services/search/jobs/sid1", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                Map<String, String> content = new LinkedHashMap<String, String>();
+                content.put("sid", "sid1");
+                content.put("dispatchState", "DONE");
+                content.put("isDone", "1");
+                content.put("resultCount", "20000");
+                return new LocalHttpServer.Response(200, LocalHttpServer.atomEntry("sid1", content));
+            }
+        });
+        server.on(RESULTS_PATH, 200, results);
+        server.on(EXPORT_PATH, 200, "export:" + results);
+        service = server.service();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testTransfersResultsToFile() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("results.xml");
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicLong lastRead = new AtomicLong();
+        TransferOptions options = new TransferOptions()
+                .setBufferSize(64 * 1024)
+                .setListener(new TransferListener() {
+                    public void onProgress(long bytesRead, long bytesWritten) {
+                        Assert.assertEquals(bytesRead, bytesWritten);
+                        Assert.assertTrue(bytesRead >= lastRead.get());
+                        lastRead.set(bytesRead);
+                        calls.incrementAndGet();
+                    }
+                });
+
+        Job job = service.getJob("sid1").refresh();
+        long written = job.transferResultsTo(file, new JobResultsArgs(), options);
+
+        Assert.assertEquals(results.length(), written);
+        Assert.assertEquals(results, new String(Files.readAllBytes(file), "UTF-8"));
+        Assert.assertEquals(written, lastRead.get());
+        Assert.assertTrue(calls.get() > 1);
+    }
+
+    @Test
+    public void testCompressesOnTheFly() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final AtomicLong written = new AtomicLong();
+        TransferOptions options = new TransferOptions()
+                .setCompression(true)
+                .setListener(new TransferListener() {
+                    public void onProgress(long bytesRead, long bytesWritten) {
+                        written.set(bytesWritten);
+                    }
+                });
+
+        long count = service.exportTo("search *", null, Channels.newChannel(out), options);
+
+        Assert.assertEquals(out.size(), count);
+        Assert.assertEquals(count, written.get());
+        Assert.assertTrue(count < results.length() / 4);
+        GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()));
+        Assert.assertEquals("export:" + results, new String(LocalHttpServer.readAll(gunzip), "UTF-8"));
+    }
+
+    @Test
+    public void testCachedResultsAreWrittenFromTheCache() throws Exception {
+        service.setResultsCache(new JobResultsCache(folder.newFolder("cache"), 16 * 1024 * 1024));
+        Job job = service.getJob("sid1").refresh();
+        LocalHttpServer.readAll(job.getResults(new JobResultsArgs()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = job.transferResultsTo(Channels.newChannel(out), new JobResultsArgs());
+        Assert.assertEquals(results.length(), written);
+        Assert.assertEquals(results, out.toString("UTF-8"));
+        Assert.assertEquals(1, server.hits(RESULTS_PATH));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Tests reading result streams ahead on a background thread.
+ */
+public class ReadAheadInputStreamTest {
+    @Test
+    public void testCopiesEveryByte() throws IOException {
+        byte[] data = new byte[100000];
+        new Random(7).nextBytes(data);
+        ReadAheadInputStream stream = new ReadAheadInputStream(new ByteArrayInputStream(data), 3, 1000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[777];
+        int n;
+        while ((n = stream.read(buffer)) != -1) {
+            out.write(buffer, 0, n);
+            Assert.assertTrue(stream.getOccupancy() <= stream.getBufferCount());
+        }
+        Assert.assertTrue(Arrays.equals(data, out.toByteArray()));
+        Assert.assertEquals(data.length, stream.getBytesRead());
+        Assert.assertEquals(-1, stream.read());
+        stream.close();
+    }
+
+    @Test
+    public void testCountsStalls() throws Exception {
+        // A slow consumer leaves the background thread waiting for buffers.
+        ReadAheadInputStream fast = new ReadAheadInputStream(new ByteArrayInputStream(new byte[10000]), 2, 100);
+        Thread.sleep(100);
+        Assert.assertEquals(2, fast.getOccupancy());
+        Assert.assertTrue(fast.getFillStalls() > 0);
+        fast.close();
+
+        // A slow source leaves the reader waiting for data.
+        ReadAheadInputStream slow = new ReadAheadInputStream(new SlowStream(5, 20), 2, 100);
+        int total = 0;
+        while (slow.read() != -1) total++;
+        Assert.assertEquals(5, total);
+        Assert.assertTrue(slow.getReaderStalls() > 0);
+        slow.close();
+    }
+
+    @Test
+    public void testReportsSourceFailureAfterData() throws IOException {
+        InputStream failing = new InputStream() {
+            private int left = 3;
+
+            @Override public int read() throws IOException {
+                if (left-- > 0) return 'x';
+                throw new IOException("connection reset");
+            }
+
+            @Override public int read(byte[] b, int off, int len) throws IOException {
+                b[off] = (byte)read();
+                return 1;
+            }
+        };
+        ReadAheadInputStream stream = new ReadAheadInputStream(failing, 2, 16);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals('x', stream.read());
+        }
+        try {
+            stream.read();
+            Assert.fail("Expected the source failure.");
+        } catch (IOException e) {
+            Assert.assertEquals("connection reset", e.getMessage());
+        }
+        stream.close();
+    }
+
+    @Test
+    public void testReportsUncheckedSourceFailure() throws IOException {
+        InputStream failing = new InputStream() {
+            private int left = 3;
+
+            @Override public int read() {
+                if (left-- > 0) return 'x';
+                throw new IllegalStateException("decoder failed");
+            }
+
+            @Override public int read(byte[] b, int off, int len) {
+                b[off] = (byte)read();
+                return 1;
+            }
+        };
+        ReadAheadInputStream stream = new ReadAheadInputStream(failing, 2, 16);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals('x', stream.read());
+        }
+        try {
+            stream.read();
+            Assert.fail("Expected the source failure.");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+            Assert.assertEquals("decoder failed", e.getCause().getMessage());
+        }
+        stream.close();
+    }
+
+    @Test
+    public void testServiceReadsResultsAndExportAhead() throws IOException {
+        LocalHttpServer server = new LocalHttpServer().withServerInfo("8.2.0");
+        try {
+            Map<String, String> content = new LinkedHashMap<String, String>();
+            content.put("sid", "r1");
+            content.put("dispatchState", "DONE");
+            content.put("isDone", "1");
+            server.on("/services/search/jobs/r1", 200, LocalHttpServer.atomEntry("r1", content));
+            String rows = "{\"preview\":false,\"fields\":[\"n\"],\"rows\":[[\"1\"],[\"2\"]]}";
+            server.on("/services/search/jobs/r1/results", 200, rows);
+            server.on("/services/search/jobs/export", 200, rows + rows);
+
+            Service service = server.service();
+            service.setReadAhead(4, 1024);
+
+            InputStream results = service.getJob("r1").getResults(new Args("output_mode", "json_rows"));
+            Assert.assertTrue(results instanceof ReadAheadInputStream);
+            ResultsReaderJsonRows reader = new ResultsReaderJsonRows(results);
+            Assert.assertEquals("1", reader.getNextEvent().get("n"));
+            Assert.assertEquals("2", reader.getNextEvent().get("n"));
+            Assert.assertNull(reader.getNextEvent());
+            reader.close();
+
+            // Export streams still read as exports, one set after another.
+            InputStream export = service.export("search *", new Args("output_mode", "json_rows"));
+            reader = new ResultsReaderJsonRows(export);
+            int count = 0;
+            while (reader.getNextEvent() != null) count++;
+            Assert.assertEquals(4, count);
+            reader.close();
+
+            service.setReadAhead(0, 0);
+            results = service.getJob("r1").getResults(new Args("output_mode", "json_rows"));
+            Assert.assertFalse(results instanceof ReadAheadInputStream);
+            results.close();
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Returns one byte at a time after a delay.
+     */
+    private static class SlowStream extends InputStream {
+        private int left;
+        private final long delay;
+
+        SlowStream(int length, long delay) {
+            this.left = length;
+            this.delay = delay;
+        }
+
+        @Override public int read() throws IOException {
+            if (left == 0) return -1;
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            left--;
+            return 'y';
+        }
+
+        @Override public int read(byte[] b, int off, int len) throws IOException {
+            int c = read();
+            if (c == -1) return -1;
+            b[off] = (byte)c;
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests real-time result subscriptions against a local stand-in server.
+ */
+public class RealtimeSubscriptionTest {
+    private static final String PREVIEW_PATH = "/services/search/v2/jobs/rt1/results_preview";
+
+    private LocalHttpServer server;
+    private Service service;
+    private final AtomicInteger numPreviews = new AtomicInteger(0);
+    private volatile boolean done = false;
+    private volatile String rows = "";
+
+    private final BlockingQueue<ResultsDelta> deltas = new LinkedBlockingQueue<ResultsDelta>();
+    private final BlockingQueue<Exception> errors = new LinkedBlockingQueue<Exception>();
+    private final ResultsDeltaListener listener = new ResultsDeltaListener() {
+        public void onDelta(ResultsDelta delta) {
+            deltas.add(delta);
+        }
+
+        public void onError(Exception e) {
+            errors.add(e);
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LocalHttpServer().withServerInfo("9.1.0");
+        server.on("/services/search/jobs/rt1", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                Map<String, String> content = new LinkedHashMap<String, String>();
+                content.put("sid", "rt1");
+                content.put("dispatchState", done ? "DONE" : "RUNNING");
+                content.put("isDone", done ? "1" : "0");
+                content.put("isRealTimeSearch", "1");
+                content.put("numPreviews", String.valueOf(numPreviews.get()));
+                return new LocalHttpServer.Response(200, LocalHttpServer.atomEntry("rt1", content));
+            }
+        });
+        LocalHttpServer.Responder results = new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                return new LocalHttpServer.Response(200,
+                        "{\"preview\":" + !done + ",\"init_offset\":0,\"messages\":[],\"results\":[" + rows + "]}");
+            }
+        };
+        server.on(PREVIEW_PATH, results);
+        server.on("/services/search/v2/jobs/rt1/results", results);
+        service = server.service();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testOnlyChangesAreDelivered() throws Exception {
+        Job job = service.getJob("rt1");
+        RealtimeSubscription subscription = new RealtimeSubscription(job, listener);
+        subscription.setKeyFields("host");
+        subscription.setPollInterval(10, 40);
+
+        preview(row("a", 1) + "," + row("b", 2));
+        subscription.start();
+        ResultsDelta delta = next();
+        Assert.assertEquals(2, delta.getAdded().size());
+        Assert.assertTrue(delta.getChanged().isEmpty());
+        Assert.assertEquals(1, delta.getPreviewNumber());
+
+        preview(row("a", 1) + "," + row("b", 3) + "," + row("c", 1));
+        delta = next();
+        Assert.assertEquals(1, delta.getAdded().size());
+        Assert.assertEquals("c", delta.getAdded().get(0).get("host"));
+        Assert.assertEquals(1, delta.getChanged().size());
+        Assert.assertEquals("3", delta.getChanged().get(0).get("count"));
+        Assert.assertTrue(delta.getRemoved().isEmpty());
+
+        preview(row("b", 3) + "," + row("c", 1));
+        delta = next();
+        Assert.assertEquals(1, delta.getRemoved().size());
+        Assert.assertEquals("a", delta.getRemoved().get(0).get("host"));
+        Assert.assertTrue(delta.getAdded().isEmpty());
+        Assert.assertTrue(delta.getChanged().isEmpty());
+
+        // No new preview means no download.
+        int downloads = server.hits(PREVIEW_PATH);
+        Thread.sleep(200);
+        Assert.assertEquals(downloads, server.hits(PREVIEW_PATH));
+        Assert.assertNull(deltas.poll());
+
+        rows = row("b", 4) + "," + row("c", 1);
+        done = true;
+        delta = next();
+        Assert.assertTrue(delta.isFinal());
+        Assert.assertEquals(1, delta.getChanged().size());
+        waitUntilClosed(subscription);
+        Assert.assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void testRowsWithoutKeysAreAddedOrRemoved() throws Exception {
+        preview(row("a", 1));
+        RealtimeSubscription subscription = service.getJob("rt1").subscribe(listener);
+        try {
+            Assert.assertEquals(1, next().getAdded().size());
+            preview(row("a", 2));
+            ResultsDelta delta = next();
+            Assert.assertEquals(1, delta.getAdded().size());
+            Assert.assertEquals(1, delta.getRemoved().size());
+            Assert.assertTrue(delta.getChanged().isEmpty());
+        } finally {
+            subscription.close();
+        }
+    }
+
+    @Test
+    public void testMissingJobStopsWithError() throws Exception {
+        RealtimeSubscription subscription = service.getJob("gone").subscribe(listener);
+        Exception e = errors.poll(10, TimeUnit.SECONDS);
+        Assert.assertTrue(e instanceof HttpException);
+        Assert.assertEquals(404, ((HttpException)e).getStatus());
+        waitUntilClosed(subscription);
+    }
+
+    private void preview(String newRows) {
+        rows = newRows;
+        numPreviews.incrementAndGet();
+    }
+
+    private ResultsDelta next() throws InterruptedException {
+        ResultsDelta delta = deltas.poll(10, TimeUnit.SECONDS);
+        Assert.assertNotNull("Timed out waiting for a delta", delta);
+        return delta;
+    }
+
+    private static void waitUntilClosed(RealtimeSubscription subscription) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!subscription.isClosed() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(subscription.isClosed());
+    }
+
+    private static String row(String host, int count) {
+        return "{\"host\":\"" + host + "\",\"count\":\"" + count + "\"}";
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests publishing results with backpressure against a local stand-in
+ * server.
+ */
+public class ResultsPublisherTest {
+    private static final Map<String, Object> JSON = new LinkedHashMap<String, Object>();
+    static {
+        JSON.put("output_mode", "json");
+    }
+
+    private LocalHttpServer server;
+    private Service service;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LocalHttpServer().withServerInfo("9.1.0");
+        Map<String, String> content = new LinkedHashMap<String, String>();
+        content.put("sid", "j1");
+        content.put("dispatchState", "DONE");
+        content.put("isDone", "1");
+        server.on("/services/search/jobs/j1", 200, LocalHttpServer.atomEntry("j1", content));
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            if (i > 0) rows.append(',');
+            rows.append("{\"n\":\"").append(i).append("\"}");
+        }
+        String body = "{\"preview\":false,\"init_offset\":0,\"messages\":[],\"results\":[" + rows + "]}";
+        for (String path : new String[] { "/services/search/jobs/j1/results",
+                "/services/search/v2/jobs/j1/results", "/services/search/jobs/j1/events",
+                "/services/search/v2/jobs/j1/events" }) {
+            server.on(path, 200, body);
+        }
+        service = server.service();
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        server.stop();
+    }
+
+    @Test
+    public void testDeliversOnlyWhatIsRequested() throws Exception {
+        Recorder recorder = new Recorder(2);
+        service.getJob("j1").getResultsPublisher(JSON, executor).subscribe(recorder);
+
+        Assert.assertEquals("0", recorder.next().get("n"));
+        Assert.assertEquals("1", recorder.next().get("n"));
+        Assert.assertNull(recorder.signals.poll(200, TimeUnit.MILLISECONDS));
+
+        recorder.subscription.request(10);
+        for (int i = 2; i < 5; i++) {
+            Assert.assertEquals(String.valueOf(i), recorder.next().get("n"));
+        }
+        Assert.assertEquals("complete", recorder.signals.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCancelStopsDelivery() throws Exception {
+        Recorder recorder = new Recorder(1);
+        service.getJob("j1").getEventsPublisher(JSON, executor).subscribe(recorder);
+
+        Assert.assertEquals("0", recorder.next().get("n"));
+        recorder.subscription.cancel();
+        recorder.subscription.request(10);
+        Assert.assertNull(recorder.signals.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testManySubscribersShareTheExecutor() throws Exception {
+        ResultsPublisher publisher = service.getJob("j1").getResultsPublisher(JSON, executor);
+        List<Recorder> recorders = new ArrayList<Recorder>();
+        for (int i = 0; i < 20; i++) {
+            Recorder recorder = new Recorder(Long.MAX_VALUE);
+            publisher.subscribe(recorder);
+            recorders.add(recorder);
+        }
+        for (Recorder recorder : recorders) {
+            Assert.assertTrue(recorder.completed.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals(5, recorder.events.size());
+        }
+    }
+
+    @Test
+    public void testNonPositiveRequestIsAnError() throws Exception {
+        Recorder recorder = new Recorder(0);
+        service.getJob("j1").getResultsPublisher(JSON, executor).subscribe(recorder);
+        Assert.assertTrue(recorder.signals.poll(5, TimeUnit.SECONDS) instanceof IllegalArgumentException);
+    }
+
+    /**
+     * Records what a subscriber receives.
+     */
+    private static class Recorder implements ResultsPublisher.Subscriber {
+        final long initialRequest;
+        final BlockingQueue<Object> signals = new LinkedBlockingQueue<Object>();
+        final List<Event> events = new ArrayList<Event>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile ResultsPublisher.Subscription subscription;
+
+        Recorder(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        public void onSubscribe(ResultsPublisher.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        public void onNext(Event event) {
+            events.add(event);
+            signals.add(event);
+        }
+
+        public void onError(Throwable error) {
+            signals.add(error);
+        }
+
+        public void onComplete() {
+            signals.add("complete");
+            completed.countDown();
+        }
+
+        Event next() throws InterruptedException {
+            Object signal = signals.poll(5, TimeUnit.SECONDS);
+            Assert.assertTrue(String.valueOf(signal), signal instanceof Event);
+            return (Event)signal;
+        }
+    }
+}
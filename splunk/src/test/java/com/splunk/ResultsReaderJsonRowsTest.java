@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests the readers for the compact {@code json_rows} and {@code json_cols}
+ * output modes.
+ */
+public class ResultsReaderJsonRowsTest {
+    private static final String ROWS = "{\"preview\":false,\"init_offset\":0,\"messages\":[],"
+            + "\"fields\":[\"host\",\"count\",\"tags\"],"
+            + "\"rows\":[[\"a\",\"1\",null],[\"b\",2,[\"x\",\"y\"]],[\"c\",\"3\",[\"z\"]]]}";
+
+    private static final String COLS = "{\"preview\":false,\"init_offset\":0,\"messages\":[],"
+            + "\"fields\":[{\"name\":\"host\"},{\"name\":\"count\"},{\"name\":\"tags\"}],"
+            + "\"columns\":[[\"a\",\"b\",\"c\"],[\"1\",2,\"3\"],[null,[\"x\",\"y\"],[\"z\"]]]}";
+
+    @Test
+    public void testRows() throws IOException {
+        ResultsReaderJsonRows reader = new ResultsReaderJsonRows(stream(ROWS));
+        Assert.assertFalse(reader.isPreview());
+        Assert.assertEquals(Arrays.asList("host", "count", "tags"), reader.getFields());
+        assertEvents(readAll(reader));
+    }
+
+    @Test
+    public void testColumns() throws IOException {
+        ResultsReaderJsonCols reader = new ResultsReaderJsonCols(stream(COLS));
+        Assert.assertEquals(Arrays.asList("host", "count", "tags"), reader.getFields());
+        assertEvents(readAll(reader));
+    }
+
+    @Test
+    public void testExportSkipsPreviews() throws IOException {
+        String preview = "{\"preview\":true,\"fields\":[\"host\"],\"rows\":[[\"old\"]]}";
+        String first = "{\"preview\":false,\"fields\":[\"host\"],\"rows\":[[\"a\"],[\"b\"]]}";
+        String second = "{\"preview\":false,\"fields\":[\"host\"],\"rows\":[[\"c\"]]}";
+        InputStream export = new ExportResultsStream(stream(preview + "\n" + first + "\n" + second + "\n"));
+        List<Event> events = readAll(new ResultsReaderJsonRows(export));
+        Assert.assertEquals(3, events.size());
+        Assert.assertEquals("a", events.get(0).get("host"));
+        Assert.assertEquals("c", events.get(2).get("host"));
+    }
+
+    @Test
+    public void testEmptyResults() throws IOException {
+        Assert.assertTrue(readAll(new ResultsReaderJsonRows(stream(""))).isEmpty());
+        Assert.assertTrue(readAll(new ResultsReaderJsonRows(stream(
+                "{\"preview\":false,\"fields\":[],\"rows\":[]}"))).isEmpty());
+    }
+
+    @Test
+    public void testJobRequestsCompactRows() throws Exception {
+        LocalHttpServer server = new LocalHttpServer().withServerInfo("8.2.0");
+        try {
+            Map<String, String> content = new LinkedHashMap<String, String>();
+            content.put("sid", "r1");
+            content.put("dispatchState", "DONE");
+            content.put("isDone", "1");
+            server.on("/services/search/jobs/r1", 200, LocalHttpServer.atomEntry("r1", content));
+            final List<String> queries = new ArrayList<String>();
+            server.on("/services/search/jobs/r1/results", new LocalHttpServer.Responder() {
+                public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                    queries.add(query);
+                    return new LocalHttpServer.Response(200, ROWS);
+                }
+            });
+            ResultsReader reader = server.service().getJob("r1").getResultsReader(null);
+            Assert.assertTrue(reader instanceof ResultsReaderJsonRows);
+            assertEvents(readAll(reader));
+            Assert.assertTrue(queries.get(0), queries.get(0).contains("output_mode=json_rows"));
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static void assertEvents(List<Event> events) {
+        Assert.assertEquals(3, events.size());
+        Assert.assertEquals("a", events.get(0).get("host"));
+        Assert.assertEquals("1", events.get(0).get("count"));
+        Assert.assertFalse(events.get(0).containsKey("tags"));
+        Assert.assertEquals("2", events.get(1).get("count"));
+        Assert.assertArrayEquals(new String[] { "x", "y" }, events.get(1).getArray("tags"));
+        Assert.assertEquals("z", events.get(2).get("tags"));
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Event> readAll(ResultsReader reader) throws IOException {
+        List<Event> events = new ArrayList<Event>();
+        try {
+            Event event;
+            while ((event = reader.getNextEvent()) != null) {
+                events.add(event);
+            }
+        } finally {
+            reader.close();
+        }
+        return events;
+    }
+}
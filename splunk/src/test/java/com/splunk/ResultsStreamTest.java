@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tests streams over results readers.
+ */
+public class ResultsStreamTest {
+    @Test
+    public void testSequentialStreamKeepsOrderAndClosesReader() throws IOException {
+        final boolean[] closed = { false };
+        ByteArrayInputStream input = new ByteArrayInputStream(rows(100).getBytes(StandardCharsets.UTF_8)) {
+            @Override public void close() {
+                closed[0] = true;
+            }
+        };
+        List<String> values;
+        try (Stream<Event> stream = new ResultsReaderJsonRows(input).stream()) {
+            values = stream.map(e -> e.get("n")).collect(Collectors.toList());
+        }
+        Assert.assertEquals(100, values.size());
+        Assert.assertEquals("0", values.get(0));
+        Assert.assertEquals("99", values.get(99));
+        Assert.assertTrue(closed[0]);
+    }
+
+    @Test
+    public void testParallelStreamUsesWorkers() throws IOException {
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        long sum;
+        try (Stream<Event> stream = reader(20000).parallelStream()) {
+            sum = stream.mapToLong(e -> {
+                threads.add(Thread.currentThread().getName());
+                return Long.parseLong(e.get("n"));
+            }).sum();
+        }
+        Assert.assertEquals(20000L * 19999 / 2, sum);
+        if (ForkJoinPool.getCommonPoolParallelism() > 1) {
+            Assert.assertTrue(threads.toString(), threads.size() > 1);
+        }
+    }
+
+    @Test
+    public void testBatchesAndSizeHint() throws IOException {
+        Spliterator<Event> spliterator = reader(5000).stream(5000, false).spliterator();
+        Assert.assertEquals(5000, spliterator.estimateSize());
+        Spliterator<Event> batch = spliterator.trySplit();
+        Assert.assertEquals(ResultsSpliterator.DEFAULT_BATCH_SIZE, batch.estimateSize());
+        Assert.assertTrue(batch.hasCharacteristics(Spliterator.SIZED));
+        Assert.assertEquals(5000 - ResultsSpliterator.DEFAULT_BATCH_SIZE, spliterator.estimateSize());
+        // The second batch is larger.
+        Assert.assertEquals(2 * ResultsSpliterator.DEFAULT_BATCH_SIZE, spliterator.trySplit().estimateSize());
+    }
+
+    @Test
+    public void testJobStreamIsSizedByResultCount() throws Exception {
+        LocalHttpServer server = new LocalHttpServer().withServerInfo("8.2.0");
+        try {
+            Map<String, String> content = new LinkedHashMap<String, String>();
+            content.put("sid", "p1");
+            content.put("dispatchState", "DONE");
+            content.put("isDone", "1");
+            content.put("resultCount", "50");
+            server.on("/services/search/jobs/p1", 200, LocalHttpServer.atomEntry("p1", content));
+            server.on("/services/search/jobs/p1/results", 200, rows(50));
+            try (Stream<Event> stream = server.service().getJob("p1").streamResults(null)) {
+                Assert.assertEquals(50, stream.spliterator().estimateSize());
+            }
+            try (Stream<Event> stream = server.service().getJob("p1").streamResults(null)) {
+                Assert.assertEquals(50, stream.parallel().count());
+            }
+            // Paging arguments narrow the estimate; malformed ones are left
+            // to the server.
+            try (Stream<Event> stream = server.service().getJob("p1").streamResults(new Args("offset", 20))) {
+                Assert.assertEquals(30, stream.spliterator().estimateSize());
+            }
+            try (Stream<Event> stream = server.service().getJob("p1")
+                    .streamResults(new Args("offset", 45).add("count", 10))) {
+                Assert.assertEquals(5, stream.spliterator().estimateSize());
+            }
+            try (Stream<Event> stream = server.service().getJob("p1").streamResults(new Args("count", "all"))) {
+                Assert.assertEquals(50, stream.spliterator().estimateSize());
+            }
+
+            // Without a count the endpoint returns its default page; a
+            // count of 0 asks for every result.
+            content.put("sid", "p2");
+            content.put("resultCount", "500");
+            server.on("/services/search/jobs/p2", 200, LocalHttpServer.atomEntry("p2", content));
+            server.on("/services/search/jobs/p2/results", 200, rows(100));
+            try (Stream<Event> stream = server.service().getJob("p2").streamResults(null)) {
+                Assert.assertEquals(100, stream.spliterator().estimateSize());
+            }
+            try (Stream<Event> stream = server.service().getJob("p2").streamResults(new Args("count", 0))) {
+                Assert.assertEquals(500, stream.spliterator().estimateSize());
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static ResultsReaderJsonRows reader(int n) throws IOException {
+        return new ResultsReaderJsonRows(new ByteArrayInputStream(rows(n).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String rows(int n) {
+        StringBuilder json = new StringBuilder("{\"preview\":false,\"fields\":[\"n\"],\"rows\":[");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) json.append(',');
+            json.append("[\"").append(i).append("\"]");
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the client-side search scheduler against a local stand-in server.
+ */
+public class SearchSchedulerTest {
+    private LocalHttpServer server;
+    private Service service;
+    private final AtomicInteger nextSid = new AtomicInteger();
+    private final Map<String, String> dispatchStates = new ConcurrentHashMap<String, String>();
+    private final List<String> createdQueries = Collections.synchronizedList(new ArrayList<String>());
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LocalHttpServer().withServerInfo("9.1.0");
+        server.on("/services/search/v2/jobs", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                String sid = "sid" + nextSid.incrementAndGet();
+                dispatchStates.put(sid, "RUNNING");
+                createdQueries.add(formValue(new String(body), "search"));
+                return new LocalHttpServer.Response(201,
+                        "<?xml version=\"1.0\"?>\n<response><sid>" + sid + "</sid></response>");
+            }
+        });
+        server.on("/services/search/v2/jobs/", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                String sid = path.substring(path.lastIndexOf('/') + 1);
+                Map<String, String> content = new LinkedHashMap<String, String>();
+                content.put("sid", sid);
+                content.put("dispatchState", dispatchStates.get(sid));
+                return new LocalHttpServer.Response(200, LocalHttpServer.atomEntry(sid, content));
+            }
+        });
+        server.on("/services/search/jobs", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                StringBuilder feed = new StringBuilder();
+                feed.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+                feed.append("<feed xmlns=\"http://www.w3.org/2005/Atom\" xmlns:s=\"http://dev.splunk.com/ns/rest\">\n");
+                feed.append("  <title>jobs</title>\n");
+                for (Map.Entry<String, String> job : dispatchStates.entrySet()) {
+                    Map<String, String> content = new LinkedHashMap<String, String>();
+                    content.put("sid", job.getKey());
+                    content.put("dispatchState", job.getValue());
+                    feed.append(LocalHttpServer.atomEntry(job.getKey(), content));
+                }
+                feed.append("</feed>\n");
+                return new LocalHttpServer.Response(200, feed.toString());
+            }
+        });
+        service = server.service();
+    }
+
+    @After
+    public void tearDown() {
+        service.getSearchScheduler().close();
+        server.stop();
+    }
+
+    @Test
+    public void testInFlightSearchesStayUnderQuota() throws Exception {
+        SearchScheduler scheduler = service.getSearchScheduler();
+        scheduler.setPollInterval(50);
+        scheduler.setMaxConcurrentSearches(3);
+        Assert.assertEquals(2, scheduler.getConcurrencyLimit());
+
+        List<Future<Job>> jobs = new ArrayList<Future<Job>>();
+        for (int i = 0; i < 5; i++) {
+            jobs.add(scheduler.search("search index=main | head " + i, null, SearchScheduler.DEFAULT_PRIORITY));
+        }
+
+        jobs.get(0).get(10, TimeUnit.SECONDS);
+        jobs.get(1).get(10, TimeUnit.SECONDS);
+        Thread.sleep(200);
+        Assert.assertEquals(2, scheduler.getInFlightCount());
+        Assert.assertEquals(3, scheduler.getQueueDepth());
+        Assert.assertFalse(jobs.get(2).isDone());
+
+        // Finishing the running jobs frees their slots for the queued ones.
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!allDone(jobs) && System.currentTimeMillis() < deadline) {
+            markAllDone();
+            Assert.assertTrue(scheduler.getInFlightCount() <= 2);
+            Thread.sleep(50);
+        }
+        for (Future<Job> job : jobs) {
+            Assert.assertNotNull(job.get(10, TimeUnit.SECONDS).getSid());
+        }
+        Assert.assertEquals(0, scheduler.getQueueDepth());
+        Assert.assertEquals(5, scheduler.getSubmittedCount());
+        Assert.assertEquals(5, scheduler.getDispatchedCount());
+        Assert.assertTrue(scheduler.getMaxWaitMillis() > 0);
+        Assert.assertTrue(scheduler.getAverageWaitMillis() <= scheduler.getMaxWaitMillis());
+        // Running jobs are polled with listings; each job is loaded only once,
+        // when it is created.
+        Assert.assertTrue(server.hits("/services/search/jobs") > 0);
+        Assert.assertEquals(1, server.hits("/services/search/v2/jobs/sid1"));
+    }
+
+    @Test
+    public void testHigherPriorityIsDispatchedFirst() throws Exception {
+        SearchScheduler scheduler = service.getSearchScheduler();
+        scheduler.setPollInterval(50);
+        scheduler.setHeadroom(0);
+        scheduler.setMaxConcurrentSearches(1);
+
+        Future<Job> first = scheduler.search("search first", null, 1);
+        first.get(10, TimeUnit.SECONDS);
+        Future<Job> low = scheduler.search("search low", null, 1);
+        Future<Job> high = scheduler.search("search high", null, 9);
+
+        markAllDone();
+        high.get(10, TimeUnit.SECONDS);
+        markAllDone();
+        low.get(10, TimeUnit.SECONDS);
+
+        Assert.assertEquals("search first", createdQueries.get(0));
+        Assert.assertEquals("search high", createdQueries.get(1));
+        Assert.assertEquals("search low", createdQueries.get(2));
+    }
+
+    @Test
+    public void testQuotaFallsBackWhenServerDoesNotReport() {
+        SearchScheduler scheduler = service.getSearchScheduler();
+        Assert.assertEquals(SearchScheduler.FALLBACK_QUOTA, scheduler.learnQuota());
+    }
+
+    private static boolean allDone(List<Future<Job>> jobs) {
+        for (Future<Job> job : jobs) {
+            if (!job.isDone()) return false;
+        }
+        return true;
+    }
+
+    private void markAllDone() {
+        for (String sid : dispatchStates.keySet()) {
+            dispatchStates.put(sid, "DONE");
+        }
+    }
+
+    private static String formValue(String form, String key) {
+        for (String pair : form.split("&")) {
+            String[] kv = pair.split("=", 2);
+            if (kv[0].equals(key)) {
+                try {
+                    return URLDecoder.decode(kv[1], "UTF-8");
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests routing across cluster members against local stand-in servers.
+ */
+public class ServiceClusterTest {
+    private LocalHttpServer first;
+    private LocalHttpServer second;
+    private ServiceCluster cluster;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void setUp() throws Exception {
+        first = member("a");
+        second = member("b");
+        List<Map<String, Object>> members = new ArrayList<Map<String, Object>>();
+        members.add(args(first));
+        members.add(args(second));
+        cluster = new ServiceCluster(members);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        cluster.close();
+        first.stop();
+        second.stop();
+    }
+
+    @Test
+    public void testFollowUpCallsGoToTheOwner() {
+        Job a = cluster.createJob("search *");
+        Job b = cluster.createJob("search *");
+        Assert.assertNotEquals(cluster.getOwner(a.getSid()), cluster.getOwner(b.getSid()));
+
+        for (Job job : new Job[] { a, b }) {
+            LocalHttpServer owner = job.getSid().startsWith("a-") ? first : second;
+            LocalHttpServer other = owner == first ? second : first;
+            String path = "/services/search/jobs/" + job.getSid();
+            cluster.getJob(job.getSid()).refresh();
+            Assert.assertEquals(1, owner.hits(path));
+            Assert.assertEquals(0, other.hits(path));
+        }
+    }
+
+    @Test
+    public void testBusyMemberIsAvoided() throws Exception {
+        final Service busy = cluster.getMembers().get(0);
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                busy.get("/services/slow");
+            }
+        });
+        thread.start();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (first.hits("/services/slow") == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(cluster.createJob("search *").getSid().startsWith("b-"));
+        }
+        release.countDown();
+        thread.join();
+    }
+
+    @Test
+    public void testLowestLatency() {
+        cluster.setRoutingPolicy(ServiceCluster.RoutingPolicy.LOWEST_LATENCY);
+        first.on("/services/ping", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                sleep(100);
+                return new LocalHttpServer.Response(200, "<response/>");
+            }
+        });
+        second.on("/services/ping", 200, "<response/>");
+        for (Service member : cluster.getMembers()) {
+            member.get("/services/ping");
+        }
+
+        Assert.assertSame(cluster.getMembers().get(1), cluster.getService());
+    }
+
+    @Test
+    public void testFailover() {
+        first.stop();
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(cluster.createJob("search *").getSid().startsWith("b-"));
+        }
+        Assert.assertFalse(cluster.isHealthy(cluster.getMembers().get(0)));
+        Assert.assertTrue(cluster.isHealthy(cluster.getMembers().get(1)));
+    }
+
+    @Test
+    public void testDispatchedSearchIsNotSentToAnotherMember() {
+        // Each member starts the search, then is too busy to load it.
+        first.on("/services/search/v2/jobs/", 503, "<response/>");
+        second.on("/services/search/v2/jobs/", 503, "<response/>");
+        try {
+            cluster.createJob("search *");
+            Assert.fail("Expected the failure to surface.");
+        } catch (HttpException e) {
+            Assert.assertEquals(503, e.getStatus());
+        }
+        Assert.assertEquals(1, first.hits("/services/search/v2/jobs") + second.hits("/services/search/v2/jobs"));
+    }
+
+    @Test
+    public void testLoginSkipsUnavailableMember() throws Exception {
+        first.on("/services/auth/login", 503, "<response/>");
+        second.on("/services/auth/login", 200, "<response><sessionKey>key</sessionKey></response>");
+        List<Map<String, Object>> members = new ArrayList<Map<String, Object>>();
+        for (LocalHttpServer server : new LocalHttpServer[] { first, second }) {
+            Map<String, Object> args = args(server);
+            args.remove("token");
+            args.put("username", "admin");
+            args.put("password", "changeme");
+            members.add(args);
+        }
+        ServiceCluster login = ServiceCluster.connect(members);
+        try {
+            Assert.assertFalse(login.isHealthy(login.getMembers().get(0)));
+            Assert.assertTrue(login.isHealthy(login.getMembers().get(1)));
+
+            second.on("/services/auth/login", 401, "<response/>");
+            try {
+                login.login();
+                Assert.fail("Expected the credentials to be rejected.");
+            } catch (HttpException e) {
+                Assert.assertEquals(401, e.getStatus());
+            }
+        } finally {
+            login.close();
+        }
+    }
+
+    @Test
+    public void testHealthCheckRestoresMember() throws Exception {
+        Service member = cluster.getMembers().get(0);
+        first.on("/services/server/info", 503, "<response/>");
+        cluster.setHealthCheckInterval(20);
+        waitForHealth(member, false);
+
+        first.withServerInfo("9.1.0");
+        waitForHealth(member, true);
+    }
+
+    @Test
+    public void testUnknownJobIsLookedUp() {
+        Job job = cluster.getJob("b-existing");
+        Assert.assertNotNull(job);
+        Assert.assertSame(cluster.getMembers().get(1), cluster.getOwner("b-existing"));
+        Assert.assertNull(cluster.getJob("missing"));
+    }
+
+    private void waitForHealth(Service member, boolean healthy) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (cluster.isHealthy(member) != healthy && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(healthy, cluster.isHealthy(member));
+    }
+
+    private LocalHttpServer member(final String name) throws Exception {
+        final AtomicInteger sids = new AtomicInteger();
+        LocalHttpServer server = new LocalHttpServer().withServerInfo("9.1.0");
+        server.on("/services/search/v2/jobs", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                return new LocalHttpServer.Response(201,
+                        "<response><sid>" + name + "-" + sids.incrementAndGet() + "</sid></response>");
+            }
+        });
+        LocalHttpServer.Responder job = new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                String sid = path.substring(path.lastIndexOf('/') + 1);
+                if (!sid.startsWith(name + "-")) {
+                    return new LocalHttpServer.Response(404,
+                            "<response><messages><msg type=\"FATAL\">Unknown sid.</msg></messages></response>");
+                }
+                Map<String, String> content = new LinkedHashMap<String, String>();
+                content.put("sid", sid);
+                content.put("dispatchState", "RUNNING");
+                return new LocalHttpServer.Response(200, LocalHttpServer.atomEntry(sid, content));
+            }
+        };
+        server.on("/services/search/jobs/", job);
+        server.on("/services/search/v2/jobs/", job);
+        server.on("/services/slow", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new LocalHttpServer.Response(200, "<response/>");
+            }
+        });
+        return server;
+    }
+
+    private static Map<String, Object> args(LocalHttpServer server) {
+        Map<String, Object> args = new HashMap<String, Object>();
+        args.put("host", "127.0.0.1");
+        args.put("port", server.getPort());
+        args.put("scheme", "http");
+        args.put("token", "Splunk test-token");
+        return args;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stress tests for sharing one {@code Service} across many threads. These run
+ * against a local stand-in server, so no Splunk instance is needed.
+ */
+public class ServiceConcurrencyTest {
+    private static final int THREADS = 32;
+    private static final int ITERATIONS = 50;
+
+    private LocalHttpServer server;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LocalHttpServer().withServerInfo("9.1.0");
+        server.on("/services/ping", 200, "pong");
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        server.stop();
+    }
+
+    @Test
+    public void testServerInfoIsFetchedOnce() throws Exception {
+        final Service service = server.service();
+        List<Boolean> answers = runConcurrently(new Callable<Boolean>() {
+            public Boolean call() {
+                boolean v2 = service.enableV2SearchApi();
+                Assert.assertTrue(service.versionIsAtLeast("9.0"));
+                return v2;
+            }
+        });
+
+        for (Boolean answer : answers) {
+            Assert.assertTrue(answer);
+        }
+        Assert.assertEquals(1, server.hits("/services/server/info"));
+    }
+
+    @Test
+    public void testConcurrentRequestsShareCookies() throws Exception {
+        final Service service = server.service();
+        server.on("/services/ping", new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                return new LocalHttpServer.Response(200, "pong")
+                        .header("Set-Cookie", "splunkd_8089=session; Path=/");
+            }
+        });
+
+        runConcurrently(new Callable<Boolean>() {
+            public Boolean call() throws Exception {
+                ResponseMessage response = service.get("/services/ping");
+                Assert.assertEquals(200, response.getStatus());
+                response.getContent().close();
+                return true;
+            }
+        });
+
+        Assert.assertTrue(service.hasSplunkAuthCookies());
+        Assert.assertEquals("splunkd_8089=session; ", service.stringifyCookies());
+        Assert.assertEquals(THREADS * ITERATIONS, server.hits("/services/ping"));
+    }
+
+    @Test
+    public void testCookieStoreConcurrentUpdates() throws Exception {
+        final SimpleCookieStore store = new SimpleCookieStore();
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(executor.submit(new Callable<Boolean>() {
+                public Boolean call() throws Exception {
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        store.add("c" + thread + "=" + i);
+                        String header = store.getCookies();
+                        // Every published header must be well formed.
+                        Assert.assertTrue(header.isEmpty() || header.endsWith("; "));
+                    }
+                    return true;
+                }
+            }));
+        }
+        start.countDown();
+        for (Future<Boolean> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        Map<String, String> cookies = new HashMap<String, String>();
+        for (String pair : store.getCookies().split("; ")) {
+            String[] kv = pair.split("=");
+            cookies.put(kv[0], kv[1]);
+        }
+        Assert.assertEquals(THREADS, cookies.size());
+        for (int t = 0; t < THREADS; t++) {
+            Assert.assertEquals(String.valueOf(ITERATIONS - 1), cookies.get("c" + t));
+        }
+        Assert.assertFalse(store.hasSplunkAuthCookie());
+        store.add("splunkd_8089=abc");
+        Assert.assertTrue(store.hasSplunkAuthCookie());
+        store.removeAll();
+        Assert.assertEquals("", store.getCookies());
+    }
+
+    private <T> List<T> runConcurrently(final Callable<T> task) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<T>>> futures = new ArrayList<Future<List<T>>>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(new Callable<List<T>>() {
+                public List<T> call() throws Exception {
+                    start.await();
+                    List<T> results = new ArrayList<T>();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        results.add(task.call());
+                    }
+                    return results;
+                }
+            }));
+        }
+        start.countDown();
+        List<T> all = new ArrayList<T>();
+        for (Future<List<T>> future : futures) {
+            all.addAll(future.get(60, TimeUnit.SECONDS));
+        }
+        return all;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests shared login sessions against a local stand-in server.
+ */
+public class SessionManagerTest {
+    private static final String LOGIN_PATH = "/services/auth/login";
+    private static final String INFO_PATH = "/services/server/info";
+    private static final String APPS_PATH = "/services/apps/local";
+
+    private LocalHttpServer server;
+    private SessionManager manager;
+    private final AtomicInteger logins = new AtomicInteger();
+    private final AtomicInteger rejected = new AtomicInteger();
+    private volatile String validToken = null;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new LocalHttpServer();
+        server.on(LOGIN_PATH, new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] body) {
+                try {
+                    Thread.sleep(50); // Widen the window for concurrent logins
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                String key = "key" + logins.incrementAndGet();
+                validToken = "Splunk " + key;
+                return new LocalHttpServer.Response(200,
+                        "<response>\n  <sessionKey>" + key + "</sessionKey>\n</response>\n");
+            }
+        });
+        final Map<String, String> info = new LinkedHashMap<String, String>();
+        info.put("version", "9.1.0");
+        info.put("instance_type", "");
+        server.on(INFO_PATH, authenticated(LocalHttpServer.atomFeed("server-info", info)));
+        server.on(APPS_PATH, authenticated(LocalHttpServer.atomFeed("apps", new LinkedHashMap<String, String>())));
+        manager = new SessionManager();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testConcurrentLoginsAreSingleFlight() throws Exception {
+        int workers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<Service>> futures = new ArrayList<Future<Service>>();
+        for (int i = 0; i < workers; i++) {
+            futures.add(executor.submit(new Callable<Service>() {
+                public Service call() throws Exception {
+                    Service service = newService();
+                    start.await();
+                    return service.login("admin", "changeme");
+                }
+            }));
+        }
+        start.countDown();
+        for (Future<Service> future : futures) {
+            Service service = future.get();
+            Assert.assertEquals("Splunk key1", service.getToken());
+            Assert.assertEquals("9.1.0", service.version);
+        }
+        executor.shutdown();
+
+        Assert.assertEquals(1, server.hits(LOGIN_PATH));
+        Assert.assertEquals(1, server.hits(INFO_PATH));
+        Assert.assertEquals(1, manager.size());
+    }
+
+    @Test
+    public void testDifferentCredentialsDoNotShare() {
+        newService().login("admin", "changeme");
+        newService().login("admin", "other");
+        newService().login("user", "changeme");
+
+        Assert.assertEquals(3, server.hits(LOGIN_PATH));
+        Assert.assertEquals(3, manager.size());
+    }
+
+    @Test
+    public void testUnauthorizedRequestIsReplayed() {
+        Service first = newService().login("admin", "changeme");
+        Service second = newService().login("admin", "changeme");
+
+        validToken = "Splunk expired";
+        first.get(APPS_PATH);
+        Assert.assertEquals(2, server.hits(LOGIN_PATH));
+        Assert.assertEquals(1, rejected.get());
+
+        // The other instance picks up the renewed session without failing.
+        second.get(APPS_PATH);
+        Assert.assertEquals("Splunk key2", second.getToken());
+        Assert.assertEquals(2, server.hits(LOGIN_PATH));
+        Assert.assertEquals(1, rejected.get());
+    }
+
+    @Test
+    public void testIdleSessionIsRenewedBeforeUse() throws Exception {
+        manager.setSessionTimeout(200);
+        manager.setRenewalMargin(100);
+        Service service = newService().login("admin", "changeme");
+
+        service.get(APPS_PATH);
+        Assert.assertEquals(1, server.hits(LOGIN_PATH));
+        Thread.sleep(150);
+        service.get(APPS_PATH);
+
+        Assert.assertEquals(2, server.hits(LOGIN_PATH));
+        Assert.assertEquals(0, rejected.get());
+        // Server info is not fetched again for a renewed session.
+        Assert.assertEquals(1, server.hits(INFO_PATH));
+    }
+
+    @Test
+    public void testReadSessionKey() {
+        String response = "<?xml version=\"1.0\"?>\n<response>\n"
+                + "  <messages/>\n  <sessionKey>abc^def</sessionKey>\n</response>\n";
+        Assert.assertEquals("abc^def", SessionManager.readSessionKey(
+                new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private Service newService() {
+        Service service = new Service("127.0.0.1", server.getPort(), "http");
+        service.setSessionManager(manager);
+        return service;
+    }
+
+    private LocalHttpServer.Responder authenticated(final String body) {
+        return new LocalHttpServer.Responder() {
+            public LocalHttpServer.Response respond(String method, String path, String query, byte[] requestBody) {
+                String token = LocalHttpServer.requestHeader("Authorization");
+                if (token == null || !token.equals(validToken)) {
+                    rejected.incrementAndGet();
+                    return new LocalHttpServer.Response(401,
+                            "<response><messages><msg type=\"WARN\">call not properly authenticated</msg></messages></response>");
+                }
+                return new LocalHttpServer.Response(200, body);
+            }
+        };
+    }
+}
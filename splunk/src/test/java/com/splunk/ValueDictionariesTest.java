@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Splunk, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"): you may
+ * not use this file except in compliance with the License. You may obtain
+ * a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.splunk;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests sharing field names and values between parsed events.
+ */
+public class ValueDictionariesTest {
+    @Test
+    public void testXmlSharesNamesAndValues() throws IOException {
+        List<Event> events = readAll(new ResultsReaderXml(xml(), ValueDictionaries.forDefaultFields()));
+        Assert.assertEquals(4, events.size());
+        Assert.assertSame(key(events.get(0), "host"), key(events.get(3), "host"));
+        Assert.assertSame(events.get(0).get("host"), events.get(2).get("host"));
+        Assert.assertSame(events.get(0).getArray("host")[0], events.get(2).get("host"));
+        // Fields without a dictionary keep their own values.
+        Assert.assertEquals(events.get(0).get("_raw"), events.get(2).get("_raw"));
+        Assert.assertNotSame(events.get(0).get("_raw"), events.get(2).get("_raw"));
+        Assert.assertArrayEquals(new String[] { "a", "b" }, events.get(3).getArray("tag"));
+    }
+
+    @Test
+    public void testJsonSharesNamesAndValues() throws IOException {
+        List<Event> events = readAll(new ResultsReaderJson(json(), ValueDictionaries.forDefaultFields()));
+        Assert.assertEquals(4, events.size());
+        Assert.assertSame(key(events.get(0), "host"), key(events.get(3), "host"));
+        Assert.assertSame(events.get(0).get("host"), events.get(2).get("host"));
+        Assert.assertEquals("web1", events.get(2).get("host"));
+    }
+
+    @Test
+    public void testNamesAreSharedWithoutDictionaries() throws IOException {
+        List<Event> events = readAll(new ResultsReaderJson(json()));
+        Assert.assertSame(key(events.get(0), "_raw"), key(events.get(1), "_raw"));
+        Assert.assertNotSame(events.get(0).get("host"), events.get(2).get("host"));
+    }
+
+    @Test
+    public void testDictionaryIsBounded() throws IOException {
+        List<Event> events = readAll(new ResultsReaderXml(xml(), new ValueDictionaries(1, "host")));
+        // Only the first value fits; later values are not shared.
+        Assert.assertSame(events.get(0).get("host"), events.get(2).get("host"));
+        Assert.assertEquals(events.get(1).get("host"), events.get(3).get("host"));
+        Assert.assertNotSame(events.get(1).get("host"), events.get(3).get("host"));
+    }
+
+    private static String key(Event event, String name) {
+        for (String key : event.keySet()) {
+            if (key.equals(name)) return key;
+        }
+        return null;
+    }
+
+    private static final String[] HOSTS = { "web1", "web2", "web1", "web2" };
+
+    private static InputStream xml() {
+        StringBuilder xml = new StringBuilder("<?xml version='1.0' encoding='UTF-8'?>\n<results preview='0'>\n");
+        xml.append("<meta><fieldOrder><field>host</field><field>_raw</field></fieldOrder></meta>\n");
+        for (int i = 0; i < HOSTS.length; i++) {
+            xml.append("<result offset='").append(i).append("'>");
+            xml.append("<field k='host'><value><text>").append(HOSTS[i]).append("</text></value></field>");
+            xml.append("<field k='_raw'><v xml:space='preserve' trunc='0'>same raw</v></field>");
+            if (i == 3) {
+                xml.append("<field k='tag'><value><text>a</text></value><value><text>b</text></value></field>");
+            }
+            xml.append("</result>\n");
+        }
+        xml.append("</results>\n");
+        return new ByteArrayInputStream(xml.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static InputStream json() {
+        StringBuilder json = new StringBuilder("{\"preview\":false,\"init_offset\":0,\"messages\":[],\"results\":[");
+        for (int i = 0; i < HOSTS.length; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"host\":\"").append(HOSTS[i]).append("\",\"_raw\":\"same raw\"}");
+        }
+        json.append("]}");
+        return new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Event> readAll(ResultsReader reader) throws IOException {
+        List<Event> events = new ArrayList<Event>();
+        try {
+            Event event;
+            while ((event = reader.getNextEvent()) != null) {
+                events.add(event);
+            }
+        } finally {
+            reader.close();
+        }
+        return events;
+    }
+}